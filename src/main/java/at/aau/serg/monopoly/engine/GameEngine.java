@@ -0,0 +1,220 @@
+package at.aau.serg.monopoly.engine;
+
+import at.aau.serg.monopoly.websoket.CardDeckService;
+import at.aau.serg.monopoly.websoket.PropertyService;
+import at.aau.serg.monopoly.websoket.PropertyTransactionService;
+import at.aau.serg.monopoly.websoket.RentCalculationService;
+import at.aau.serg.monopoly.websoket.RentCollectionService;
+import model.DiceManagerInterface;
+import model.Game;
+import model.Player;
+import model.cards.Card;
+import model.cards.CardType;
+import model.properties.BaseProperty;
+import model.properties.HouseableProperty;
+import model.properties.OwnershipIndex;
+import model.properties.TrainStation;
+import model.properties.Utility;
+
+/**
+ * Rules of a running game without any sessions or messages: rolling and moving, the square a player
+ * lands on, buying, ending a turn and bankruptcy. GameWebSocketHandler sends the events to the clients,
+ * the simulation plays whole games on it in-process.
+ * Not thread safe, one instance per game.
+ */
+public class GameEngine {
+    public static final int JAIL_SQUARE = 10;
+    public static final int GO_TO_JAIL_SQUARE = 30;
+    public static final int INCOME_TAX_SQUARE = 4;
+    public static final int INCOME_TAX = 200;
+    public static final int LUXURY_TAX_SQUARE = 38;
+    public static final int LUXURY_TAX = 100;
+
+    public enum RollCheck { ALLOWED, NOT_YOUR_TURN, UNKNOWN_PLAYER, IN_JAIL, ALREADY_ROLLED }
+
+    public enum BuyResult { BOUGHT, NOT_ALLOWED, FAILED }
+
+    private final Game game;
+    private final PropertyService propertyService;
+    private final PropertyTransactionService propertyTransactionService;
+    private final RentCalculationService rentCalculationService;
+    private final RentCollectionService rentCollectionService;
+
+    public GameEngine(Game game, PropertyService propertyService, PropertyTransactionService propertyTransactionService,
+                      RentCalculationService rentCalculationService, RentCollectionService rentCollectionService) {
+        this.game = game;
+        this.propertyService = propertyService;
+        this.propertyTransactionService = propertyTransactionService;
+        this.rentCalculationService = rentCalculationService;
+        this.rentCollectionService = rentCollectionService;
+    }
+
+    /**
+     * Builds an engine with its own board, for games that are played without a server.
+     */
+    public static GameEngine withOwnBoard(Game game) {
+        PropertyService propertyService = new PropertyService();
+        propertyService.init();
+        RentCalculationService rentCalculationService = new RentCalculationService(propertyService);
+        return new GameEngine(game, propertyService, new PropertyTransactionService(propertyService),
+                rentCalculationService, new RentCollectionService(propertyService, rentCalculationService));
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public PropertyService getPropertyService() {
+        return propertyService;
+    }
+
+    public RollCheck checkRoll(String playerId) {
+        if (!game.isPlayerTurn(playerId)) {
+            return RollCheck.NOT_YOUR_TURN;
+        }
+        Player player = game.getPlayer(playerId);
+        if (player == null) {
+            return RollCheck.UNKNOWN_PLAYER;
+        }
+        if (player.isInJail()) {
+            return RollCheck.IN_JAIL;
+        }
+        if (player.hasRolledThisTurn()) {
+            return RollCheck.ALREADY_ROLLED;
+        }
+        return RollCheck.ALLOWED;
+    }
+
+    /**
+     * Rolls for a player that passed {@link #checkRoll} and moves him. The square he lands on is
+     * resolved separately with {@link #land}, so callers can look at the position first.
+     * After a Pasch the player may roll again.
+     * @return The rolled number of eyes.
+     */
+    public int rollAndMove(Player player, DiceManagerInterface diceManager, GameEventListener listener) {
+        int roll = diceManager.rollDices();
+        boolean isPasch = diceManager.isPasch();
+        player.setHasRolledThisTurn(!isPasch);
+        listener.diceRolled(player, roll, isPasch);
+
+        if (game.updatePlayerPosition(roll, player.getId())) {
+            listener.passedGo(player);
+        }
+        return roll;
+    }
+
+    /**
+     * Go to jail, taxes and rent for the square the player is standing on.
+     */
+    public void land(Player player, GameEventListener listener) {
+        int position = player.getPosition();
+
+        if (position == GO_TO_JAIL_SQUARE) {
+            game.sendToJail(player.getId());
+            listener.sentToJail(player);
+        } else if (position == INCOME_TAX_SQUARE) {  // Einkommensteuer
+            game.updatePlayerMoney(player.getId(), -INCOME_TAX);
+            listener.taxPaid(player, INCOME_TAX, "EINKOMMENSTEUER");
+        } else if (position == LUXURY_TAX_SQUARE) {  // Zusatzsteuer
+            game.updatePlayerMoney(player.getId(), -LUXURY_TAX);
+            listener.taxPaid(player, LUXURY_TAX, "ZUSATZSTEUER");
+        }
+
+        BaseProperty property = propertyService.getPropertyByPosition(position);
+        if (property == null) {
+            return;
+        }
+        Player owner = game.getPlayerById(property.getOwnerId()).orElse(null);
+        if (owner != null) {
+            int rentAmount = rentCalculationService.calculateRent(property, owner, player);
+            listener.rentDue(player, owner, property, rentAmount);
+            boolean collected = rentCollectionService.collectRent(player, property, owner);
+            listener.rentCollected(player, owner, property, rentAmount, collected);
+        }
+    }
+
+    public BuyResult buyProperty(Player player, int propertyId) {
+        if (!propertyTransactionService.canBuyProperty(player, propertyId)) {
+            return BuyResult.NOT_ALLOWED;
+        }
+        return propertyTransactionService.buyProperty(player, propertyId) ? BuyResult.BOUGHT : BuyResult.FAILED;
+    }
+
+    /**
+     * Card deck of a Chance or Community Chest square, null for all other squares.
+     * Online the client asks for the card with PULL_CARD when it lands there.
+     */
+    public static CardType cardSquare(int position) {
+        switch (position) {
+            case 7, 22, 36:
+                return CardType.CHANCE;
+            case 2, 17, 33:
+                return CardType.COMMUNITY_CHEST;
+            default:
+                return null;
+        }
+    }
+
+    public Card pullCard(Player player, CardType type, CardDeckService cardDeckService) {
+        Card card = cardDeckService.drawCard(type);
+        card.apply(game, player.getId());
+        return card;
+    }
+
+    /**
+     * Ends the turn of the player. A jailed player serves one of his jail turns.
+     * @return false if it is not the player's turn.
+     */
+    public boolean endTurn(String playerId, GameEventListener listener) {
+        if (!game.isPlayerTurn(playerId)) {
+            return false;
+        }
+        game.getPlayerById(playerId).ifPresent(player -> {
+            if (player.isInJail()) {
+                player.reduceJailTurns();
+                if (!player.isInJail()) {
+                    listener.releasedFromJail(player);
+                }
+            }
+            // Always advance to next player, also after a jail turn
+            game.nextPlayer();
+        });
+        return true;
+    }
+
+    // Cash plus what the bank pays for the player's properties
+    public int netWorth(Player player) {
+        return player.getMoney() + liquidationValue(player.getId());
+    }
+
+    public boolean isBankrupt(Player player) {
+        return netWorth(player) <= 0;
+    }
+
+    // Sum of half the purchase price of every property the player owns
+    public int liquidationValue(String playerId) {
+        OwnershipIndex ownershipIndex = propertyService.getOwnershipIndex();
+        if (ownershipIndex != null) {
+            return ownershipIndex.getLiquidationValue(playerId);
+        }
+
+        // Without an index (board not loaded) fall back to scanning the board
+        int total = 0;
+        for (HouseableProperty p : propertyService.getHouseableProperties()) {
+            if (playerId.equals(p.getOwnerId())) {
+                total += p.getPurchasePrice() / 2;
+            }
+        }
+        for (TrainStation ts : propertyService.getTrainStations()) {
+            if (playerId.equals(ts.getOwnerId())) {
+                total += ts.getPurchasePrice() / 2;
+            }
+        }
+        for (Utility u : propertyService.getUtilities()) {
+            if (playerId.equals(u.getOwnerId())) {
+                total += u.getPurchasePrice() / 2;
+            }
+        }
+        return total;
+    }
+}
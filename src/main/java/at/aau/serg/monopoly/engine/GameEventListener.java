@@ -0,0 +1,28 @@
+package at.aau.serg.monopoly.engine;
+
+import model.Player;
+import model.properties.BaseProperty;
+
+/**
+ * Everything the {@link GameEngine} does to a game is reported here, in the order it happens.
+ * The websocket handler turns the events into messages, a simulation only counts them.
+ * All methods do nothing by default.
+ */
+public interface GameEventListener {
+    GameEventListener NONE = new GameEventListener() {};
+
+    default void diceRolled(Player player, int roll, boolean pasch) {}
+
+    default void passedGo(Player player) {}
+
+    default void sentToJail(Player player) {}
+
+    default void releasedFromJail(Player player) {}
+
+    default void taxPaid(Player player, int amount, String taxType) {}
+
+    // Called before the rent is collected
+    default void rentDue(Player renter, Player owner, BaseProperty property, int amount) {}
+
+    default void rentCollected(Player renter, Player owner, BaseProperty property, int amount, boolean collected) {}
+}
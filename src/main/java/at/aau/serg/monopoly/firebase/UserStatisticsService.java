@@ -1,9 +1,11 @@
 package at.aau.serg.monopoly.firebase;
 
+import at.aau.serg.monopoly.metrics.GameMetrics;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.*;
 import com.google.firebase.cloud.FirestoreClient;
 import lombok.extern.java.Log;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -16,6 +18,9 @@ public class UserStatisticsService {
     private static final String USERS_COLLECTION = "users";
     private static final String GAME_HISTORY_COLLECTION = "gameHistory";
 
+    @Autowired(required = false)
+    private GameMetrics metrics = GameMetrics.noop();
+
     public void updateStatsForUsers(List<String> userIds) {
         try {
             Firestore firestore = FirestoreClient.getFirestore();
@@ -33,6 +38,8 @@ public class UserStatisticsService {
     }
 
     void updateUserStats(String userId, Firestore firestore) {
+        long start = System.nanoTime();
+        boolean failed = false;
         try {
             CollectionReference historyRef = firestore.collection(USERS_COLLECTION)
                     .document(userId).collection(GAME_HISTORY_COLLECTION);
@@ -77,8 +84,11 @@ public class UserStatisticsService {
             userRef.set(updates, SetOptions.merge());
 
         } catch (InterruptedException | ExecutionException e) {
+            failed = true;
             log.severe("Fehler bei Statistiken für " + userId + ": " + e.getMessage());
             Thread.currentThread().interrupt();
+        } finally {
+            metrics.recordFirestoreCall("updateUserStats", System.nanoTime() - start, failed);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package at.aau.serg.monopoly.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the game server, scraped through /actuator/prometheus.
+ * Meters are created once and cached, recording on the room threads is only an increment.
+ * Handlers and services created without Spring use {@link #noop()}.
+ */
+@Component
+public class GameMetrics {
+    // Messages that matched no route, keeps the type tag bounded against arbitrary client input
+    public static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    // Registry without children, every meter it hands out is a no-op
+    private static final GameMetrics NOOP = new GameMetrics(new CompositeMeterRegistry());
+
+    private final MeterRegistry registry;
+    private final Map<String, Counter> inboundMessages = new ConcurrentHashMap<>();
+    private final Map<String, Timer> handlerLatency = new ConcurrentHashMap<>();
+    private final Map<String, FirestoreMeters> firestoreCalls = new ConcurrentHashMap<>();
+    private final DistributionSummary broadcastRecipients;
+    private final Timer broadcastDuration;
+    private final Counter coalescedStateBroadcasts;
+    private final Counter fullBankruptcyChecks;
+    private final Counter incrementalBankruptcyChecks;
+    private final Counter skippedBankruptcyChecks;
+    private final Counter bankruptcies;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.broadcastRecipients = DistributionSummary.builder("monopoly.broadcast.recipients")
+                .description("Sessions a broadcast frame was sent to")
+                .register(registry);
+        this.broadcastDuration = Timer.builder("monopoly.broadcast.duration")
+                .description("Time to hand one frame to all recipients of a room")
+                .register(registry);
+        this.coalescedStateBroadcasts = Counter.builder("monopoly.state.broadcasts.coalesced")
+                .description("GAME_STATE broadcasts merged into another one of the same action")
+                .register(registry);
+        this.fullBankruptcyChecks = bankruptcyCheckCounter("full");
+        this.incrementalBankruptcyChecks = bankruptcyCheckCounter("incremental");
+        this.skippedBankruptcyChecks = bankruptcyCheckCounter("skipped");
+        this.bankruptcies = Counter.builder("monopoly.bankruptcies")
+                .description("Players forced to give up because their net worth dropped to zero")
+                .register(registry);
+    }
+
+    public static GameMetrics noop() {
+        return NOOP;
+    }
+
+    /**
+     * @param type Registered message type or command name, {@link #UNKNOWN_TYPE} for everything else
+     * @param nanos Time spent in the room handler, including the consolidated state broadcast
+     */
+    public void recordMessage(String type, long nanos) {
+        inboundMessages.computeIfAbsent(type, t -> Counter.builder("monopoly.messages.inbound")
+                .description("Inbound WebSocket messages")
+                .tag("type", t)
+                .register(registry)).increment();
+        handlerLatency.computeIfAbsent(type, t -> Timer.builder("monopoly.handler.latency")
+                .description("Time the room thread spent on one inbound message")
+                .tag("type", t)
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBroadcast(int recipients, long nanos) {
+        broadcastRecipients.record(recipients);
+        broadcastDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void stateBroadcastCoalesced() {
+        coalescedStateBroadcasts.increment();
+    }
+
+    public void bankruptcyChecks(int full, int incremental, int skipped) {
+        fullBankruptcyChecks.increment(full);
+        incrementalBankruptcyChecks.increment(incremental);
+        skippedBankruptcyChecks.increment(skipped);
+    }
+
+    public void bankruptcy() {
+        bankruptcies.increment();
+    }
+
+    /**
+     * @param operation Name of the service method, e.g. "saveGameHistory"
+     * @param failed true if the call threw or its future failed
+     */
+    public void recordFirestoreCall(String operation, long nanos, boolean failed) {
+        FirestoreMeters meters = firestoreCalls.computeIfAbsent(operation, this::firestoreMeters);
+        meters.latency().record(nanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            meters.failures().increment();
+        }
+    }
+
+    // Failures are registered together with the timer, so a scraper sees 0 instead of a missing series
+    private FirestoreMeters firestoreMeters(String operation) {
+        return new FirestoreMeters(
+                Timer.builder("monopoly.firestore.latency")
+                        .description("Duration of blocking Firestore calls")
+                        .tag("operation", operation)
+                        .register(registry),
+                Counter.builder("monopoly.firestore.failures")
+                        .description("Failed Firestore calls")
+                        .tag("operation", operation)
+                        .register(registry));
+    }
+
+    private record FirestoreMeters(Timer latency, Counter failures) {
+    }
+
+    private Counter bankruptcyCheckCounter(String mode) {
+        return Counter.builder("monopoly.bankruptcy.checks")
+                .description("Per-player bankruptcy checks, skipped ones were ruled out by the net worth tracker")
+                .tag("mode", mode)
+                .register(registry);
+    }
+}
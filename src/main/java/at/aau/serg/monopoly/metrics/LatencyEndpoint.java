@@ -0,0 +1,24 @@
+package at.aau.serg.monopoly.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/latency on the management port, the percentiles of the last report interval
+ * and since start per message type.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+    private final MessageLatencyHistograms histograms;
+
+    public LatencyEndpoint(MessageLatencyHistograms histograms) {
+        this.histograms = histograms;
+    }
+
+    @ReadOperation
+    public LatencyReport latency() {
+        return histograms.getLastReport();
+    }
+}
@@ -0,0 +1,29 @@
+package at.aau.serg.monopoly.metrics;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Handler latency of the last completed report interval and since the server started.
+ * @param startMillis Start of the interval, epoch millis
+ * @param endMillis End of the interval, epoch millis
+ */
+public record LatencyReport(long startMillis, long endMillis, List<LatencySnapshot> interval,
+                            List<LatencySnapshot> total) {
+
+    static LatencyReport empty(long startMillis) {
+        return new LatencyReport(startMillis, startMillis, List.of(), List.of());
+    }
+
+    boolean isIdle() {
+        return interval.stream().allMatch(snapshot -> snapshot.count() == 0);
+    }
+
+    // Only the types that saw messages in this interval
+    String summary() {
+        return interval.stream()
+                .filter(snapshot -> snapshot.count() > 0)
+                .map(LatencySnapshot::summary)
+                .collect(Collectors.joining(" | "));
+    }
+}
@@ -0,0 +1,24 @@
+package at.aau.serg.monopoly.metrics;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Percentiles of one message type, all values in microseconds.
+ */
+public record LatencySnapshot(String type, long count, long p50, long p90, long p99, long p999, long max,
+                              double mean) {
+
+    static LatencySnapshot of(String type, Histogram histogram) {
+        return new LatencySnapshot(type, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue(),
+                histogram.getMean());
+    }
+
+    String summary() {
+        return String.format("%s n=%d p50=%d p99=%d p999=%d max=%d", type, count, p50, p99, p999, max);
+    }
+}
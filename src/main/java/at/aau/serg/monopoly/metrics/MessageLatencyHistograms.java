@@ -0,0 +1,110 @@
+package at.aau.serg.monopoly.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * HdrHistogram of the handler latency per inbound message type, in microseconds.
+ * The room threads only write into a {@link Recorder}, which is wait-free and never blocks them.
+ * Once per report interval the histograms are swapped out, the interval and the totals since
+ * start are kept as an immutable {@link LatencyReport} for the "latency" actuator endpoint and
+ * summarized in one log line.
+ */
+@Component
+public class MessageLatencyHistograms {
+    private static final Logger logger = Logger.getLogger(MessageLatencyHistograms.class.getName());
+    // Slower handlers are clamped, at a minute the room is stuck anyway
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final MessageLatencyHistograms DISABLED = new MessageLatencyHistograms(false);
+
+    private final boolean enabled;
+    // Sorted, so reports and log lines list the types in a stable order. Lookups are lock-free,
+    // if two rooms see a new type at once only one of the created recorders is kept
+    private final Map<String, TypeHistograms> types = new ConcurrentSkipListMap<>();
+    private long intervalStartMillis = System.currentTimeMillis();
+    private volatile LatencyReport lastReport = LatencyReport.empty(intervalStartMillis);
+
+    public MessageLatencyHistograms() {
+        this(true);
+    }
+
+    private MessageLatencyHistograms(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // For handlers created without Spring, records nothing
+    public static MessageLatencyHistograms disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Called on the room threads, allocates only the first time a type is seen.
+     * @param type Registered message type or command name
+     * @param nanos Time spent handling the message
+     */
+    public void record(String type, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        TypeHistograms histograms = types.get(type);
+        if (histograms == null) {
+            histograms = types.computeIfAbsent(type, t -> new TypeHistograms());
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        histograms.recorder.recordValue(Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+    }
+
+    /**
+     * Ends the current interval. Only this method reads the recorders, so calling the
+     * endpoint never steals values from the next log line.
+     */
+    public synchronized LatencyReport rollInterval() {
+        long now = System.currentTimeMillis();
+        List<LatencySnapshot> interval = new ArrayList<>(types.size());
+        List<LatencySnapshot> total = new ArrayList<>(types.size());
+        for (Map.Entry<String, TypeHistograms> entry : types.entrySet()) {
+            TypeHistograms histograms = entry.getValue();
+            histograms.interval = histograms.recorder.getIntervalHistogram(histograms.interval);
+            histograms.total.add(histograms.interval);
+            interval.add(LatencySnapshot.of(entry.getKey(), histograms.interval));
+            total.add(LatencySnapshot.of(entry.getKey(), histograms.total));
+        }
+        lastReport = new LatencyReport(intervalStartMillis, now, List.copyOf(interval), List.copyOf(total));
+        intervalStartMillis = now;
+        return lastReport;
+    }
+
+    public LatencyReport getLastReport() {
+        return lastReport;
+    }
+
+    @Scheduled(fixedRateString = "${monopoly.latency.report-interval-ms:60000}",
+            initialDelayString = "${monopoly.latency.report-interval-ms:60000}")
+    public void logInterval() {
+        LatencyReport report = rollInterval();
+        if (report.isIdle() || !logger.isLoggable(Level.INFO)) {
+            return;
+        }
+        logger.log(Level.INFO, "Handler latency in µs over {0}s: {1}",
+                new Object[]{(report.endMillis() - report.startMillis()) / 1000, report.summary()});
+    }
+
+    private static final class TypeHistograms {
+        private final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        // Recycled by the recorder on every interval
+        private Histogram interval;
+    }
+}
@@ -0,0 +1,66 @@
+package at.aau.serg.monopoly.simulation;
+
+import model.Game;
+import model.Player;
+import model.properties.BaseProperty;
+
+/**
+ * Decisions of a simulated player. Everything else (rolling, rent, taxes, cards) follows the rules.
+ * Implementations must not keep state between games, one instance is shared by all simulation threads.
+ */
+public interface BotStrategy {
+
+    /**
+     * Called when the player stands on an unowned property he can afford.
+     */
+    boolean shouldBuy(Game game, Player player, BaseProperty property);
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /** Buys every property it can afford. */
+    static BotStrategy buyEverything() {
+        return new BotStrategy() {
+            @Override
+            public boolean shouldBuy(Game game, Player player, BaseProperty property) {
+                return true;
+            }
+
+            @Override
+            public String getName() {
+                return "buy-everything";
+            }
+        };
+    }
+
+    /** Only buys if at least {@code reserve} money is left afterwards. */
+    static BotStrategy keepReserve(int reserve) {
+        return new BotStrategy() {
+            @Override
+            public boolean shouldBuy(Game game, Player player, BaseProperty property) {
+                return player.getMoney() - property.getPurchasePrice() >= reserve;
+            }
+
+            @Override
+            public String getName() {
+                return "keep-reserve-" + reserve;
+            }
+        };
+    }
+
+    /** Buys with the given probability, drawn from the game's random source. */
+    static BotStrategy buyWithProbability(double probability) {
+        return new BotStrategy() {
+            @Override
+            public boolean shouldBuy(Game game, Player player, BaseProperty property) {
+                return game.getRandom().nextDouble() < probability;
+            }
+
+            @Override
+            public String getName() {
+                return "buy-" + Math.round(probability * 100) + "%";
+            }
+        };
+    }
+}
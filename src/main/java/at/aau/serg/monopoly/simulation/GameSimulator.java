@@ -0,0 +1,78 @@
+package at.aau.serg.monopoly.simulation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many bot games in-process on all cores and aggregates their statistics, e.g. to balance
+ * propertyData.json and ChanceAndChestCards.json. Game i is played with seed + i and the strategies
+ * rotate through the seats, so results do not depend on the number of threads and no strategy
+ * always starts. The command line runner is SimulationRunner in the test sources.
+ */
+public class GameSimulator {
+    // Games a fork-join task plays itself instead of splitting further
+    private static final int GAMES_PER_TASK = 64;
+
+    private final List<BotStrategy> strategies;
+    private final int maxTurns;
+    private final long seed;
+
+    /**
+     * @param strategies One strategy per player, 2 to 4 players.
+     * @param maxTurns Turns after which a game ends without bankruptcy, the richest player wins.
+     * @param seed Base seed, the same seed gives the same result.
+     */
+    public GameSimulator(List<BotStrategy> strategies, int maxTurns, long seed) {
+        if (strategies.size() < 2 || strategies.size() > 4) {
+            throw new IllegalArgumentException("A game needs 2 to 4 players");
+        }
+        this.strategies = List.copyOf(strategies);
+        this.maxTurns = maxTurns;
+        this.seed = seed;
+    }
+
+    public SimulationResult run(int games) {
+        return run(games, ForkJoinPool.commonPool());
+    }
+
+    public SimulationResult run(int games, ForkJoinPool pool) {
+        return pool.invoke(new Batch(0, games));
+    }
+
+    // Strategies rotate through the seats from game to game
+    SimulationResult play(int from, int to) {
+        SimulationResult result = new SimulationResult(strategies.size());
+        int players = strategies.size();
+        for (int gameIndex = from; gameIndex < to; gameIndex++) {
+            BotStrategy[] seats = new BotStrategy[players];
+            for (int seat = 0; seat < players; seat++) {
+                seats[seat] = strategies.get((seat + gameIndex) % players);
+            }
+            new SimulatedGame(List.of(seats), seed + gameIndex, result).play(maxTurns);
+        }
+        return result;
+    }
+
+    private final class Batch extends RecursiveTask<SimulationResult> {
+        private final int from;
+        private final int to;
+
+        Batch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return play(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Batch left = new Batch(from, middle);
+            left.fork();
+            SimulationResult right = new Batch(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
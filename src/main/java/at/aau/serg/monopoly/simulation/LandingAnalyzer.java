@@ -0,0 +1,131 @@
+package at.aau.serg.monopoly.simulation;
+
+import at.aau.serg.monopoly.engine.GameEngine;
+import at.aau.serg.monopoly.websoket.CardDeckService;
+import at.aau.serg.monopoly.websoket.MessageCodec;
+import at.aau.serg.monopoly.websoket.PropertyService;
+import model.Dice;
+import model.Game;
+import model.Player;
+import model.RandomSource;
+import model.cards.CardType;
+import model.properties.HouseableProperty;
+import model.properties.TrainStation;
+import model.properties.Utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo analysis of where players land: a single player walks the board for many turns
+ * with the game's own rules (Game.updatePlayerPosition, Game.sendToJail, jail turns, the cards of
+ * ChanceAndChestCards.json, rolling again after a Pasch). From the steady-state landing frequencies
+ * it derives the expected rent per opponent turn and the payback time of every property.
+ * The turns are split into fixed chunks with their own seed (seed + chunk) that run in parallel
+ * and only touch their own counters, so the result is the same on any number of cores.
+ * The command line report is LandingReport in the test sources.
+ */
+public class LandingAnalyzer {
+    private static final String PLAYER_ID = "walker";
+    private static final int TURNS_PER_CHUNK = 1_000_000;
+    // Turns before counting starts, so every chunk is measured from the steady state and not from GO
+    private static final int WARM_UP_TURNS = 1_000;
+
+    private final long seed;
+
+    public LandingAnalyzer(long seed) {
+        this.seed = seed;
+    }
+
+    public LandingStatistics run(long turns) {
+        int chunks = (int) ((turns + TURNS_PER_CHUNK - 1) / TURNS_PER_CHUNK);
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> walk(chunk, Math.min(TURNS_PER_CHUNK, turns - (long) chunk * TURNS_PER_CHUNK)))
+                .reduce(LandingStatistics::merge)
+                .orElseGet(LandingStatistics::new);
+    }
+
+    LandingStatistics walk(int chunk, long turns) {
+        RandomSource random = RandomSource.seeded(seed + chunk);
+        Game game = new Game();
+        game.setRandom(random);
+        game.addPlayer(PLAYER_ID, PLAYER_ID);
+        Player player = game.getPlayer(PLAYER_ID);
+        Dice dice = new Dice(6);
+        CardDeckService cardDeckService = new CardDeckService(MessageCodec.shared().getObjectMapper());
+        cardDeckService.setRandomSource(random);
+        cardDeckService.init();
+
+        LandingStatistics warmUp = new LandingStatistics();
+        for (int turn = 0; turn < WARM_UP_TURNS; turn++) {
+            playTurn(game, player, dice, random, cardDeckService, warmUp);
+        }
+        LandingStatistics statistics = new LandingStatistics();
+        for (long turn = 0; turn < turns; turn++) {
+            playTurn(game, player, dice, random, cardDeckService, statistics);
+        }
+        return statistics;
+    }
+
+    private static void playTurn(Game game, Player player, Dice dice, RandomSource random,
+                                 CardDeckService cardDeckService, LandingStatistics statistics) {
+        statistics.turn();
+        if (player.isInJail()) {
+            // Jailed players cannot roll, ending the turn serves one jail turn
+            player.reduceJailTurns();
+            statistics.jailTurn();
+            return;
+        }
+        boolean pasch;
+        do {
+            int first = dice.roll(random);
+            int second = dice.roll(random);
+            pasch = first == second;
+            game.updatePlayerPosition(first + second, PLAYER_ID);
+            int position = player.getPosition();
+            statistics.rolledTo(position);
+
+            if (position == GameEngine.GO_TO_JAIL_SQUARE) {
+                game.sendToJail(PLAYER_ID);
+                return;
+            }
+            CardType deck = GameEngine.cardSquare(position);
+            if (deck != null) {
+                cardDeckService.drawCard(deck).apply(game, PLAYER_ID);
+                if (player.isInJail()) {
+                    return;
+                }
+                if (player.getPosition() != position) {
+                    statistics.movedByCardTo(player.getPosition());
+                }
+            }
+        } while (pasch);
+    }
+
+    /**
+     * Valuation table of all properties of the board, most profitable first.
+     */
+    public static List<PropertyValuation> valuate(LandingStatistics statistics, PropertyService board) {
+        List<PropertyValuation> valuations = new ArrayList<>();
+        for (HouseableProperty p : board.getHouseableProperties()) {
+            valuations.add(new PropertyValuation(p.getId(), p.getName(), p.getPosition(), p.getPurchasePrice(),
+                    statistics.rentProbability(p.getPosition()), p.getBaseRent(), p.getRentHotel(),
+                    p.getPurchasePrice() + 4 * p.getHousePrice() + p.getHotelPrice()));
+        }
+        for (TrainStation t : board.getTrainStations()) {
+            valuations.add(new PropertyValuation(t.getId(), t.getName(), t.getPosition(), t.getPurchasePrice(),
+                    statistics.rentProbability(t.getPosition()), t.getBaseRent(), t.getRent4Stations(),
+                    t.getPurchasePrice()));
+        }
+        for (Utility u : board.getUtilities()) {
+            valuations.add(new PropertyValuation(u.getId(), u.getName(), u.getPosition(), u.getPurchasePrice(),
+                    statistics.rentProbability(u.getPosition()), u.getRentOneUtilityMultiplier(),
+                    u.getRentTwoUtilitiesMultiplier(), u.getPurchasePrice()));
+        }
+        valuations.sort(Comparator.comparingDouble(PropertyValuation::paybackTurnsNow));
+        return valuations;
+    }
+}
@@ -0,0 +1,58 @@
+package at.aau.serg.monopoly.simulation;
+
+import lombok.Getter;
+
+/**
+ * Landing counts per square of the landing analysis. Each task counts into its own instance,
+ * the instances are added up at the end.
+ */
+@Getter
+public class LandingStatistics {
+    static final int SQUARES = 40;
+
+    private long turns;
+    private long rolls;
+    private long jailTurns;
+    // Squares reached with the dice, only these are charged rent by the server
+    private final long[] rollLandings = new long[SQUARES];
+    // Squares reached with a card (not counting "go to jail")
+    private final long[] cardLandings = new long[SQUARES];
+
+    void turn() {
+        turns++;
+    }
+
+    void jailTurn() {
+        jailTurns++;
+    }
+
+    void rolledTo(int position) {
+        rolls++;
+        rollLandings[position]++;
+    }
+
+    void movedByCardTo(int position) {
+        cardLandings[position]++;
+    }
+
+    LandingStatistics merge(LandingStatistics other) {
+        turns += other.turns;
+        rolls += other.rolls;
+        jailTurns += other.jailTurns;
+        for (int i = 0; i < SQUARES; i++) {
+            rollLandings[i] += other.rollLandings[i];
+            cardLandings[i] += other.cardLandings[i];
+        }
+        return this;
+    }
+
+    // Probability that a player lands on the square during one turn, by dice or card
+    public double landingProbability(int position) {
+        return turns == 0 ? 0 : (double) (rollLandings[position] + cardLandings[position]) / turns;
+    }
+
+    // Probability that a player lands on the square with the dice during one turn
+    public double rentProbability(int position) {
+        return turns == 0 ? 0 : (double) rollLandings[position] / turns;
+    }
+}
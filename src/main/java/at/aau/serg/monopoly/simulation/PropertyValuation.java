@@ -0,0 +1,44 @@
+package at.aau.serg.monopoly.simulation;
+
+import java.util.Locale;
+
+/**
+ * Expected rent of one property per turn of an opponent.
+ * "Now" uses the rent the server charges today, "max" the highest rent level
+ * (hotel, all four stations, both utilities) with the money needed to get there.
+ * Payback is the number of opponent turns until the rent has paid back the investment.
+ */
+public record PropertyValuation(int id, String name, int position, int price, double rentProbability,
+                                int rentNow, int rentMax, int maxInvestment) {
+
+    public double expectedRentNow() {
+        return rentProbability * rentNow;
+    }
+
+    public double expectedRentMax() {
+        return rentProbability * rentMax;
+    }
+
+    public double paybackTurnsNow() {
+        return payback(price, expectedRentNow());
+    }
+
+    public double paybackTurnsMax() {
+        return payback(maxInvestment, expectedRentMax());
+    }
+
+    private static double payback(int investment, double rentPerTurn) {
+        return rentPerTurn <= 0 ? Double.POSITIVE_INFINITY : investment / rentPerTurn;
+    }
+
+    public static String csvHeader() {
+        return "id,name,position,price,rentProbability,rentNow,expectedRentNow,paybackTurnsNow,"
+                + "rentMax,maxInvestment,expectedRentMax,paybackTurnsMax";
+    }
+
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%d,\"%s\",%d,%d,%.6f,%d,%.4f,%.1f,%d,%d,%.4f,%.1f",
+                id, name.replace("\"", "\"\""), position, price, rentProbability, rentNow, expectedRentNow(),
+                paybackTurnsNow(), rentMax, maxInvestment, expectedRentMax(), paybackTurnsMax());
+    }
+}
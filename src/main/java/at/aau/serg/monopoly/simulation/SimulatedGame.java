@@ -0,0 +1,158 @@
+package at.aau.serg.monopoly.simulation;
+
+import at.aau.serg.monopoly.engine.GameEngine;
+import at.aau.serg.monopoly.engine.GameEventListener;
+import at.aau.serg.monopoly.websoket.CardDeckService;
+import at.aau.serg.monopoly.websoket.MessageCodec;
+import at.aau.serg.monopoly.websoket.PropertyService;
+import model.DiceManager;
+import model.Game;
+import model.Player;
+import model.RandomSource;
+import model.cards.CardType;
+import model.properties.BaseProperty;
+import model.properties.HouseableProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game played by bots on the {@link GameEngine}, with the same rules as online:
+ * roll again after a Pasch, jail turns are served with NEXT_TURN, a player whose net worth
+ * drops to zero gives up. Cards are drawn on the Chance and Community Chest squares.
+ */
+final class SimulatedGame implements GameEventListener {
+
+    private final Game game = new Game();
+    private final GameEngine engine;
+    private final DiceManager diceManager;
+    private final CardDeckService cardDeckService;
+    private final Map<String, BotStrategy> strategyById = new HashMap<>();
+    private final Map<String, Integer> seatById = new HashMap<>();
+    private final SimulationResult result;
+
+    /**
+     * @param seats Strategy of each seat, seat 0 starts.
+     * @param seed Seed of dice, cards and random strategies, the same seed plays the same game.
+     */
+    SimulatedGame(List<BotStrategy> seats, long seed, SimulationResult result) {
+        this.result = result;
+        game.setRandom(RandomSource.seeded(seed));
+        for (int seat = 0; seat < seats.size(); seat++) {
+            String id = "bot-" + seat;
+            game.addPlayer(id, seats.get(seat).getName());
+            strategyById.put(id, seats.get(seat));
+            seatById.put(id, seat);
+        }
+        engine = GameEngine.withOwnBoard(game);
+        diceManager = new DiceManager(game.getRandom());
+        diceManager.initializeStandardDices();
+        cardDeckService = new CardDeckService(MessageCodec.shared().getObjectMapper());
+        cardDeckService.setRandomSource(game.getRandom());
+        cardDeckService.init();
+    }
+
+    void play(int maxTurns) {
+        game.start();
+        List<Player> seated = new ArrayList<>(game.getPlayers());
+        int turns = 0;
+        while (game.getPlayers().size() > 1 && turns < maxTurns) {
+            playTurn(game.getCurrentPlayer());
+            turns++;
+        }
+
+        boolean bankruptcyEnding = game.getPlayers().size() <= 1;
+        String winnerId = game.determineWinner();
+        result.gameFinished(turns, bankruptcyEnding);
+        for (Player player : seated) {
+            result.played(strategyById.get(player.getId()).getName(), player.getId().equals(winnerId),
+                    seatById.get(player.getId()));
+        }
+    }
+
+    private void playTurn(Player player) {
+        String id = player.getId();
+        while (engine.checkRoll(id) == GameEngine.RollCheck.ALLOWED) {
+            engine.rollAndMove(player, diceManager, this);
+            result.rolled();
+            result.landed(player.getPosition());
+            engine.land(player, this);
+
+            CardType deck = GameEngine.cardSquare(player.getPosition());
+            if (deck != null) {
+                engine.pullCard(player, deck, cardDeckService);
+                result.cardDrawn();
+            }
+            buyIfWanted(player);
+
+            removeBankruptPlayers();
+            if (game.getPlayer(id) == null) {
+                // Gave up, the next player already has the turn
+                return;
+            }
+        }
+        engine.endTurn(id, this);
+    }
+
+    private void buyIfWanted(Player player) {
+        BaseProperty property = engine.getPropertyService().getPropertyByPosition(player.getPosition());
+        if (property == null || property.getOwnerId() != null || player.getMoney() < property.getPurchasePrice()) {
+            return;
+        }
+        if (strategyById.get(player.getId()).shouldBuy(game, player, property)
+                && engine.buyProperty(player, property.getId()) == GameEngine.BuyResult.BOUGHT) {
+            result.bought(player.getPosition());
+        }
+    }
+
+    private void removeBankruptPlayers() {
+        // giveUp removes from the list behind getPlayers
+        for (Player player : List.copyOf(game.getPlayers())) {
+            if (engine.isBankrupt(player)) {
+                releaseProperties(player.getId());
+                game.giveUp(player.getId());
+                result.bankrupt();
+            }
+        }
+    }
+
+    // The properties of a player who gave up go back to the bank and can be bought again
+    private void releaseProperties(String playerId) {
+        PropertyService board = engine.getPropertyService();
+        for (BaseProperty property : List.copyOf(board.getOwnershipIndex().getProperties(playerId))) {
+            if (property instanceof HouseableProperty houseable) {
+                houseable.setHouses(0);
+            }
+            property.setMortgaged(false);
+            property.setOwnerId(null);
+        }
+    }
+
+    GameEngine engine() {
+        return engine;
+    }
+
+    @Override
+    public void passedGo(Player player) {
+        result.passedGo();
+    }
+
+    @Override
+    public void sentToJail(Player player) {
+        result.sentToJail();
+    }
+
+    @Override
+    public void taxPaid(Player player, int amount, String taxType) {
+        result.taxPaid(amount);
+    }
+
+    @Override
+    public void rentCollected(Player renter, Player owner, BaseProperty property, int amount, boolean collected) {
+        if (collected) {
+            result.rentPaid(property.getPosition(), amount);
+        }
+    }
+}
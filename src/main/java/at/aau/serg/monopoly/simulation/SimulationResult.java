@@ -0,0 +1,167 @@
+package at.aau.serg.monopoly.simulation;
+
+import at.aau.serg.monopoly.websoket.PropertyService;
+import lombok.Getter;
+import model.properties.BaseProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aggregated statistics of simulated games. Every fork-join task fills its own instance,
+ * the instances are merged afterwards, so no counter is ever shared between threads.
+ * Board statistics are indexed by square (0-39).
+ */
+@Getter
+public class SimulationResult {
+    static final int SQUARES = 40;
+
+    private long games;
+    private long endedByBankruptcy;
+    private long endedByTurnLimit;
+    private long turns;
+    private long rolls;
+    private long bankruptcies;
+    private long jailVisits;
+    private long goPasses;
+    private long cardsDrawn;
+    private long taxPaid;
+    private final long[] landings = new long[SQUARES];
+    private final long[] purchases = new long[SQUARES];
+    private final long[] rentPayments = new long[SQUARES];
+    private final long[] rentIncome = new long[SQUARES];
+    private final long[] winsBySeat;
+    // Strategy name -> {games played, games won}
+    private final Map<String, long[]> strategies = new LinkedHashMap<>();
+
+    SimulationResult(int seats) {
+        winsBySeat = new long[seats];
+    }
+
+    void gameFinished(int gameTurns, boolean bankruptcyEnding) {
+        games++;
+        turns += gameTurns;
+        if (bankruptcyEnding) {
+            endedByBankruptcy++;
+        } else {
+            endedByTurnLimit++;
+        }
+    }
+
+    void rolled() {
+        rolls++;
+    }
+
+    void landed(int position) {
+        landings[position]++;
+    }
+
+    void bought(int position) {
+        purchases[position]++;
+    }
+
+    void rentPaid(int position, int amount) {
+        rentPayments[position]++;
+        rentIncome[position] += amount;
+    }
+
+    void bankrupt() {
+        bankruptcies++;
+    }
+
+    void sentToJail() {
+        jailVisits++;
+    }
+
+    void passedGo() {
+        goPasses++;
+    }
+
+    void cardDrawn() {
+        cardsDrawn++;
+    }
+
+    void taxPaid(int amount) {
+        taxPaid += amount;
+    }
+
+    void played(String strategy, boolean won, int seat) {
+        long[] counts = strategies.computeIfAbsent(strategy, name -> new long[2]);
+        counts[0]++;
+        if (won) {
+            counts[1]++;
+            winsBySeat[seat]++;
+        }
+    }
+
+    SimulationResult merge(SimulationResult other) {
+        games += other.games;
+        endedByBankruptcy += other.endedByBankruptcy;
+        endedByTurnLimit += other.endedByTurnLimit;
+        turns += other.turns;
+        rolls += other.rolls;
+        bankruptcies += other.bankruptcies;
+        jailVisits += other.jailVisits;
+        goPasses += other.goPasses;
+        cardsDrawn += other.cardsDrawn;
+        taxPaid += other.taxPaid;
+        add(landings, other.landings);
+        add(purchases, other.purchases);
+        add(rentPayments, other.rentPayments);
+        add(rentIncome, other.rentIncome);
+        add(winsBySeat, other.winsBySeat);
+        other.strategies.forEach((name, counts) -> add(strategies.computeIfAbsent(name, n -> new long[2]), counts));
+        return this;
+    }
+
+    private static void add(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    public double averageTurns() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+
+    /**
+     * @param board Only used for the property names and prices.
+     */
+    public String report(PropertyService board) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT,
+                "%d games, %.1f turns on average, %.1f%% ended by bankruptcy, %.1f%% by the turn limit%n",
+                games, averageTurns(), percent(endedByBankruptcy, games), percent(endedByTurnLimit, games)));
+        out.append(String.format(Locale.ROOT,
+                "per game: %.2f bankruptcies, %.1f jail visits, %.1f GO passes, %.1f cards, %.0f tax paid%n",
+                perGame(bankruptcies), perGame(jailVisits), perGame(goPasses), perGame(cardsDrawn), perGame(taxPaid)));
+        for (Map.Entry<String, long[]> entry : strategies.entrySet()) {
+            long[] counts = entry.getValue();
+            out.append(String.format(Locale.ROOT, "strategy %-20s won %6.2f%% of %d games%n",
+                    entry.getKey(), percent(counts[1], counts[0]), counts[0]));
+        }
+        for (int seat = 0; seat < winsBySeat.length; seat++) {
+            out.append(String.format(Locale.ROOT, "seat %d won %.2f%%%n", seat, percent(winsBySeat[seat], games)));
+        }
+        out.append(String.format(Locale.ROOT, "%-3s %-28s %6s %9s %10s %12s%n",
+                "pos", "square", "price", "landed %", "bought %", "rent/game"));
+        for (int position = 0; position < SQUARES; position++) {
+            BaseProperty property = board.getPropertyByPosition(position);
+            out.append(String.format(Locale.ROOT, "%-3d %-28s %6s %9.3f %10.2f %12.2f%n",
+                    position, property != null ? property.getName() : "",
+                    property != null ? String.valueOf(property.getPurchasePrice()) : "",
+                    percent(landings[position], rolls), percent(purchases[position], games),
+                    perGame(rentIncome[position])));
+        }
+        return out.toString();
+    }
+
+    private double perGame(long value) {
+        return games == 0 ? 0 : (double) value / games;
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+}
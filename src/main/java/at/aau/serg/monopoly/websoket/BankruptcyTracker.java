@@ -0,0 +1,99 @@
+package at.aau.serg.monopoly.websoket;
+
+import model.BalanceListener;
+import model.Game;
+import model.Player;
+import model.properties.BaseProperty;
+import model.properties.OwnershipIndex;
+import model.properties.OwnershipListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the players whose net worth (cash + liquidation value) dropped to zero or below
+ * since the last bankruptcy check. Cash changes come from the Game, property changes from
+ * the OwnershipIndex of the room's board, so a check only has to look at these players.
+ */
+class BankruptcyTracker implements BalanceListener, OwnershipListener {
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    private final AtomicLong skippedChecks = new AtomicLong();
+    private Game game;
+    private OwnershipIndex ownershipIndex;
+
+    /**
+     * Registers this tracker on the given game and board if it is not registered yet.
+     * @return true if all changes since the last call were seen, false if the caller has to
+     * check all players once (first call, replaced game or board, or no board index available).
+     */
+    boolean attach(Game game, OwnershipIndex ownershipIndex) {
+        boolean complete = true;
+        if (game.getBalanceListener() != this) {
+            if (this.game != null && this.game != game) {
+                this.game.setBalanceListener(null);
+            }
+            game.setBalanceListener(this);
+            this.game = game;
+            complete = false;
+        }
+        if (ownershipIndex == null) {
+            complete = false;
+        } else if (ownershipIndex.getChangeListener() != this) {
+            if (this.ownershipIndex != null && this.ownershipIndex != ownershipIndex) {
+                this.ownershipIndex.setChangeListener(null);
+            }
+            ownershipIndex.setChangeListener(this);
+            this.ownershipIndex = ownershipIndex;
+            complete = false;
+        }
+        if (!complete) {
+            candidates.clear();
+        }
+        return complete;
+    }
+
+    @Override
+    public void balanceChanged(Player player, int previousMoney, int newMoney) {
+        if (newMoney < previousMoney && newMoney + liquidationValue(player.getId()) <= 0) {
+            candidates.add(player.getId());
+        }
+    }
+
+    @Override
+    public void ownerChanged(BaseProperty property, String previousOwnerId, String newOwnerId) {
+        // Only the player who lost the property can have dropped below zero
+        Game current = game;
+        Player previousOwner = current == null ? null : current.getPlayer(previousOwnerId);
+        if (previousOwner != null && previousOwner.getMoney() + liquidationValue(previousOwnerId) <= 0) {
+            candidates.add(previousOwnerId);
+        }
+    }
+
+    /**
+     * Hands out the collected players and forgets them.
+     */
+    List<String> drainCandidates() {
+        List<String> drained = new ArrayList<>(candidates);
+        candidates.removeAll(drained);
+        return drained;
+    }
+
+    void recordSkipped(int players) {
+        if (players > 0) {
+            skippedChecks.addAndGet(players);
+        }
+    }
+
+    // Number of per-player net worth checks that were not needed because nothing relevant changed
+    long getSkippedChecks() {
+        return skippedChecks.get();
+    }
+
+    private int liquidationValue(String playerId) {
+        OwnershipIndex index = ownershipIndex;
+        return index == null ? 0 : index.getLiquidationValue(playerId);
+    }
+}
@@ -0,0 +1,225 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Session decorator with a bounded outbound queue. sendMessage only enqueues and returns,
+ * the actual (blocking) send runs on a sender thread, so one slow client never holds up
+ * the room thread or the other players. A send that hangs longer than the send time limit
+ * is cut off by the OutboundSessionFactory's watchdog, which frees the sender thread again.
+ */
+public class BufferedOutboundSession extends WebSocketSessionDecorator {
+    private static final Logger logger = Logger.getLogger(BufferedOutboundSession.class.getName());
+    private static final String GAME_STATE_KEY = "GAME_STATE";
+    private static final String GAME_STATE_PREFIX = GAME_STATE_KEY + ":";
+    private static final String PLAYER_TURN_KEY = "PLAYER_TURN";
+    private static final String PLAYER_TURN_PREFIX = PLAYER_TURN_KEY + ":";
+
+    // A list, so COALESCE can replace a superseded frame where it is
+    private final LinkedList<OutboundFrame> queue = new LinkedList<>();
+    private final int bufferSize;
+    private final long sendTimeLimitNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor sender;
+    private final Executor closer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartedAt;
+    private volatile boolean closing;
+
+    public BufferedOutboundSession(WebSocketSession delegate, int bufferSize, long sendTimeLimitMillis,
+                                   OverflowPolicy overflowPolicy, Executor sender) {
+        this(delegate, bufferSize, sendTimeLimitMillis, overflowPolicy, sender, sender);
+    }
+
+    /**
+     * @param closer Runs the close of a session that overflowed or hit the send time limit while
+     *               a frame was queued, so the room thread never blocks on closing the connection.
+     */
+    public BufferedOutboundSession(WebSocketSession delegate, int bufferSize, long sendTimeLimitMillis,
+                                   OverflowPolicy overflowPolicy, Executor sender, Executor closer) {
+        super(delegate);
+        this.bufferSize = bufferSize;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.overflowPolicy = overflowPolicy;
+        this.sender = sender;
+        this.closer = closer;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        sendFrame(new OutboundFrame(message));
+    }
+
+    // The frame is queued as it is, so a broadcast's CBOR bytes are shared by all sessions
+    public void sendFrame(OutboundFrame frame) {
+        if (closing || !isOpen()) {
+            return;
+        }
+        if (isSendTimeLimitExceeded()) {
+            disconnect("send time limit exceeded");
+            return;
+        }
+
+        boolean accepted;
+        synchronized (queue) {
+            accepted = offer(frame);
+        }
+        if (!accepted) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                disconnect("outbound buffer full");
+                return;
+            }
+            logger.log(Level.FINE, "Outbound buffer of session {0} full, message dropped", getId());
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Called periodically by the watchdog, so a hanging send is cut off even when
+     * no further frames arrive for this session.
+     * @return false once the session is closed and no longer needs to be watched
+     */
+    boolean enforceSendTimeLimit() {
+        if (closing || !isOpen()) {
+            return false;
+        }
+        if (isSendTimeLimitExceeded() && stopSending()) {
+            // Already on the watchdog thread
+            close("send time limit exceeded");
+            return false;
+        }
+        return true;
+    }
+
+    public int getQueueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    // Called with the queue lock held
+    private boolean offer(OutboundFrame frame) {
+        if (queue.size() < bufferSize) {
+            queue.addLast(frame);
+            return true;
+        }
+        if (overflowPolicy != OverflowPolicy.COALESCE) {
+            return false;
+        }
+        String key = coalesceKey(frame.getMessage());
+        if (key == null) {
+            return false;
+        }
+        for (ListIterator<OutboundFrame> it = queue.listIterator(); it.hasNext(); ) {
+            if (key.equals(coalesceKey(it.next().getMessage()))) {
+                // The newer state takes the old one's place, it does not overtake or fall behind other frames
+                it.set(frame);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Only the full state frames are superseded by a newer one, everything else
+    // (system lines, kick notices, chat) has to reach the client
+    static String coalesceKey(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text)) {
+            return null;
+        }
+        String payload = text.getPayload();
+        if (payload.startsWith(GAME_STATE_PREFIX)) {
+            return GAME_STATE_KEY;
+        }
+        if (payload.startsWith(PLAYER_TURN_PREFIX)) {
+            return PLAYER_TURN_KEY;
+        }
+        return null;
+    }
+
+    private boolean isSendTimeLimitExceeded() {
+        long started = sendStartedAt;
+        return started != 0 && System.nanoTime() - started > sendTimeLimitNanos;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            OutboundFrame next;
+            while (!closing && (next = poll()) != null) {
+                sendStartedAt = System.nanoTime();
+                try {
+                    next.sendTo(getDelegate());
+                } catch (IOException | IllegalStateException e) {
+                    logger.log(Level.WARNING, "Error sending message to session {0}: {1}", new Object[]{getId(), e.getMessage()});
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A message may have been queued between the last poll and resetting the flag
+        if (!closing && getQueueDepth() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    private OutboundFrame poll() {
+        synchronized (queue) {
+            return queue.pollFirst();
+        }
+    }
+
+    // Stops sending right away, the close itself runs on the closer and not on the calling room thread
+    private void disconnect(String reason) {
+        if (!stopSending()) {
+            return;
+        }
+        try {
+            closer.execute(() -> close(reason));
+        } catch (RejectedExecutionException e) {
+            // Server is shutting down, nobody else will close it
+            close(reason);
+        }
+    }
+
+    // @return false if the session was already closing
+    private boolean stopSending() {
+        synchronized (queue) {
+            if (closing) {
+                return false;
+            }
+            closing = true;
+            queue.clear();
+        }
+        return true;
+    }
+
+    private void close(String reason) {
+        logger.log(Level.WARNING, "Closing session {0}: {1}", new Object[]{getId(), reason});
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error closing session {0}: {1}", new Object[]{getId(), e.getMessage()});
+        }
+    }
+}
@@ -3,6 +3,7 @@ package at.aau.serg.monopoly.websoket;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import model.RandomSource;
 import model.cards.Card;
 import model.cards.CardType;
 import org.springframework.core.io.ClassPathResource;
@@ -13,16 +14,48 @@ import java.util.*;
 @Component
 public class CardDeckService {
     private final ObjectMapper mapper;
+    // ChanceAndChestCards.json is parsed once per JVM, every game shuffles its own copy of the lists
+    private static volatile Map<CardType, List<Card>> standardCards;
     private final Map<CardType, Deque<Card>> decks = new EnumMap<>(CardType.class);
     private final Map<CardType, List<Card>> discards = new EnumMap<>(CardType.class);
+    private RandomSource random = RandomSource.create();
 
     public CardDeckService(ObjectMapper mapper) {
         this.mapper = mapper;
     }
 
+    // Must be set before init() to get the same decks for the same seed
+    public synchronized void setRandomSource(RandomSource random) {
+        this.random = random;
+    }
+
     // Construct the card decks, load & shuffle them
     @PostConstruct
     public void init() {
+        // For each deck: copy, shuffle and wrap in Deque
+        for (var entry : standardCards(mapper).entrySet()) {
+            List<Card> list = new ArrayList<>(entry.getValue());
+            random.shuffle(list);
+            decks.put(entry.getKey(), new ArrayDeque<>(list));
+            discards.put(entry.getKey(), new ArrayList<>());
+        }
+    }
+
+    private static Map<CardType, List<Card>> standardCards(ObjectMapper mapper) {
+        Map<CardType, List<Card>> cards = standardCards;
+        if (cards == null) {
+            synchronized (CardDeckService.class) {
+                cards = standardCards;
+                if (cards == null) {
+                    cards = loadCards(mapper);
+                    standardCards = cards;
+                }
+            }
+        }
+        return cards;
+    }
+
+    private static Map<CardType, List<Card>> loadCards(ObjectMapper mapper) {
         try {
             // ReadJSON file in a Map
             var resource = new ClassPathResource("ChanceAndChestCards.json");
@@ -30,14 +63,11 @@ public class CardDeckService {
             Map<String, List<Card>> raw =
                     mapper.readValue(resource.getInputStream(), typeRef);
 
-            // For each entry: convert, shuffle and wrap in Deque
+            Map<CardType, List<Card>> cards = new EnumMap<>(CardType.class);
             for (var entry : raw.entrySet()) {
-                CardType type = CardType.valueOf(entry.getKey());
-                List<Card> list = new ArrayList<>(entry.getValue());
-                Collections.shuffle(list);
-                decks.put(type, new ArrayDeque<>(list));
-                discards.put(type, new ArrayList<>());
+                cards.put(CardType.valueOf(entry.getKey()), List.copyOf(entry.getValue()));
             }
+            return cards;
         } catch (IOException e) {
             throw new IllegalStateException(
                     "Failed to load ChanceAndChestCards.json", e);
@@ -50,7 +80,7 @@ public class CardDeckService {
         if (deck.isEmpty()) {
             // move discards back into deck
             List<Card> pile = discards.get(type);
-            Collections.shuffle(pile);
+            random.shuffle(pile);
             deck.addAll(pile);
             pile.clear();
         }
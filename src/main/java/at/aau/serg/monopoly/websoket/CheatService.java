@@ -1,17 +1,26 @@
 package at.aau.serg.monopoly.websoket;
 
+import model.RandomSource;
 import org.springframework.stereotype.Service;
-import java.security.SecureRandom;
 import java.util.Locale;
 
 @Service
 public class CheatService {
-    private final SecureRandom rnd = new SecureRandom();
+    private final RandomSource rnd;
     private static final int FIXEDMONEYDELTA = 250;
     private static final int RANDOMMONEYCEILING = 1000;
     private static final int RANDOMMONEYSTEP = 50;
     private static final int COINFLIPAMOUNT = 500;
 
+    public CheatService() {
+        this(RandomSource.create());
+    }
+
+    // Rooms pass the random source of their game, see GameWebSocketHandler.useRoomLocalBoard
+    public CheatService(RandomSource random) {
+        this.rnd = random;
+    }
+
     public int getAmount(String cheatCode, int currentMoney){
         String cheatCodeTypeSafe = normalizeInput(cheatCode);
 
@@ -0,0 +1,66 @@
+package at.aau.serg.monopoly.websoket;
+
+/**
+ * Character trie for the legacy text commands like "BUY_PROPERTY:3".
+ * A lookup walks the payload once instead of testing every prefix with startsWith.
+ * The commands are ASCII, so each node indexes its children by the char itself and a step
+ * is one array access, no Character is boxed.
+ */
+final class CommandTrie<T> {
+    private static final int ASCII = 128;
+
+    private final Node<T> root = new Node<>();
+
+    void put(String prefix, T value) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("Prefix must not be empty");
+        }
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c >= ASCII) {
+                throw new IllegalArgumentException("Prefix must be ASCII: " + prefix);
+            }
+            node = node.childOrCreate(c);
+        }
+        node.value = value;
+    }
+
+    /**
+     * @return the value of the longest registered prefix of {@code text}, or null if none matches
+     */
+    T longestPrefixOf(String text) {
+        T match = null;
+        Node<T> node = root;
+        for (int i = 0; i < text.length() && node.children != null; i++) {
+            char c = text.charAt(i);
+            node = c < ASCII ? node.children[c] : null;
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                match = node.value;
+            }
+        }
+        return match;
+    }
+
+    private static final class Node<T> {
+        // Allocated with the first child, leaves stay without an array
+        private Node<T>[] children;
+        private T value;
+
+        @SuppressWarnings("unchecked")
+        Node<T> childOrCreate(char c) {
+            if (children == null) {
+                children = (Node<T>[]) new Node[ASCII];
+            }
+            Node<T> child = children[c];
+            if (child == null) {
+                child = new Node<>();
+                children[c] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import data.DiceRollMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes DICE_ROLL messages through the codec's cached ObjectWriter for DiceRollMessage, so the
+ * JSON is exactly what Jackson produces. Message, generator and buffer are reused between rolls,
+ * only the payload String is new. Not thread safe, one instance per room.
+ */
+final class DiceRollEncoder {
+    private final DiceRollMessage message = new DiceRollMessage(null, 0);
+    private final StringBuilder buffer = new StringBuilder(192);
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    DiceRollEncoder(MessageCodec codec) {
+        // One generator writes all rolls, so no separator between two root values
+        writer = codec.writerFor(DiceRollMessage.class).withRootValueSeparator((String) null);
+        try {
+            generator = codec.getObjectMapper().getFactory().createGenerator(new BufferWriter(buffer));
+        } catch (IOException e) {
+            // creating a generator over a Writer does no I/O
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String encode(String playerId, int roll, boolean manual, boolean pasch) throws IOException {
+        message.set(playerId, roll, manual, pasch);
+        buffer.setLength(0);
+        writer.writeValue(generator, message);
+        generator.flush();
+        return buffer.toString();
+    }
+
+    // Writer into the reused buffer, unlike StringWriter it does not synchronize
+    private static final class BufferWriter extends Writer {
+        private final StringBuilder buffer;
+
+        BufferWriter(StringBuilder buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            buffer.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+            // nothing buffered here
+        }
+
+        @Override
+        public void close() {
+            // the buffer lives as long as the encoder
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+
+/**
+ * Session decorator that sends the JSON frames of the game as CBOR BinaryMessages once the
+ * client negotiated WireEncoding.CBOR. Rooms keep producing text frames; frames without a
+ * JSON body (chat lines, "Game started! ...") stay text. A broadcast arrives as an OutboundFrame
+ * shared by all recipients, so its CBOR bytes are only encoded once.
+ */
+public class FrameEncodingSession extends WebSocketSessionDecorator {
+    private final MessageCodec codec;
+    private volatile WireEncoding encoding;
+
+    public FrameEncodingSession(WebSocketSession delegate, MessageCodec codec, WireEncoding encoding) {
+        super(delegate);
+        this.codec = codec;
+        this.encoding = encoding;
+    }
+
+    public WireEncoding getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(WireEncoding encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        sendFrame(new OutboundFrame(message));
+    }
+
+    public void sendFrame(OutboundFrame frame) throws IOException {
+        if (encoding == WireEncoding.CBOR) {
+            byte[] cbor = frame.cbor(codec);
+            if (cbor != null) {
+                // new BinaryMessage per send, the container may consume the buffer
+                super.sendMessage(new BinaryMessage(cbor));
+                return;
+            }
+        }
+        super.sendMessage(frame.getMessage());
+    }
+}
@@ -1,5 +1,6 @@
 package at.aau.serg.monopoly.websoket;
 
+import at.aau.serg.monopoly.metrics.GameMetrics;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
@@ -9,6 +10,7 @@ import com.google.firebase.cloud.FirestoreClient;
 import data.GameHistoryRequest;
 import model.GameHistory;
 import model.Player;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
@@ -25,8 +27,12 @@ public class GameHistoryService {
     private static final String COLLECTION_NAME = "users";
     private static final String SUBCOLLECTION_NAME = "gameHistory";
 
+    @Autowired(required = false)
+    private GameMetrics metrics = GameMetrics.noop();
 
     private void ensureGameHistorySubcollection(String userId) {
+        long start = System.nanoTime();
+        boolean failed = false;
         try {
             Firestore firestore = FirestoreClient.getFirestore();
             DocumentReference userDocRef = firestore.collection(COLLECTION_NAME).document(userId);
@@ -39,10 +45,13 @@ public class GameHistoryService {
                 logger.log(Level.INFO, "Benutzerdokument-gameHistory für {0} angelegt", userId);
             }
         } catch (InterruptedException | ExecutionException e) {
+            failed = true;
             if (logger.isLoggable(Level.WARNING)) {
                 logger.log(Level.WARNING, "Fehler beim Prüfen der Subcollection für Benutzer: " + userId, e);
             }
             Thread.currentThread().interrupt();
+        } finally {
+            metrics.recordFirestoreCall("ensureGameHistory", System.nanoTime() - start, failed);
         }
     }
 
@@ -55,8 +64,10 @@ public class GameHistoryService {
      * @return true, wenn das Speichern erfolgreich war, sonst false
      */
     public boolean saveGameHistory(GameHistoryRequest req) {
+        ensureGameHistorySubcollection(req.getUserId());
+        long start = System.nanoTime();
+        boolean failed = false;
         try {
-            ensureGameHistorySubcollection(req.getUserId());
             Firestore firestore = FirestoreClient.getFirestore();
 
             GameHistory gameHistory = new GameHistory();
@@ -78,9 +89,12 @@ public class GameHistoryService {
             logger.log(Level.INFO, "Spielhistorie für Benutzer {0} erfolgreich gespeichert", req.getUserId());
             return true;
         } catch (InterruptedException | ExecutionException e) {
+            failed = true;
             logger.log(Level.SEVERE, "Fehler beim Speichern der Spielhistorie für Benutzer {0}", req.getUserId());
             Thread.currentThread().interrupt(); // Guter Umgang mit InterruptedException
             return false;
+        } finally {
+            metrics.recordFirestoreCall("saveGameHistory", System.nanoTime() - start, failed);
         }
     }
 
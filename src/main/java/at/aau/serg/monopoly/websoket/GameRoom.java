@@ -0,0 +1,37 @@
+package at.aau.serg.monopoly.websoket;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single match hosted by this server. All game state of the room lives in its own
+ * GameWebSocketHandler instance, which is only ever driven through the room's mailbox.
+ */
+public class GameRoom {
+    @Getter
+    private final String id;
+    @Getter
+    private final GameWebSocketHandler handler;
+    @Getter
+    private final RoomExecutorPool.RoomMailbox mailbox;
+    private final AtomicInteger connectedSessions = new AtomicInteger();
+
+    public GameRoom(String id, GameWebSocketHandler handler, RoomExecutorPool.RoomMailbox mailbox) {
+        this.id = id;
+        this.handler = handler;
+        this.mailbox = mailbox;
+    }
+
+    int join() {
+        return connectedSessions.incrementAndGet();
+    }
+
+    int leave() {
+        return connectedSessions.decrementAndGet();
+    }
+
+    public int getConnectedSessions() {
+        return connectedSessions.get();
+    }
+}
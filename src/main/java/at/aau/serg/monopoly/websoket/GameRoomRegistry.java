@@ -0,0 +1,124 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps track of all running game rooms and which room every WebSocket session belongs to.
+ * Rooms are created on first join and dropped again once their last session has left.
+ */
+@Component
+public class GameRoomRegistry {
+    public static final String DEFAULT_ROOM_ID = "default";
+    private static final Pattern ROOM_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final Logger logger = Logger.getLogger(GameRoomRegistry.class.getName());
+
+    private final ObjectProvider<GameWebSocketHandler> handlerProvider;
+    private final RoomExecutorPool executorPool;
+    private final Map<String, GameRoom> rooms = new ConcurrentHashMap<>();
+    private final Map<String, GameRoom> roomsBySession = new ConcurrentHashMap<>();
+
+    public GameRoomRegistry(ObjectProvider<GameWebSocketHandler> handlerProvider, RoomExecutorPool executorPool) {
+        this.handlerProvider = handlerProvider;
+        this.executorPool = executorPool;
+    }
+
+    /**
+     * Adds a session to the given room, creating the room if it does not exist yet.
+     * @param sessionId The id of the WebSocket session
+     * @param roomId The requested room id, null or invalid ids map to the default room
+     * @return The room the session now belongs to
+     */
+    public GameRoom join(String sessionId, String roomId) {
+        GameRoom room = enter(roomId);
+        roomsBySession.put(sessionId, room);
+        return room;
+    }
+
+    /**
+     * Moves a session to another room in one step, so a concurrent lookup sees either
+     * the old or the new room but never none.
+     * @param sessionId The id of the WebSocket session
+     * @param from The room the caller saw the session in
+     * @param roomId The requested room id
+     * @return The new room, or null if the session is no longer in {@code from}
+     */
+    public GameRoom move(String sessionId, GameRoom from, String roomId) {
+        GameRoom target = enter(roomId);
+        if (!roomsBySession.replace(sessionId, from, target)) {
+            release(target);
+            return null;
+        }
+        release(from);
+        return target;
+    }
+
+    /**
+     * Removes a session from its room and drops the room once it is empty.
+     * @param sessionId The id of the WebSocket session
+     * @return The room the session belonged to, or null if it was not registered
+     */
+    public GameRoom leave(String sessionId) {
+        GameRoom room = roomsBySession.remove(sessionId);
+        if (room != null) {
+            release(room);
+        }
+        return room;
+    }
+
+    public GameRoom roomOf(String sessionId) {
+        return roomsBySession.get(sessionId);
+    }
+
+    public GameRoom getRoom(String roomId) {
+        return rooms.get(normalizeRoomId(roomId));
+    }
+
+    public Collection<GameRoom> getRooms() {
+        return Collections.unmodifiableCollection(rooms.values());
+    }
+
+    public static String normalizeRoomId(String roomId) {
+        if (roomId == null) {
+            return DEFAULT_ROOM_ID;
+        }
+        String trimmed = roomId.trim();
+        return ROOM_ID_PATTERN.matcher(trimmed).matches() ? trimmed : DEFAULT_ROOM_ID;
+    }
+
+    private GameRoom enter(String roomId) {
+        return rooms.compute(normalizeRoomId(roomId), (id, existing) -> {
+            GameRoom target = existing != null ? existing : createRoom(id);
+            target.join();
+            return target;
+        });
+    }
+
+    private void release(GameRoom room) {
+        rooms.computeIfPresent(room.getId(), (id, existing) -> {
+            if (existing != room) {
+                return existing;
+            }
+            if (room.leave() > 0) {
+                return room;
+            }
+            logger.log(Level.INFO, "Room {0} is empty and was closed", id);
+            return null;
+        });
+    }
+
+    private GameRoom createRoom(String roomId) {
+        GameWebSocketHandler handler = handlerProvider.getObject();
+        handler.useRoomLocalBoard(roomId);
+        logger.log(Level.INFO, "Created room {0}", roomId);
+        return new GameRoom(roomId, handler, executorPool.mailboxFor(roomId));
+    }
+}
@@ -0,0 +1,101 @@
+package at.aau.serg.monopoly.websoket;
+
+import data.GameStateDelta;
+import data.GameStateKeyframe;
+import data.PlayerDelta;
+import data.PlayerInfo;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Remembers the state that was last sent to delta clients and turns the current state into
+ * versioned deltas. Every keyframeInterval versions a full keyframe is due instead.
+ */
+public class GameStateTracker {
+    private final int keyframeInterval;
+    @Getter
+    private long version;
+    private final Map<String, PlayerInfo> players = new LinkedHashMap<>();
+    private final Map<Integer, String> propertyOwners = new TreeMap<>();
+    private String currentPlayerId;
+
+    public GameStateTracker(int keyframeInterval) {
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Compares the current state with the last known one and bumps the version if anything changed.
+     * @param livePlayers The current players in turn order
+     * @param liveOwners Property id to owner id of all owned properties
+     * @param liveCurrentPlayerId The player whose turn it is
+     * @return The changes, or null if the state is unchanged
+     */
+    public GameStateDelta update(List<PlayerInfo> livePlayers, Map<Integer, String> liveOwners, String liveCurrentPlayerId) {
+        List<PlayerDelta> changedPlayers = new ArrayList<>();
+        Set<String> present = new HashSet<>();
+        for (PlayerInfo info : livePlayers) {
+            present.add(info.getId());
+            PlayerDelta delta = PlayerDelta.between(players.get(info.getId()), info);
+            if (delta != null) {
+                changedPlayers.add(delta);
+                players.put(info.getId(), info);
+            }
+        }
+
+        List<String> removedPlayers = new ArrayList<>();
+        for (Iterator<String> it = players.keySet().iterator(); it.hasNext(); ) {
+            String id = it.next();
+            if (!present.contains(id)) {
+                removedPlayers.add(id);
+                it.remove();
+            }
+        }
+
+        Map<Integer, String> changedOwners = new TreeMap<>();
+        for (Map.Entry<Integer, String> entry : liveOwners.entrySet()) {
+            if (!Objects.equals(propertyOwners.get(entry.getKey()), entry.getValue())) {
+                changedOwners.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Integer propertyId : propertyOwners.keySet()) {
+            if (!liveOwners.containsKey(propertyId)) {
+                changedOwners.put(propertyId, null);
+            }
+        }
+        for (Map.Entry<Integer, String> entry : changedOwners.entrySet()) {
+            if (entry.getValue() == null) {
+                propertyOwners.remove(entry.getKey());
+            } else {
+                propertyOwners.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        boolean turnChanged = !Objects.equals(currentPlayerId, liveCurrentPlayerId);
+        currentPlayerId = liveCurrentPlayerId;
+
+        if (changedPlayers.isEmpty() && removedPlayers.isEmpty() && changedOwners.isEmpty() && !turnChanged) {
+            return null;
+        }
+        version++;
+        return new GameStateDelta(version, changedPlayers, removedPlayers, changedOwners,
+                turnChanged ? liveCurrentPlayerId : null);
+    }
+
+    public GameStateKeyframe keyframe() {
+        return new GameStateKeyframe(version, new ArrayList<>(players.values()),
+                new TreeMap<>(propertyOwners), currentPlayerId);
+    }
+
+    public boolean isKeyframeDue() {
+        return keyframeInterval > 0 && version % keyframeInterval == 0;
+    }
+}
@@ -1,9 +1,12 @@
 package at.aau.serg.monopoly.websoket;
 
+import at.aau.serg.monopoly.engine.GameEngine;
+import at.aau.serg.monopoly.engine.GameEventListener;
 import at.aau.serg.monopoly.firebase.UserStatisticsService;
+import at.aau.serg.monopoly.metrics.GameMetrics;
+import at.aau.serg.monopoly.metrics.MessageLatencyHistograms;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import data.*;
 import data.deals.CounterProposalMessage;
@@ -13,14 +16,15 @@ import model.DiceManager;
 import model.DiceManagerInterface;
 import model.Game;
 import model.Player;
+import model.RandomSource;
 import model.properties.BaseProperty;
 import data.deals.DealProposalMessage;
 import data.deals.DealResponseMessage;
 import data.deals.DealResponseType;
-import model.properties.HouseableProperty;
-import model.properties.TrainStation;
-import model.properties.Utility;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
@@ -29,6 +33,8 @@ import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,18 +45,49 @@ import java.util.logging.Logger;
     Please refer to the file Acknowledgement for more information!
  */
 //*******************************************************************************//
+// One instance per game room, see GameRoomRegistry
 @Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class GameWebSocketHandler extends TextWebSocketHandler {
     private static final String PLAYER_PREFIX = "Player ";
     private final Logger logger = Logger.getLogger(GameWebSocketHandler.class.getName());
     protected final CopyOnWriteArrayList<WebSocketSession> sessions = new CopyOnWriteArrayList<>();
     final Map<String, String> sessionToUserId = new ConcurrentHashMap<>();
-    private final Game game = new Game();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Game game;
+    private final MessageCodec messageCodec = MessageCodec.shared();
+    // DICE_ROLL frames are written into one reused message and buffer, room thread only
+    private final DiceRollEncoder diceRollEncoder = new DiceRollEncoder(messageCodec);
+    // One per game, replaced only when a new game starts
     private DiceManagerInterface diceManager;
     private final Map<String, Set<String>> kickVotes = new ConcurrentHashMap<>();
     private static final String BOUGHT_PROPERTY_MSG = " bought property ";
     private static final String USERID = "userId";
+    private List<PlayerInfo> playerState;
+    private List<PlayerInfo> lastGameState;
+    private OutboundFrame lastGameStateFrame;
+    private String lastPlayerTurnId;
+    private OutboundFrame lastPlayerTurnFrame;
+    private static final String DELTA_STATE = "deltaState";
+    // Sessions that asked for versioned GAME_STATE_DELTA frames instead of GAME_STATE:/PLAYER_TURN:
+    final Set<String> deltaSessions = ConcurrentHashMap.newKeySet();
+    private GameStateTracker stateTracker;
+    @Value("${monopoly.state.keyframe-interval:20}")
+    private int keyframeInterval = 20;
+    // Empty = new random seed per game, a number replays the games with this seed (combined with the room id)
+    @Value("${monopoly.random.seed:}")
+    private String randomSeed;
+    // While one inbound event is handled, broadcastGameState only marks the state dirty
+    private boolean handlingAction;
+    private boolean gameStateDirty;
+    private final AtomicLong coalescedStateBroadcasts = new AtomicLong();
+    private final BankruptcyTracker bankruptcyTracker = new BankruptcyTracker();
+    private final MessageDispatcher dispatcher = createDispatcher();
+    // Rules of the game, the listener turns their events into messages for the clients.
+    // Rebuilt only when the services it works on are replaced (init, useRoomLocalBoard)
+    private GameEngine engine;
+    private final GameEventListener clientEvents = new ClientEvents();
+    // Type tag of the inbound message currently handled, set while dispatching
+    private String inboundType = GameMetrics.UNKNOWN_TYPE;
 
     @Autowired
     private GameHistoryService gameHistoryService;
@@ -70,21 +107,90 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     private DealService dealService;
     @Autowired
     private UserStatisticsService userStatisticsService;
+    @Autowired(required = false)
+    private GameMetrics metrics = GameMetrics.noop();
+    @Autowired(required = false)
+    private MessageLatencyHistograms latencyHistograms = MessageLatencyHistograms.disabled();
+
+    public GameWebSocketHandler() {
+        this(new Game(), null, null, null, null);
+    }
+
+    /**
+     * Room with the given game and rules services, for tests and tools outside of Spring.
+     * Spring uses the no-arg constructor, injects the services and builds the engine in init().
+     */
+    GameWebSocketHandler(Game game, PropertyService propertyService,
+                         PropertyTransactionService propertyTransactionService,
+                         RentCalculationService rentCalculationService,
+                         RentCollectionService rentCollectionService) {
+        this.game = game;
+        this.propertyService = propertyService;
+        this.propertyTransactionService = propertyTransactionService;
+        this.rentCalculationService = rentCalculationService;
+        this.rentCollectionService = rentCollectionService;
+        this.diceManager = createDiceManager();
+        this.engine = createEngine();
+    }
 
     //*******************************************************************************//
     // ------------------ GameWebSocket ------------------ //
     //*******************************************************************************//
     @PostConstruct
     public void init() {
+        engine = createEngine();
+    }
+
+    /**
+     * Gives this room its own board, deal state and card decks instead of the shared singletons,
+     * so that property ownership and pending deals do not leak between rooms. Cards and cheats
+     * draw from the game's random source, so a room can be replayed from its seed.
+     * @param roomId Id of the room, a configured seed is combined with it
+     */
+    void useRoomLocalBoard(String roomId) {
+        if (randomSeed != null && !randomSeed.isBlank()) {
+            game.setRandom(RandomSource.seeded(roomSeed(Long.parseLong(randomSeed.trim()), roomId)));
+            diceManager = createDiceManager();
+        }
+        logger.log(Level.INFO, "Room {0} uses random seed {1}", new Object[]{roomId, String.valueOf(game.getRandom().seed())});
+        propertyService = new PropertyService();
+        propertyService.init();
+        propertyTransactionService = new PropertyTransactionService(propertyService);
+        rentCalculationService = new RentCalculationService(propertyService);
+        rentCollectionService = new RentCollectionService(propertyService, rentCalculationService);
+        dealService = new DealService(propertyTransactionService);
         dealService.setGame(game);
+        cheatService = new CheatService(game.getRandom());
+        cardDeckService = new CardDeckService(messageCodec.getObjectMapper());
+        cardDeckService.setRandomSource(game.getRandom());
+        cardDeckService.init();
+        engine = createEngine();
+    }
+
+    // Rooms with the same configured seed must not roll the same dice, the room id makes them differ
+    static long roomSeed(long seed, String roomId) {
+        return seed ^ roomId.hashCode();
+    }
+
+    boolean hasPlayer(WebSocketSession session) {
+        return sessionToUserId.containsKey(session.getId());
+    }
+
+    // Removes a session that has not sent INIT yet, e.g. when it moves to another room
+    void detachSession(WebSocketSession session) {
+        sessions.remove(session);
+        deltaSessions.remove(session.getId());
     }
 
     @Override
     public void afterConnectionEstablished(@NonNull WebSocketSession session) {
         sessions.add(session);
+    }
 
-        diceManager = new DiceManager();
-        diceManager.initializeStandardDices();
+    private DiceManagerInterface createDiceManager() {
+        DiceManager dice = new DiceManager(game.getRandom());
+        dice.initializeStandardDices();
+        return dice;
     }
 
     protected void handleInitMessage(WebSocketSession session, JsonNode jsonNode) {
@@ -110,33 +216,189 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             }
 
             broadcastGameState();
+
+            JsonNode deltaState = jsonNode.get(DELTA_STATE);
+            if (deltaState != null && deltaState.asBoolean()) {
+                sendStateKeyframe(session);
+            }
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error processing INIT: {0}", e.getMessage()); //bewusst geloggt aktuell
         }
     }
 
     private void broadcastMessage(String message) {
+        broadcastFrame(OutboundFrame.text(message));
+    }
+
+    // The same frame is handed to every recipient, text and CBOR are each encoded once
+    private void broadcastFrame(OutboundFrame frame) {
+        broadcastFrame(frame, session -> true);
+    }
+
+    private void broadcastFrame(OutboundFrame frame, Predicate<WebSocketSession> recipients) {
+        long start = System.nanoTime();
+        int sent = 0;
         for (WebSocketSession session : sessions) {
             try {
-                if (session.isOpen()) {
-                    session.sendMessage(new TextMessage(message));
-                } else {
+                if (!session.isOpen()) {
                     sessions.remove(session);
+                } else if (recipients.test(session)) {
+                    frame.sendTo(session);
+                    sent++;
                 }
             } catch (Exception e) {
                 logger.log(Level.SEVERE, "Error sending message: {0}", e.getMessage());//bewusst geloggt aktuell
             }
         }
+        metrics.recordBroadcast(sent, System.nanoTime() - start);
     }
 
     void broadcastGameState() {
+        if (handlingAction) {
+            if (gameStateDirty) {
+                coalescedStateBroadcasts.incrementAndGet();
+                metrics.stateBroadcastCoalesced();
+            }
+            gameStateDirty = true;
+            return;
+        }
+        sendGameState();
+    }
+
+    /**
+     * Runs one inbound event and sends a single consolidated game state at the end,
+     * no matter how often the state was changed while handling it.
+     */
+    private void runAction(Runnable action) {
+        if (handlingAction) {
+            action.run();
+            return;
+        }
+        handlingAction = true;
         try {
-            String gameState = objectMapper.writeValueAsString(game.getPlayerInfo());
-            broadcastMessage("GAME_STATE:" + gameState);
-            broadcastMessage("PLAYER_TURN:" + game.getCurrentPlayer().getId());
+            action.run();
+        } finally {
+            handlingAction = false;
+            if (gameStateDirty) {
+                gameStateDirty = false;
+                sendGameState();
+            }
+        }
+    }
+
+    // Number of GAME_STATE broadcasts that were merged into another one of the same action
+    public long getCoalescedStateBroadcasts() {
+        return coalescedStateBroadcasts.get();
+    }
+
+    // Number of per-player bankruptcy checks skipped because the player's net worth did not drop to zero
+    public long getSkippedBankruptcyChecks() {
+        return bankruptcyTracker.getSkippedChecks();
+    }
+
+    private void sendGameState() {
+        try {
+            broadcastFrame(gameStateFrame(playerState()), this::isLegacyStateClient);
+            broadcastFrame(playerTurnFrame(), this::isLegacyStateClient);
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error broadcasting game state: {0}", e.getMessage());//bewusst geloggt aktuell
         }
+        if (!deltaSessions.isEmpty()) {
+            broadcastStateDelta();
+        }
+    }
+
+    private boolean isLegacyStateClient(WebSocketSession session) {
+        return !deltaSessions.contains(session.getId());
+    }
+
+    private boolean isDeltaStateClient(WebSocketSession session) {
+        return deltaSessions.contains(session.getId());
+    }
+
+    // Sends the changes since the last version, or a full keyframe every keyframeInterval versions
+    private void broadcastStateDelta() {
+        try {
+            GameStateTracker tracker = stateTracker();
+            GameStateDelta delta = tracker.update(playerState(), currentPropertyOwners(), currentPlayerId());
+            if (delta == null) {
+                return;
+            }
+            Object frame = tracker.isKeyframeDue() ? tracker.keyframe() : delta;
+            broadcastFrame(OutboundFrame.text(messageCodec.write(frame)), this::isDeltaStateClient);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error broadcasting game state delta: {0}", e.getMessage());
+        }
+    }
+
+    // Used on INIT with deltaState and on RESYNC: the session follows the deltas from this keyframe on
+    private void sendStateKeyframe(WebSocketSession session) {
+        broadcastStateDelta();
+        deltaSessions.add(session.getId());
+        try {
+            sendMessageToSession(session, messageCodec.write(stateTracker().keyframe()));
+        } catch (JsonProcessingException e) {
+            logger.log(Level.SEVERE, "Error serializing state keyframe: {0}", e.getMessage());
+        }
+    }
+
+    private GameStateTracker stateTracker() {
+        if (stateTracker == null) {
+            stateTracker = new GameStateTracker(keyframeInterval);
+        }
+        return stateTracker;
+    }
+
+    private String currentPlayerId() {
+        Player current = game.getCurrentPlayer();
+        return current != null ? current.getId() : null;
+    }
+
+    private Map<Integer, String> currentPropertyOwners() {
+        Map<Integer, String> owners = new HashMap<>();
+        if (propertyService != null) {
+            addOwners(owners, propertyService.getHouseableProperties());
+            addOwners(owners, propertyService.getTrainStations());
+            addOwners(owners, propertyService.getUtilities());
+        }
+        return owners;
+    }
+
+    private static void addOwners(Map<Integer, String> owners, List<? extends BaseProperty> properties) {
+        if (properties == null) {
+            return;
+        }
+        for (BaseProperty property : properties) {
+            if (property.getOwnerId() != null) {
+                owners.put(property.getId(), property.getOwnerId());
+            }
+        }
+    }
+
+    // Snapshot of the players, only rebuilt when a player changed since the last one
+    private List<PlayerInfo> playerState() {
+        if (!game.matchesPlayerInfo(playerState)) {
+            playerState = game.getPlayerInfo();
+        }
+        return playerState;
+    }
+
+    // Only re-serializes the player list if it is a new snapshot
+    private OutboundFrame gameStateFrame(List<PlayerInfo> state) throws JsonProcessingException {
+        if (lastGameStateFrame == null || state != lastGameState) {
+            lastGameStateFrame = OutboundFrame.text(MessageCodec.GAME_STATE_PREFIX + messageCodec.writePlayers(state));
+            lastGameState = state;
+        }
+        return lastGameStateFrame;
+    }
+
+    private OutboundFrame playerTurnFrame() {
+        String currentPlayerId = game.getCurrentPlayer().getId();
+        if (lastPlayerTurnFrame == null || !currentPlayerId.equals(lastPlayerTurnId)) {
+            lastPlayerTurnFrame = OutboundFrame.text(MessageCodec.PLAYER_TURN_PREFIX + currentPlayerId);
+            lastPlayerTurnId = currentPlayerId;
+        }
+        return lastPlayerTurnFrame;
     }
 
     private void sendMessageToSession(WebSocketSession session, String message) {
@@ -151,16 +413,21 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
+        runAction(() -> handleConnectionClosed(session));
+    }
+
+    private void handleConnectionClosed(WebSocketSession session) {
         String userId = sessionToUserId.get(session.getId());
         if (userId != null) {
             game.removePlayer(userId);
             sessionToUserId.remove(session.getId());
             broadcastMessage("Player left: " + userId + " (Total: " + sessions.size() + ")");
             broadcastGameState();
-            checkAllPlayersForBankruptcy();
+            checkBankruptcies();
             logger.log(Level.INFO, "Player disconnected: {0}", userId);//bewusst geloggt aktuell
         }
         sessions.remove(session);
+        deltaSessions.remove(session.getId());
     }
 
     //*******************************************************************************//
@@ -168,8 +435,11 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     //*******************************************************************************//
     private void startGame() {
         try {
-            String gameState = objectMapper.writeValueAsString(game.getPlayerInfo());
-            broadcastMessage("GAME_STATE:" + gameState);
+            // Delta clients keep following their keyframe, only legacy clients get the full state
+            broadcastFrame(gameStateFrame(playerState()), this::isLegacyStateClient);
+            if (!deltaSessions.isEmpty()) {
+                broadcastStateDelta();
+            }
             broadcastMessage("Game started! " + sessions.size() + " players are connected.");
             logger.log(Level.INFO, "Game started with {0} players!", sessions.size());//bewusst geloggt aktuell
             game.start();
@@ -178,9 +448,8 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleTaxPayment(String payload, String userId) {
+    private void handleTaxPayment(TaxPaymentMessage taxMsg, String payload, String userId) {
         try {
-            TaxPaymentMessage taxMsg = objectMapper.readValue(payload, TaxPaymentMessage.class);
             logger.info(PLAYER_PREFIX + taxMsg.getPlayerId()
                     + " has to pay taxes"); //bewusst geloggt aktuell
 
@@ -188,7 +457,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
                 game.updatePlayerMoney(userId, -taxMsg.getAmount());
                 broadcastMessage(payload);
                 broadcastGameState();
-                checkAllPlayersForBankruptcy();
+                checkBankruptcies();
             }
         } catch (Exception e) {
             logger.log(Level.WARNING, "Error processing tax payment message: {0}", e.getMessage());//bewusst geloggt aktuell
@@ -205,9 +474,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
 
             logger.log(Level.INFO, "Player {0} manually rolled {1}", new Object[]{userId, manualRoll});//bewusst geloggt aktuell
 
-            DiceRollMessage drm = new DiceRollMessage(userId, manualRoll, true, false);
-            String json = objectMapper.writeValueAsString(drm);
-            broadcastMessage(json);
+            broadcastDiceRoll(userId, manualRoll, true, false);
 
 
             if (game.updatePlayerPosition(manualRoll, userId)) {
@@ -215,11 +482,9 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             }
 
             broadcastGameState();
-            checkAllPlayersForBankruptcy();
+            checkBankruptcies();
         } catch (NumberFormatException e) {
             sendMessageToSession(session, createJsonError("Invalid manual roll format. Please provide a number between 1 and 39."));
-        } catch (JsonProcessingException e) {
-            throw new JsonDeserializationException("Fehler beim Deserialisieren des JSON-Objekts", e);
         }
     }
 
@@ -228,51 +493,26 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             int amount = Integer.parseInt(payload.substring("UPDATE_MONEY:".length()));
             game.updatePlayerMoney(userId, amount);
             broadcastGameState();
-            checkAllPlayersForBankruptcy();
+            checkBankruptcies();
         } catch (NumberFormatException e) {
             logger.log(Level.SEVERE, "Invalid money update format: {0}", sanitizeForLog(payload));//bewusst geloggt aktuell
         }
     }
 
-    private void handleDiceRoll(WebSocketSession session, String userId) throws JsonProcessingException {
-        if (!game.isPlayerTurn(userId)) {
-            sendMessageToSession(session, createJsonError("Not your turn!"));
-            return;
-        }
-        Player player = game.getPlayerById(userId).orElse(null);
-        if (player == null) return;
-
-        if (player.isInJail()) {
-            sendMessageToSession(session,
+    private void handleDiceRoll(WebSocketSession session, String userId) {
+        switch (engine.checkRoll(userId)) {
+            case NOT_YOUR_TURN -> sendMessageToSession(session, createJsonError("Not your turn!"));
+            case IN_JAIL -> sendMessageToSession(session,
                     createJsonError("You are in jail and cannot roll. End your turn."));
-            return;
-        }
-
-        if (player.hasRolledThisTurn()) {
-            sendMessageToSession(session, createJsonError("You already rolled this turn."));
-            return;
-        }
-
-        int roll = diceManager.rollDices();
-        boolean isPasch = diceManager.isPasch();
-        if (logger.isLoggable(Level.INFO)) {
-            logger.info(String.format("Spieler %s hat geworfen: %s | Pasch: %s",
-                    userId,
-                    diceManager.getLastRollValues().toString(),
-                    isPasch));
-        }
-        player.setHasRolledThisTurn(!isPasch);
-        logger.log(Level.INFO, "Player {0} rolled {1}", new Object[]{userId, roll});//bewusst geloggt aktuell
-
-        DiceRollMessage drm = new DiceRollMessage(userId, roll, false, isPasch);
-        String json = objectMapper.writeValueAsString(drm);
-        broadcastMessage(json);
-
-        // Update Position and broadcast Game-State:
-        if (game.updatePlayerPosition(roll, userId)) {
-            broadcastMessage(PLAYER_PREFIX + userId + " passed GO and collected €200");
+            case ALREADY_ROLLED -> sendMessageToSession(session, createJsonError("You already rolled this turn."));
+            case ALLOWED -> {
+                Player player = game.getPlayer(userId);
+                // Update Position and broadcast Game-State:
+                engine.rollAndMove(player, diceManager, clientEvents);
+                handlePlayerLanding(player);
+            }
+            case UNKNOWN_PLAYER -> logger.log(Level.WARNING, "Roll from unknown player {0}", userId);
         }
-        handlePlayerLanding(player);
     }
 
     private void handleBuyProperty(WebSocketSession session, String userId, String payload) {
@@ -286,21 +526,17 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             }
             Player player = playerOpt.get();
 
-            if (propertyTransactionService.canBuyProperty(player, propertyId)) {
-                boolean success = propertyTransactionService.buyProperty(player, propertyId);
-                if (success) {
-                    broadcastMessage(createJsonMessage(PLAYER_PREFIX + userId + BOUGHT_PROPERTY_MSG + propertyId));
-                    broadcastGameState();
-                    checkAllPlayersForBankruptcy();
-                } else {
-                    sendMessageToSession(session, createJsonError("Failed to buy property due to server error."));
-                }
+            GameEngine.BuyResult result = engine.buyProperty(player, propertyId);
+            if (result == GameEngine.BuyResult.BOUGHT) {
+                broadcastMessage(createJsonMessage(PLAYER_PREFIX + userId + BOUGHT_PROPERTY_MSG + propertyId));
+                broadcastGameState();
+                checkBankruptcies();
+            } else if (result == GameEngine.BuyResult.FAILED) {
+                sendMessageToSession(session, createJsonError("Failed to buy property due to server error."));
+            } else if (!game.isPlayerTurn(userId)) {
+                sendMessageToSession(session, createJsonError("Cannot buy property - it's not your turn."));
             } else {
-                if (!game.isPlayerTurn(userId)) {
-                    sendMessageToSession(session, createJsonError("Cannot buy property - it's not your turn."));
-                } else {
-                    sendMessageToSession(session, createJsonError("Cannot buy property (insufficient funds or already owned)."));
-                }
+                sendMessageToSession(session, createJsonError("Cannot buy property (insufficient funds or already owned)."));
             }
         } catch (NumberFormatException e) {
             sendMessageToSession(session, createJsonError("Invalid property ID format."));
@@ -309,12 +545,11 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleSellProperty(WebSocketSession session, String payload, String userId) {
+    // jsonNode is null for the "SELL_PROPERTY:<id>" text command
+    private void handleSellProperty(WebSocketSession session, String userId, JsonNode jsonNode, String payload) {
         try {
             int propertyId;
-            // Check if the payload is in JSON format
-            if (payload.contains("\"type\":\"SELL_PROPERTY\"")) {
-                JsonNode jsonNode = objectMapper.readTree(payload);
+            if (jsonNode != null) {
                 propertyId = jsonNode.get("propertyId").asInt();
             } else {
                 // Handle string format
@@ -331,7 +566,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             if (propertyTransactionService.sellProperty(player, propertyId)) {
                 broadcastMessage(createJsonMessage(PLAYER_PREFIX + userId + " sold property " + propertyId));
                 broadcastGameState();
-                checkAllPlayersForBankruptcy();
+                checkBankruptcies();
             } else {
                 sendMessageToSession(session, createJsonError("Cannot sell property (not owned by player)."));
             }
@@ -343,7 +578,10 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     }
 
     void handleCheatMessage(String payload, String userId) throws JsonProcessingException {
-        CheatCodeMessage cheatCodeMessage = objectMapper.readValue(payload, CheatCodeMessage.class);
+        handleCheatMessage(messageCodec.read(payload, CheatCodeMessage.class), payload, userId);
+    }
+
+    private void handleCheatMessage(CheatCodeMessage cheatCodeMessage, String payload, String userId) {
         String cheatCode = cheatCodeMessage.getMessage();
         Optional<Player> optionalPlayer = game.getPlayerById(userId);
         if (optionalPlayer.isPresent()) {
@@ -352,7 +590,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
                 int amount = cheatService.getAmount(cheatCode, player.getMoney());
                 game.updatePlayerMoney(userId, amount);
                 broadcastGameState();
-                checkAllPlayersForBankruptcy();
+                checkBankruptcies();
             } catch (NumberFormatException e) {
                 logger.log(Level.SEVERE, "Invalid money update format: {0}", sanitizeForLog(payload));
             }
@@ -399,7 +637,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         try {
             // Erstellen einer ClearChatMessage
             ClearChatMessage clearChatMessage = new ClearChatMessage();
-            String clearChatJson = objectMapper.writeValueAsString(clearChatMessage);
+            String clearChatJson = messageCodec.write(clearChatMessage);
 
             // Senden der Nachricht an alle Clients
             broadcastMessage(clearChatJson);
@@ -407,9 +645,9 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             logger.info("Sent chat clear signal to all clients");
 
             // Send a message to the client: Server is setting up a new game
-            ObjectNode resetMsg = objectMapper.createObjectNode();
+            ObjectNode resetMsg = messageCodec.getObjectMapper().createObjectNode();
             resetMsg.put("type", "RESET");
-            broadcastMessage(objectMapper.writeValueAsString(resetMsg));
+            broadcastJson(resetMsg);
 
             // Clear out the game state
             resetGame();
@@ -422,17 +660,18 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     }
 
     private void resetGame() {
-        game.getPlayers().clear();
+        game.clearPlayers();
+        // Clients got RESET, a pending state of the old game must not be sent anymore
+        gameStateDirty = false;
 
         // New INITs will now be accepted
         sessionToUserId.clear();
 
-        diceManager = new DiceManager();
-        diceManager.initializeStandardDices();
+        diceManager = createDiceManager();
 
-        // Wieder JSON init für neue Runde
+        // Brett für neue Runde zurücksetzen, die Daten aus propertyData.json bleiben geladen
         try {
-            propertyService.init();
+            propertyService.reset();
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Failed to reset property state: {0}", e.getMessage());
         }
@@ -464,7 +703,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         // Broadcast a GIVE_UP message
         try {
             GiveUpMessage giveUpMsg = new GiveUpMessage(quittingUserId);
-            String json = objectMapper.writeValueAsString(giveUpMsg);
+            String json = messageCodec.write(giveUpMsg);
             broadcastMessage(json);
         } catch (JsonProcessingException e) {
             logger.log(Level.SEVERE, "Error serializing GIVE_UP for {0}: {1}",
@@ -476,7 +715,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
             String winnerId = game.getPlayers().get(0).getId();
             try {
                 HasWonMessage win = new HasWonMessage(winnerId);
-                String winJson = objectMapper.writeValueAsString(win);
+                String winJson = messageCodec.write(win);
                 broadcastMessage(winJson);
             } catch (JsonProcessingException e) {
                 logger.log(Level.SEVERE, "Error serializing HAS_WON: {0}", e.getMessage());
@@ -487,7 +726,7 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         }
 
         broadcastGameState();
-        checkAllPlayersForBankruptcy();
+        checkBankruptcies();
     }
 
     private void handleKickVote(WebSocketSession session, String payload, String voterId) {
@@ -534,93 +773,99 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
 
     private void handlePlayerLanding(Player player) {
         try {
-
-            int position = player.getPosition();
-
-            // Check for tax squares
-            if (position == 30) {
-                game.sendToJail(player.getId());
-                broadcastMessage(PLAYER_PREFIX + player.getId() + " goes to jail!");
-            }
-            else if (position == 4) {  // Einkommensteuer
-                game.updatePlayerMoney(player.getId(), -200);  // Deduct money first
-                TaxPaymentMessage taxMsg = new TaxPaymentMessage(player.getId(), 200, "EINKOMMENSTEUER");
-                String jsonTax = objectMapper.writeValueAsString(taxMsg);
-                broadcastMessage(jsonTax);
-            } else if (position == 38) {  // Zusatzsteuer
-                game.updatePlayerMoney(player.getId(), -100);  // Deduct money first
-                TaxPaymentMessage taxMsg = new TaxPaymentMessage(player.getId(), 100, "ZUSATZSTEUER");
-                String jsonTax = objectMapper.writeValueAsString(taxMsg);
-                broadcastMessage(jsonTax);
-            }
-            // Check for property and collect rent if applicable
-            BaseProperty property = propertyService.getPropertyByPosition(position);
-            if (property != null) {
-                // Get the property owner first
-                Player owner = game.getPlayerById(property.getOwnerId()).orElse(null);
-                if (owner != null) {
-                    // Calculate rent amount
-                    int rentAmount = rentCalculationService.calculateRent(property, owner, player);
-
-                    // Create and broadcast rent payment message
-                    RentPaymentMessage rentMsg = new RentPaymentMessage(
-                            player.getId(),
-                            owner.getId(),
-                            property.getId(),
-                            property.getName(),
-                            rentAmount
-                    );
-                    String jsonRent = objectMapper.writeValueAsString(rentMsg);
-                    broadcastMessage(jsonRent);
-
-                    // Now try to collect the rent
-                    boolean rentCollected = rentCollectionService.collectRent(player, property, owner);
-                    if (rentCollected) {
-                        logger.log(Level.INFO, "Rent of {0} collected from player {1} for property {2}",
-                                new Object[]{rentAmount, player.getId(), property.getName()});
-                    } else {
-                        logger.warning("Failed to collect rent for property " + property.getName());
-                    }
-                }
-            }
-
+            engine.land(player, clientEvents);
             broadcastGameState();
-            checkAllPlayersForBankruptcy();
+            checkBankruptcies();
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error handling player landing: {0}", e.getMessage());
         }
     }
 
+    private GameEngine createEngine() {
+        return new GameEngine(game, propertyService, propertyTransactionService,
+                rentCalculationService, rentCollectionService);
+    }
 
+    GameEngine engine() {
+        return engine;
+    }
 
-    //*******************************************************************************//
-    // ------------------ WebSocketHelper  ------------------ //
-    //*******************************************************************************//
+    // Sends what the engine did to the players of this room
+    private final class ClientEvents implements GameEventListener {
+        @Override
+        public void diceRolled(Player player, int roll, boolean pasch) {
+            // Parameters are only built when the line is really logged
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Spieler {0} hat geworfen: {1} = {2} | Pasch: {3}",
+                        new Object[]{player.getId(), diceManager.getLastRollValues(), roll, pasch});
+            }
+            broadcastDiceRoll(player.getId(), roll, false, pasch);
+        }
 
-    // Helper method to calculate the value of all owned properties
-    private int sumLiquidationValueOfOwnedProperties(String playerId) {
-        int total = 0;
+        @Override
+        public void passedGo(Player player) {
+            broadcastMessage(PLAYER_PREFIX + player.getId() + " passed GO and collected €200");
+        }
 
-        // Houseable properties
-        for (HouseableProperty p : propertyService.getHouseableProperties()) {
-            if (playerId.equals(p.getOwnerId())) {
-                total += p.getPurchasePrice() / 2;
-            }
+        @Override
+        public void sentToJail(Player player) {
+            broadcastMessage(PLAYER_PREFIX + player.getId() + " goes to jail!");
         }
-        // Train stations
-        for (TrainStation ts : propertyService.getTrainStations()) {
-            if (playerId.equals(ts.getOwnerId())) {
-                total += ts.getPurchasePrice() / 2;
-            }
+
+        @Override
+        public void releasedFromJail(Player player) {
+            broadcastMessage(PLAYER_PREFIX + player.getId() + " is released from jail!");
+        }
+
+        @Override
+        public void taxPaid(Player player, int amount, String taxType) {
+            broadcastJson(new TaxPaymentMessage(player.getId(), amount, taxType));
         }
-        // Utilities
-        for (Utility u : propertyService.getUtilities()) {
-            if (playerId.equals(u.getOwnerId())) {
-                total += u.getPurchasePrice() / 2;
+
+        @Override
+        public void rentDue(Player renter, Player owner, BaseProperty property, int amount) {
+            broadcastJson(new RentPaymentMessage(renter.getId(), owner.getId(), property.getId(),
+                    property.getName(), amount));
+        }
+
+        @Override
+        public void rentCollected(Player renter, Player owner, BaseProperty property, int amount, boolean collected) {
+            if (collected) {
+                logger.log(Level.INFO, "Rent of {0} collected from player {1} for property {2}",
+                        new Object[]{amount, renter.getId(), property.getName()});
+            } else {
+                logger.warning("Failed to collect rent for property " + property.getName());
             }
         }
+    }
+
+    private void broadcastDiceRoll(String playerId, int roll, boolean manual, boolean pasch) {
+        try {
+            broadcastMessage(diceRollEncoder.encode(playerId, roll, manual, pasch));
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Error serializing DiceRollMessage: {0}", e.getMessage());
+        }
+    }
+
+    // Serialized through the cached writer of the shared codec
+    private void broadcastJson(Object message) {
+        try {
+            broadcastMessage(messageCodec.write(message));
+        } catch (JsonProcessingException e) {
+            logger.log(Level.SEVERE, "Error serializing {0}: {1}",
+                    new Object[]{message.getClass().getSimpleName(), e.getMessage()});
+        }
+    }
+
+
 
-        return total;
+    //*******************************************************************************//
+    // ------------------ WebSocketHelper  ------------------ //
+    //*******************************************************************************//
+
+    // Helper method to calculate the value of all owned properties
+    private int sumLiquidationValueOfOwnedProperties(String playerId) {
+        return engine.liquidationValue(playerId);
     }
 
     private WebSocketSession findSessionByPlayerId(String playerId) {
@@ -637,38 +882,58 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
         return null;
     }
 
+    // Checks only the players whose net worth dropped to zero or below since the last check
+    void checkBankruptcies() {
+        if (!bankruptcyTracker.attach(game, propertyService.getOwnershipIndex())) {
+            // Changes before this point were not tracked
+            checkAllPlayersForBankruptcy();
+            return;
+        }
+        List<String> candidates = bankruptcyTracker.drainCandidates();
+        int skipped = game.getPlayers().size() - candidates.size();
+        bankruptcyTracker.recordSkipped(skipped);
+        metrics.bankruptcyChecks(0, candidates.size(), Math.max(0, skipped));
+        for (String pid : candidates) {
+            Player p = game.getPlayer(pid);
+            if (p != null) {
+                checkPlayerForBankruptcy(p);
+            }
+        }
+    }
+
     // Helper method to check if any player is bankrupt
-    private void checkAllPlayersForBankruptcy() {
+    void checkAllPlayersForBankruptcy() {
         // Copy of the players list
         List<Player> snapshot = new ArrayList<>(game.getPlayers());
+        metrics.bankruptcyChecks(snapshot.size(), 0, 0);
 
         for (Player p : snapshot) {
-            String pid = p.getId();
-
-            // Net worth: cash + sum(property)
-            int cash = p.getMoney();
-            int assets = sumLiquidationValueOfOwnedProperties(pid);
-            int netWorth = cash + assets;
-
-            if (netWorth <= 0) {
-                logger.log(Level.INFO, "Player {0} is bankrupt (net worth {1}). Forcing GIVE_UP.",
-                        new Object[]{ pid, netWorth });
-
-                // Broadcast an IS_BANKRUPT
-                try {
-                    ObjectNode bankruptNotice = objectMapper.createObjectNode();
-                    bankruptNotice.put("type", "IS_BANKRUPT");
-                    bankruptNotice.put(USERID, pid);
-                    broadcastMessage(objectMapper.writeValueAsString(bankruptNotice));
-                } catch (JsonProcessingException e) {
-                    logger.log(Level.SEVERE, "Error serializing IS_BANKRUPT for {0}: {1}",
-                            new Object[]{ pid, e.getMessage() });
-                }
+            checkPlayerForBankruptcy(p);
+        }
+    }
 
-                int playedDuration = game.getDurationPlayed();
-                // Process GIVE_UP
-                processPlayerGiveUp(pid, playedDuration, p.getMoney());
-            }
+    private void checkPlayerForBankruptcy(Player p) {
+        String pid = p.getId();
+
+        // Net worth: cash + sum(property)
+        int cash = p.getMoney();
+        int assets = sumLiquidationValueOfOwnedProperties(pid);
+        int netWorth = cash + assets;
+
+        if (netWorth <= 0) {
+            logger.log(Level.INFO, "Player {0} is bankrupt (net worth {1}). Forcing GIVE_UP.",
+                    new Object[]{ pid, netWorth });
+            metrics.bankruptcy();
+
+            // Broadcast an IS_BANKRUPT
+            ObjectNode bankruptNotice = messageCodec.getObjectMapper().createObjectNode();
+            bankruptNotice.put("type", "IS_BANKRUPT");
+            bankruptNotice.put(USERID, pid);
+            broadcastJson(bankruptNotice);
+
+            int playedDuration = game.getDurationPlayed();
+            // Process GIVE_UP
+            processPlayerGiveUp(pid, playedDuration, p.getMoney());
         }
     }
 
@@ -705,272 +970,262 @@ public class GameWebSocketHandler extends TextWebSocketHandler {
     //*******************************************************************************//
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        long start = System.nanoTime();
+        inboundType = GameMetrics.UNKNOWN_TYPE;
+        try {
+            runAction(() -> dispatchTextMessage(session, message));
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            metrics.recordMessage(inboundType, elapsed);
+            latencyHistograms.record(inboundType, elapsed);
+        }
+    }
+
+    private void dispatchTextMessage(WebSocketSession session, TextMessage message) {
         String payload = message.getPayload();
-        String sessionId = session.getId();
+        String userId = sessionToUserId.get(session.getId());
 
-        try {
-            // Zuerst INIT-Check
-            JsonNode jsonNode = objectMapper.readTree(payload);
-            if (jsonNode.has("type")) {
-                String type = jsonNode.get("type").asText();
-                if ("INIT".equals(type)) {
-                    handleInitMessage(session, jsonNode);
-                    return;
-                } else if ("END_GAME".equals(type)) {
-                    handleEndGame();
-                    return;
-                } else if ("GIVE_UP".equals(type)) {
-                    handleGiveUpFromClient(session, jsonNode);
-                    return;
-                } else if ("SELL_PROPERTY".equals(type)) {
-                    String userId = sessionToUserId.get(sessionId);
-                    if (userId != null) {
-                        handleSellProperty(session, payload, userId);
-                    }
+        try (MessageEnvelope envelope = MessageEnvelope.read(messageCodec, payload)) {
+            MessageDispatcher.TypeRoute<?> route = envelope != null ? dispatcher.routeForType(envelope.getType()) : null;
+            if (route != null) {
+                inboundType = envelope.getType();
+            }
+
+            if ((route == null || route.requiresInit()) && userId == null) {
+                sendMessageToSession(session, createJsonError("Send INIT message first"));
+                return;
+            }
+
+            try {
+                if (route != null) {
+                    route.dispatch(session, userId, envelope, payload);
                     return;
                 }
+                MessageDispatcher.CommandHandler command = dispatcher.routeForCommand(payload);
+                if (command != null) {
+                    inboundType = dispatcher.commandName(command);
+                    command.handle(session, userId, payload);
+                } else {
+                    handleUnknownMessage(payload, userId);
+                }
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Error handling message from player {0}: {1}", new Object[]{userId, e.getMessage()});//bewusst geloggt aktuell
+                sendMessageToSession(session, createJsonError("Server error processing your request."));
             }
-        } catch (IOException e) {
-            // Kein JSON, normal weiter
         }
+    }
 
-        String userId = sessionToUserId.get(sessionId);
-        if (userId == null) {
-            sendMessageToSession(session, createJsonError("Send INIT message first"));
-            return;
+    private MessageDispatcher createDispatcher() {
+        return new MessageDispatcher()
+                .onTypeBeforeInit("INIT", JsonNode.class, (session, userId, json, payload) -> handleInitMessage(session, json))
+                .onTypeBeforeInit("END_GAME", MessageDispatcher.NO_BODY, (session, userId, none, payload) -> handleEndGame())
+                .onTypeBeforeInit("GIVE_UP", JsonNode.class, (session, userId, json, payload) -> handleGiveUpFromClient(session, json))
+                .onTypeBeforeInit("SELL_PROPERTY", JsonNode.class, (session, userId, json, payload) -> {
+                    if (userId != null) {
+                        handleSellProperty(session, userId, json, payload);
+                    }
+                })
+                .onType("RESYNC", MessageDispatcher.NO_BODY, (session, userId, none, payload) -> sendStateKeyframe(session))
+                .onType("SHAKE_REQUEST", ShakeMessage.class, this::handleShakeRequest)
+                .onType("CHEAT_MESSAGE", CheatCodeMessage.class, this::handleCheatRequest)
+                .onType("CHAT_MESSAGE", ChatMessage.class, this::handleChatMessage)
+                .onType("TAX_PAYMENT", TaxPaymentMessage.class, (session, userId, tax, payload) -> handleTaxPayment(tax, payload, userId))
+                .onType("RENT_PAYMENT", RentPaymentMessage.class, this::handleRentPayment)
+                .onType("PULL_CARD", PullCardMessage.class, this::handlePullCard)
+                .onType("DEAL_PROPOSAL", DealProposalMessage.class, this::handleDealProposal)
+                .onType("DEAL_RESPONSE", DealResponseMessage.class, this::handleDealResponse)
+                .onType("COUNTER_OFFER", CounterProposalMessage.class, this::handleCounterOffer)
+                .onCommandIgnoreCase("Roll", (session, userId, payload) -> handleDiceRoll(session, userId))
+                .onCommand("NEXT_TURN", (session, userId, payload) -> handleNextTurn(session, userId))
+                .onPrefix("MANUAL_ROLL:", (session, userId, payload) -> handleManualRoll(payload, userId, session))
+                .onPrefix("UPDATE_MONEY:", (session, userId, payload) -> handleUpdateMoney(payload, userId))
+                .onPrefix("BUY_PROPERTY:", (session, userId, payload) -> handleBuyProperty(session, userId, payload))
+                .onPrefix("SELL_PROPERTY:", (session, userId, payload) -> handleSellProperty(session, userId, null, payload));
+    }
+
+    private void handleShakeRequest(WebSocketSession session, String userId, ShakeMessage shake, String payload) {
+        try {
+            logger.log(Level.INFO, "Player {0} has shaken his device", shake.getPlayerId());
+            // Send a normal roll dice message:
+            handleDiceRoll(session, userId);
+        } catch (Exception ex) {
+            logger.log(Level.WARNING,
+                    "Error parsing SHAKE_MESSAGE from payload: {0}", ex.getMessage());
         }
+    }
 
-        // Shake message parsing:
-        if (payload.contains("\"type\":\"SHAKE_REQUEST\"")) {
-            try {
-                ShakeMessage shake = objectMapper.readValue(payload, ShakeMessage.class);
+    private void handleCheatRequest(WebSocketSession session, String userId, CheatCodeMessage cheat, String payload) {
+        logger.log(Level.INFO, "Received cheat message from player {0}", userId);//bewusst geloggt aktuell
+        broadcastMessage(payload);
+        handleCheatMessage(cheat, payload, userId);
+    }
 
-                logger.log(Level.INFO, "Player {0} has shaken his device", shake.getPlayerId());
-                // Send a normal roll dice message:
-                handleDiceRoll(session, userId);
-            } catch (Exception ex) {
-                logger.log(Level.WARNING,
-                        "Error parsing SHAKE_MESSAGE from payload: {0}", ex.getMessage());
-            }
-            return;
+    private void handleChatMessage(WebSocketSession session, String userId, ChatMessage chat, String payload) {
+        // Enthält die Nachricht KICK am Beginn?
+        if (chat.getMessage().startsWith("KICK ")) {
+            logger.log(Level.INFO, "Received kick request from {0}: {1}", new Object[]{userId, chat.getMessage()});
+            handleKickVote(session, chat.getMessage(), userId);
+        } else {
+            // Sonst: Normale Chat-Nachricht
+            broadcastMessage(payload);
         }
+    }
 
+    private void handleRentPayment(WebSocketSession session, String userId, RentPaymentMessage rentMsg, String payload) {
         try {
-            if (payload.contains("\"type\":\"CHEAT_MESSAGE\"")) {
-                logger.log(Level.INFO, "Received cheat message from player {0}", userId);//bewusst geloggt aktuell
-                broadcastMessage(payload);
-                handleCheatMessage(payload, userId);
+            logger.info("Processing rent payment for property " + rentMsg.getPropertyId());
+
+            // Get the property
+            BaseProperty property = propertyTransactionService.findPropertyById(rentMsg.getPropertyId());
+            if (property == null) {
+                logger.warning("Property not found for ID: " + rentMsg.getPropertyId());
                 return;
             }
-            if (payload.contains("\"type\":\"CHAT_MESSAGE\"")) {
-                ChatMessage chat = objectMapper.readValue(payload, ChatMessage.class);
 
-                // Enthält die Nachricht KICK am Beginn?
-                if (chat.getMessage().startsWith("KICK ")) {
-                    logger.log(Level.INFO, "Received kick request from {0}: {1}", new Object[]{userId, chat.getMessage()});
-                    handleKickVote(session, chat.getMessage(), userId);
-                } else {
-                    // Sonst: Normale Chat-Nachricht
-                    broadcastMessage(payload);
-                }
+            // Get the players involved
+            Player renter = game.getPlayerById(rentMsg.getPlayerId()).orElse(null);
+            if (renter == null) {
+                logger.warning("Renter not found: " + rentMsg.getPlayerId());
                 return;
             }
-            if (payload.contains("\"type\":\"TAX_PAYMENT\"")) {
-                handleTaxPayment(payload, userId);
+
+            // Get the property owner
+            Player owner = game.getPlayerById(property.getOwnerId()).orElse(null);
+            if (owner == null) {
+                logger.warning("Property owner not found for property: " + property.getName());
                 return;
             }
-            if (payload.contains("\"type\":\"RENT_PAYMENT\"")) {
-                try {
-                    RentPaymentMessage rentMsg = objectMapper.readValue(payload, RentPaymentMessage.class);
-                    logger.info("Processing rent payment for property " + rentMsg.getPropertyId());
-                    
-                    // Get the property
-                    BaseProperty property = propertyTransactionService.findPropertyById(rentMsg.getPropertyId());
-                    if (property == null) {
-                        logger.warning("Property not found for ID: " + rentMsg.getPropertyId());
-                        return;
-                    }
 
-                    // Get the players involved
-                    Player renter = game.getPlayerById(rentMsg.getPlayerId()).orElse(null);
-                    if (renter == null) {
-                        logger.warning("Renter not found: " + rentMsg.getPlayerId());
-                        return;
-                    }
+            // Calculate rent amount
+            int rentAmount = rentCalculationService.calculateRent(property, owner, renter);
+            logger.info("Calculated rent amount: " + rentAmount + " for property " + property.getName());
+
+            // Create complete rent payment message
+            RentPaymentMessage completeRentMsg = new RentPaymentMessage(
+                renter.getId(),
+                owner.getId(),
+                property.getId(),
+                property.getName(),
+                rentAmount
+            );
+            String jsonRent = messageCodec.write(completeRentMsg);
+            broadcastMessage(jsonRent);
+            checkBankruptcies();
+            // Process the rent collection
+            boolean rentCollected = rentCollectionService.collectRent(renter, property, owner);
+            if (rentCollected) {
+                logger.info("Rent of " + rentAmount + " collected from player " + renter.getId() +
+                    " for property " + property.getName());
+                broadcastGameState();
+                checkBankruptcies();
+            } else {
+                logger.warning("Failed to collect rent for property " + property.getName());
+            }
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Error processing rent payment message: {0}", e.getMessage());
+        }
+    }
 
-                    // Get the property owner
-                    Player owner = game.getPlayerById(property.getOwnerId()).orElse(null);
-                    if (owner == null) {
-                        logger.warning("Property owner not found for property: " + property.getName());
-                        return;
-                    }
+    private void handlePullCard(WebSocketSession session, String userId, PullCardMessage pull, String payload)
+            throws JsonProcessingException {
+        logger.info(PLAYER_PREFIX + pull.getPlayerId()
+                + " requested a " + pull.getCardType() + " card");//bewusst geloggt aktuell
 
-                    // Calculate rent amount
-                    int rentAmount = rentCalculationService.calculateRent(property, owner, renter);
-                    logger.info("Calculated rent amount: " + rentAmount + " for property " + property.getName());
-
-                    // Create complete rent payment message
-                    RentPaymentMessage completeRentMsg = new RentPaymentMessage(
-                        renter.getId(),
-                        owner.getId(),
-                        property.getId(),
-                        property.getName(),
-                        rentAmount
-                    );
-                    String jsonRent = objectMapper.writeValueAsString(completeRentMsg);
-                    broadcastMessage(jsonRent);
-                    checkAllPlayersForBankruptcy();
-                    // Process the rent collection
-                    boolean rentCollected = rentCollectionService.collectRent(renter, property, owner);
-                    if (rentCollected) {
-                        logger.info("Rent of " + rentAmount + " collected from player " + renter.getId() + 
-                            " for property " + property.getName());
-                        broadcastGameState();
-                        checkAllPlayersForBankruptcy();
-                    } else {
-                        logger.warning("Failed to collect rent for property " + property.getName());
-                    }
-                } catch (Exception e) {
-                    logger.log(Level.SEVERE, "Error processing rent payment message: {0}", e.getMessage());
-                }
-                return;
-            }
-            if (payload.contains("\"type\":\"PULL_CARD\"")) {
-                PullCardMessage pull = objectMapper.readValue(payload, PullCardMessage.class);
-                logger.info(PLAYER_PREFIX + pull.getPlayerId()
-                        + " requested a " + pull.getCardType() + " card");//bewusst geloggt aktuell
-
-                model.cards.CardType deckType = model.cards.CardType.valueOf(pull.getCardType());
-                model.cards.Card card = cardDeckService.drawCard(deckType);
-
-                if (pull.getPlayerId().equals(userId)) {
-                    card.apply(game, pull.getPlayerId());
-
-                    DrawnCardMessage reply = new DrawnCardMessage(
-                            pull.getPlayerId(),
-                            pull.getCardType(),
-                            card
-                    );
-                    String jsonReply = objectMapper.writeValueAsString(reply);
-                    sendMessageToSession(session, jsonReply);
-                    logger.info(PLAYER_PREFIX + pull.getPlayerId() + " received a drawn card");//bewusst geloggt aktuell
-                    broadcastGameState();
-                    checkAllPlayersForBankruptcy();
-                }
-                return;
-            }
+        model.cards.CardType deckType = model.cards.CardType.valueOf(pull.getCardType());
+        model.cards.Card card = cardDeckService.drawCard(deckType);
 
-            if (payload.contains("\"type\":\"DEAL_PROPOSAL\"")) {
-                DealProposalMessage deal = objectMapper.readValue(payload, DealProposalMessage.class);
-                logger.info("Received deal proposal from " + deal.getFromPlayerId());
-                dealService.saveProposal(deal);
+        if (pull.getPlayerId().equals(userId)) {
+            card.apply(game, pull.getPlayerId());
 
-                WebSocketSession targetSession = findSessionByPlayerId(deal.getToPlayerId());
-                if (targetSession != null) {
-                    sendMessageToSession(targetSession, payload);
-                } else {
-                    logger.warning("Target player session not found for deal proposal");
-                }
-                return;
-            }
+            DrawnCardMessage reply = new DrawnCardMessage(
+                    pull.getPlayerId(),
+                    pull.getCardType(),
+                    card
+            );
+            String jsonReply = messageCodec.write(reply);
+            sendMessageToSession(session, jsonReply);
+            logger.info(PLAYER_PREFIX + pull.getPlayerId() + " received a drawn card");//bewusst geloggt aktuell
+            broadcastGameState();
+            checkBankruptcies();
+        }
+    }
 
-            if (payload.contains("\"type\":\"DEAL_RESPONSE\"")) {
-                DealResponseMessage response = objectMapper.readValue(payload, DealResponseMessage.class);
-                logger.info("Received deal response: " + response.getResponseType()
-                        + " from " + response.getFromPlayerId()
-                        + " to " + response.getToPlayerId());
+    private void handleDealProposal(WebSocketSession session, String userId, DealProposalMessage deal, String payload) {
+        logger.info("Received deal proposal from " + deal.getFromPlayerId());
+        dealService.saveProposal(deal);
 
-                if (response.getResponseType() == DealResponseType.ACCEPT) {
+        WebSocketSession targetSession = findSessionByPlayerId(deal.getToPlayerId());
+        if (targetSession != null) {
+            sendMessageToSession(targetSession, payload);
+        } else {
+            logger.warning("Target player session not found for deal proposal");
+        }
+    }
 
-                    DealProposalMessage proposal = dealService.executeTrade(response);
+    private void handleDealResponse(WebSocketSession session, String userId, DealResponseMessage response, String payload) {
+        logger.info("Received deal response: " + response.getResponseType()
+                + " from " + response.getFromPlayerId()
+                + " to " + response.getToPlayerId());
 
-                    if (proposal != null) {
-                        // Für jedes Property von Sender -> Empfänger:
-                        for (int propId : proposal.getOfferedPropertyIds()) {
-                            String msg = PLAYER_PREFIX + proposal.getToPlayerId() + BOUGHT_PROPERTY_MSG + propId;
-                            broadcastMessage(createJsonMessage(msg));
-                        }
+        if (response.getResponseType() == DealResponseType.ACCEPT) {
 
-                        // Für jedes Property von Empfänger -> Sender:
-                        for (int propId : proposal.getRequestedPropertyIds()) {
-                            String msg = PLAYER_PREFIX + proposal.getFromPlayerId() + BOUGHT_PROPERTY_MSG + propId;
-                            broadcastMessage(createJsonMessage(msg));
-                        }
-                    }
+            DealProposalMessage proposal = dealService.executeTrade(response);
 
-                    broadcastGameState();
-                    checkAllPlayersForBankruptcy();
+            if (proposal != null) {
+                // Für jedes Property von Sender -> Empfänger:
+                for (int propId : proposal.getOfferedPropertyIds()) {
+                    String msg = PLAYER_PREFIX + proposal.getToPlayerId() + BOUGHT_PROPERTY_MSG + propId;
+                    broadcastMessage(createJsonMessage(msg));
                 }
 
-                WebSocketSession targetSession = findSessionByPlayerId(response.getToPlayerId());
-                if (targetSession != null) {
-                    sendMessageToSession(targetSession, payload);
-                } else {
-                    logger.warning("Target player session not found for deal response");
+                // Für jedes Property von Empfänger -> Sender:
+                for (int propId : proposal.getRequestedPropertyIds()) {
+                    String msg = PLAYER_PREFIX + proposal.getFromPlayerId() + BOUGHT_PROPERTY_MSG + propId;
+                    broadcastMessage(createJsonMessage(msg));
                 }
-                return;
             }
 
-            if (payload.contains("\"type\":\"COUNTER_OFFER\"")) {
-                CounterProposalMessage counter = objectMapper.readValue(payload, CounterProposalMessage.class);
-                logger.info("Received counter offer from " + counter.getFromPlayerId());
+            broadcastGameState();
+            checkBankruptcies();
+        }
 
-                dealService.saveCounterProposal(counter);
+        WebSocketSession targetSession = findSessionByPlayerId(response.getToPlayerId());
+        if (targetSession != null) {
+            sendMessageToSession(targetSession, payload);
+        } else {
+            logger.warning("Target player session not found for deal response");
+        }
+    }
 
-                WebSocketSession targetSession = findSessionByPlayerId(counter.getToPlayerId());
-                if (targetSession != null) {
-                    sendMessageToSession(targetSession, payload); // leite den Gegenvorschlag weiter
-                } else {
-                    logger.warning("Target player session not found for counter offer");
-                }
-                return;
-            }
+    private void handleCounterOffer(WebSocketSession session, String userId, CounterProposalMessage counter, String payload) {
+        logger.info("Received counter offer from " + counter.getFromPlayerId());
 
-            if (payload.trim().equalsIgnoreCase("Roll")) {
-                handleDiceRoll(session, userId);
-            } else if ("NEXT_TURN".equals(payload)) {
-                logger.log(Level.INFO, "Received NEXT_TURN from {0}", userId);
+        dealService.saveCounterProposal(counter);
 
-                if (!game.isPlayerTurn(userId)) {
-                    sendMessageToSession(session, createJsonError("Not your turn!"));
-                    return;
-                }
+        WebSocketSession targetSession = findSessionByPlayerId(counter.getToPlayerId());
+        if (targetSession != null) {
+            sendMessageToSession(targetSession, payload); // leite den Gegenvorschlag weiter
+        } else {
+            logger.warning("Target player session not found for counter offer");
+        }
+    }
 
-                Optional<Player> playerOpt = game.getPlayerById(userId);
-                if (playerOpt.isPresent()) {
-                    Player player = playerOpt.get();
-                    if (player.isInJail()) {
-                        player.reduceJailTurns();
-                        if (!player.isInJail()) {
-                            broadcastMessage(PLAYER_PREFIX + userId + " is released from jail!");
-                        }
-                        // Always advance to next player after jail turn
-                        game.nextPlayer();
-                    } else {
-                        game.nextPlayer(); // Normal turn advancement
-                    }
-                }
+    private void handleNextTurn(WebSocketSession session, String userId) {
+        logger.log(Level.INFO, "Received NEXT_TURN from {0}", userId);
 
-                broadcastGameState();
-                checkAllPlayersForBankruptcy();
-
-            } else if (payload.startsWith("MANUAL_ROLL:")) {
-                handleManualRoll(payload, userId, session);
-            } else if (payload.startsWith("UPDATE_MONEY:")) {
-                handleUpdateMoney(payload, userId);
-            } else if (payload.startsWith("BUY_PROPERTY:")) {
-                handleBuyProperty(session, userId, payload);
-            } else if (payload.startsWith("SELL_PROPERTY:")) {
-                handleSellProperty(session, payload, userId);
-            } else {
-                String safePayload = sanitizeForLog(payload);
-                logger.log(Level.INFO, "Received unknown message format: {0} from player {1}", new Object[]{safePayload, userId});//bewusst geloggt aktuell
-                broadcastMessage(PLAYER_PREFIX + userId + ": " + safePayload);
-                checkAllPlayersForBankruptcy();
-            }
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error handling message from player {0}: {1}", new Object[]{userId, e.getMessage()});//bewusst geloggt aktuell
-            sendMessageToSession(session, createJsonError("Server error processing your request."));
+        if (!engine.endTurn(userId, clientEvents)) {
+            sendMessageToSession(session, createJsonError("Not your turn!"));
+            return;
         }
+
+        broadcastGameState();
+        checkBankruptcies();
+    }
+
+    private void handleUnknownMessage(String payload, String userId) {
+        String safePayload = sanitizeForLog(payload);
+        logger.log(Level.INFO, "Received unknown message format: {0} from player {1}", new Object[]{safePayload, userId});//bewusst geloggt aktuell
+        broadcastMessage(PLAYER_PREFIX + userId + ": " + safePayload);
+        checkBankruptcies();
     }
-}
\ No newline at end of file
+}
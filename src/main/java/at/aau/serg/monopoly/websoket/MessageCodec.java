@@ -0,0 +1,186 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import data.*;
+import data.deals.CounterProposalMessage;
+import data.deals.DealProposalMessage;
+import data.deals.DealResponseMessage;
+import model.ChatMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JSON codec shared by all game rooms.
+ * Keeps one ObjectReader/ObjectWriter per message class, so (de)serializers are resolved once
+ * instead of on every readValue/writeValueAsString call.
+ * Also converts frames between text JSON and CBOR for connections using WireEncoding.CBOR.
+ */
+public final class MessageCodec {
+    private static final Logger logger = Logger.getLogger(MessageCodec.class.getName());
+    private static final MessageCodec SHARED = new MessageCodec();
+
+    // Message classes of the data and data.deals packages plus the chat message and the board file
+    static final List<Class<?>> MESSAGE_TYPES = List.of(
+            CheatCodeMessage.class, ClearChatMessage.class, DiceRollMessage.class, DrawnCardMessage.class,
+            GameHistoryRequest.class, GameStateDelta.class, GameStateKeyframe.class, GiveUpMessage.class,
+            HasWonMessage.class, PlayerDelta.class, PlayerInfo.class, PullCardMessage.class,
+            RentPaymentMessage.class, SellPropertyMessage.class, ShakeMessage.class, TaxPaymentMessage.class,
+            CounterProposalMessage.class, DealProposalMessage.class, DealResponseMessage.class,
+            ChatMessage.class, PropertyDataWrapper.class, JsonNode.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ObjectWriter playerListWriter;
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    static final String GAME_STATE_PREFIX = "GAME_STATE:";
+    static final String PLAYER_TURN_PREFIX = "PLAYER_TURN:";
+
+    private MessageCodec() {
+        JavaType playerList = objectMapper.getTypeFactory().constructType(new TypeReference<List<PlayerInfo>>() {});
+        playerListWriter = objectMapper.writerFor(playerList);
+    }
+
+    public static MessageCodec shared() {
+        return SHARED;
+    }
+
+    /**
+     * Builds the readers and writers for all known message classes. Building them resolves and
+     * caches the (de)serializers, so the first message after boot does not pay for introspection.
+     */
+    public void warmUp() {
+        for (Class<?> type : MESSAGE_TYPES) {
+            readerFor(type);
+            writerFor(type);
+        }
+        logger.log(Level.INFO, "Message codec warmed up for {0} message types", MESSAGE_TYPES.size());
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    public String write(Object message) throws JsonProcessingException {
+        return writerFor(message.getClass()).writeValueAsString(message);
+    }
+
+    public String writePlayers(List<PlayerInfo> players) throws JsonProcessingException {
+        return playerListWriter.writeValueAsString(players);
+    }
+
+    public <T> T read(String json, Class<T> type) throws JsonProcessingException {
+        return readerFor(type).readValue(json);
+    }
+
+    public <T> T read(JsonParser parser, Class<T> type) throws IOException {
+        return readerFor(type).readValue(parser);
+    }
+
+    public <T> T read(InputStream in, Class<T> type) throws IOException {
+        return readerFor(type).readValue(in);
+    }
+
+    /**
+     * Converts the payload of an outbound text frame to CBOR. "GAME_STATE:[...]" becomes
+     * {"type":"GAME_STATE","players":[...]} and "PLAYER_TURN:id" becomes {"type":"PLAYER_TURN","playerId":id}.
+     * Nothing is cached here, a broadcast keeps the bytes in its OutboundFrame.
+     *
+     * @return the CBOR bytes, or null if the frame has no JSON body and should stay text
+     */
+    public byte[] toCbor(String payload) throws IOException {
+        if (!payload.startsWith("{") && !payload.startsWith(GAME_STATE_PREFIX)
+                && !payload.startsWith(PLAYER_TURN_PREFIX)) {
+            return null;
+        }
+        try {
+            return encodeCbor(payload);
+        } catch (JsonProcessingException e) {
+            // starts like JSON but is not, send it as text
+            return null;
+        }
+    }
+
+    // Converts an inbound CBOR frame to the JSON text the rooms understand
+    public String fromCbor(ByteBuffer frame) throws IOException {
+        try (JsonParser parser = cborParser(frame)) {
+            return toJson(parser, frame.remaining() * 2);
+        }
+    }
+
+    // Parser over an inbound CBOR frame, e.g. for MessageEnvelope
+    JsonParser cborParser(ByteBuffer frame) throws IOException {
+        if (frame.hasArray()) {
+            return cborFactory.createParser(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+        }
+        byte[] bytes = new byte[frame.remaining()];
+        frame.duplicate().get(bytes);
+        return cborFactory.createParser(bytes);
+    }
+
+    // Writes the remaining tokens of the parser as JSON text
+    String toJson(JsonParser parser, int sizeHint) throws IOException {
+        StringWriter json = new StringWriter(sizeHint);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toString();
+    }
+
+    private byte[] encodeCbor(String payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length());
+        try (JsonGenerator generator = cborFactory.createGenerator(out)) {
+            if (payload.startsWith(GAME_STATE_PREFIX)) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "GAME_STATE");
+                generator.writeFieldName("players");
+                copyJson(payload.substring(GAME_STATE_PREFIX.length()), generator);
+                generator.writeEndObject();
+            } else if (payload.startsWith(PLAYER_TURN_PREFIX)) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "PLAYER_TURN");
+                generator.writeStringField("playerId", payload.substring(PLAYER_TURN_PREFIX.length()));
+                generator.writeEndObject();
+            } else {
+                copyJson(payload, generator);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void copyJson(String json, JsonGenerator generator) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Routing table for inbound messages of one game room.
+ * JSON messages are looked up by their "type" and bound to the registered message class,
+ * legacy text commands are looked up by exact match or prefix.
+ */
+final class MessageDispatcher {
+
+    // Message class for types without a body worth binding, the handler gets null
+    static final Class<Void> NO_BODY = Void.class;
+
+    @FunctionalInterface
+    interface TypeHandler<T> {
+        void handle(WebSocketSession session, String userId, T message, String payload) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface CommandHandler {
+        void handle(WebSocketSession session, String userId, String payload) throws Exception;
+    }
+
+    /**
+     * @param requiresInit false for the few types that are accepted before the session sent INIT
+     */
+    record TypeRoute<T>(Class<T> messageType, TypeHandler<T> handler, boolean requiresInit) {
+
+        void dispatch(WebSocketSession session, String userId, MessageEnvelope envelope, String payload)
+                throws Exception {
+            T message = messageType == NO_BODY ? null : envelope.bind(messageType);
+            handler.handle(session, userId, message, payload);
+        }
+    }
+
+    private final Map<String, TypeRoute<?>> types = new HashMap<>();
+    private final Map<String, CommandHandler> commands = new HashMap<>();
+    private final Map<String, CommandHandler> commandsIgnoreCase = new HashMap<>();
+    private final CommandTrie<CommandHandler> prefixCommands = new CommandTrie<>();
+    // Name of every command as registered, used as metrics tag instead of the raw payload
+    private final Map<CommandHandler, String> commandNames = new IdentityHashMap<>();
+
+    <T> MessageDispatcher onType(String type, Class<T> messageType, TypeHandler<T> handler) {
+        types.put(type, new TypeRoute<>(messageType, handler, true));
+        return this;
+    }
+
+    <T> MessageDispatcher onTypeBeforeInit(String type, Class<T> messageType, TypeHandler<T> handler) {
+        types.put(type, new TypeRoute<>(messageType, handler, false));
+        return this;
+    }
+
+    MessageDispatcher onCommand(String command, CommandHandler handler) {
+        commands.put(command, handler);
+        commandNames.put(handler, command);
+        return this;
+    }
+
+    MessageDispatcher onCommandIgnoreCase(String command, CommandHandler handler) {
+        commandsIgnoreCase.put(command.toLowerCase(Locale.ROOT), handler);
+        commandNames.put(handler, command);
+        return this;
+    }
+
+    MessageDispatcher onPrefix(String prefix, CommandHandler handler) {
+        prefixCommands.put(prefix, handler);
+        commandNames.put(handler, prefix.endsWith(":") ? prefix.substring(0, prefix.length() - 1) : prefix);
+        return this;
+    }
+
+    TypeRoute<?> routeForType(String type) {
+        return type == null ? null : types.get(type);
+    }
+
+    /**
+     * Exact commands are matched on the trimmed payload, prefixes on the payload as sent.
+     */
+    CommandHandler routeForCommand(String payload) {
+        String command = payload.trim();
+        CommandHandler handler = commands.get(command);
+        if (handler == null && !commandsIgnoreCase.isEmpty()) {
+            handler = commandsIgnoreCase.get(command.toLowerCase(Locale.ROOT));
+        }
+        return handler != null ? handler : prefixCommands.longestPrefixOf(payload);
+    }
+
+    /**
+     * @return the command as registered, e.g. "Roll" or "BUY_PROPERTY" for the prefix "BUY_PROPERTY:"
+     */
+    String commandName(CommandHandler handler) {
+        return commandNames.get(handler);
+    }
+}
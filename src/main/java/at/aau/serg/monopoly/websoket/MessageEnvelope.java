@@ -0,0 +1,135 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Streaming view of an inbound JSON or CBOR message.
+ * The "type" field is read from the token stream, the message is then bound to its DTO
+ * from the same parser, so no JsonNode tree is built and the payload is tokenized only once.
+ */
+final class MessageEnvelope implements Closeable {
+    private static final String TYPE_FIELD = "type";
+
+    private final MessageCodec codec;
+    @Getter
+    private final String type;
+    private final JsonParser parser;
+    // Tokens read before and including "type", replayed in front of the rest when binding
+    private final TokenBuffer head;
+
+    private MessageEnvelope(MessageCodec codec, String type, JsonParser parser, TokenBuffer head) {
+        this.codec = codec;
+        this.type = type;
+        this.parser = parser;
+        this.head = head;
+    }
+
+    /**
+     * @return the envelope, or null if the payload is not a JSON object with a scalar "type" field
+     */
+    static MessageEnvelope read(MessageCodec codec, String payload) {
+        if (!startsWithObject(payload)) {
+            // Text commands like "Roll" are not JSON, don't pay for a parse exception
+            return null;
+        }
+        JsonParser parser = null;
+        try {
+            parser = codec.getObjectMapper().getFactory().createParser(payload);
+            return read(codec, parser);
+        } catch (IOException e) {
+            // Kein JSON, normal weiter
+            closeQuietly(parser);
+            return null;
+        }
+    }
+
+    /**
+     * Same as {@link #read(MessageCodec, String)} for an inbound CBOR frame, the frame is parsed
+     * directly instead of being converted to JSON text first.
+     */
+    static MessageEnvelope read(MessageCodec codec, ByteBuffer cbor) {
+        JsonParser parser = null;
+        try {
+            parser = codec.cborParser(cbor);
+            return read(codec, parser);
+        } catch (IOException e) {
+            closeQuietly(parser);
+            return null;
+        }
+    }
+
+    private static MessageEnvelope read(MessageCodec codec, JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            parser.close();
+            return null;
+        }
+        TokenBuffer head = new TokenBuffer(codec.getObjectMapper(), false);
+        head.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            head.writeFieldName(field);
+            if (TYPE_FIELD.equals(field) && value.isScalarValue()) {
+                head.copyCurrentEvent(parser);
+                return new MessageEnvelope(codec, parser.getValueAsString(), parser, head);
+            }
+            head.copyCurrentStructure(parser);
+        }
+        parser.close();
+        return null;
+    }
+
+    /**
+     * Binds the whole message, including "type" and any fields before it, to {@code messageType}.
+     */
+    <T> T bind(Class<T> messageType) throws IOException {
+        return codec.read(replay(), messageType);
+    }
+
+    /**
+     * The whole message as JSON text, for envelopes read from CBOR. Like bind, this consumes the envelope.
+     */
+    String toJson() throws IOException {
+        try (JsonParser message = replay()) {
+            return codec.toJson(message, 256);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(parser);
+    }
+
+    private JsonParser replay() {
+        return JsonParserSequence.createFlattened(false, head.asParser(parser), parser);
+    }
+
+    private static boolean startsWithObject(String payload) {
+        for (int i = 0; i < payload.length(); i++) {
+            char c = payload.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{';
+            }
+        }
+        return false;
+    }
+
+    private static void closeQuietly(JsonParser parser) {
+        if (parser == null) {
+            return;
+        }
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // nichts zu tun, der Parser liest nur aus einem String
+        }
+    }
+}
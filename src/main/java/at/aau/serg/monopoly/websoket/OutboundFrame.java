@@ -0,0 +1,54 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+
+/**
+ * A frame on its way to the sessions of a room: the text frame the room produced together with
+ * its CBOR form. One instance is handed to all recipients of a broadcast, so the CBOR bytes are
+ * encoded at most once per broadcast, by the first session that negotiated CBOR.
+ */
+public final class OutboundFrame {
+    // Marks a frame that was checked and has no JSON body
+    private static final byte[] TEXT_ONLY = new byte[0];
+
+    private final WebSocketMessage<?> message;
+    private byte[] cbor;
+
+    public OutboundFrame(WebSocketMessage<?> message) {
+        this.message = message;
+    }
+
+    public static OutboundFrame text(String payload) {
+        return new OutboundFrame(new TextMessage(payload));
+    }
+
+    public WebSocketMessage<?> getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the CBOR bytes of this frame, or null if it has no JSON body and stays as it is
+     */
+    public synchronized byte[] cbor(MessageCodec codec) throws IOException {
+        if (cbor == null) {
+            byte[] encoded = message instanceof TextMessage text ? codec.toCbor(text.getPayload()) : null;
+            cbor = encoded != null ? encoded : TEXT_ONLY;
+        }
+        return cbor == TEXT_ONLY ? null : cbor;
+    }
+
+    // Sessions of our own decorator chain keep the frame, any other session only gets the message
+    void sendTo(WebSocketSession session) throws IOException {
+        if (session instanceof BufferedOutboundSession outbound) {
+            outbound.sendFrame(this);
+        } else if (session instanceof FrameEncodingSession frames) {
+            frames.sendFrame(this);
+        } else {
+            session.sendMessage(message);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package at.aau.serg.monopoly.websoket;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps incoming sessions into BufferedOutboundSessions that share one pool of sender threads.
+ * A watchdog checks all sessions a few times per send time limit and closes those whose current
+ * send hangs, so stalled clients cannot keep the shared sender threads blocked. It also runs the
+ * closes the sessions decide on while a room thread is queueing a frame.
+ */
+@Component
+public class OutboundSessionFactory {
+    private static final long MIN_CHECK_INTERVAL_MILLIS = 50;
+
+    private final int bufferSize;
+    private final long sendTimeLimitMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService watchdog;
+    private final Set<BufferedOutboundSession> watched = ConcurrentHashMap.newKeySet();
+
+    public OutboundSessionFactory(@Value("${monopoly.outbound.buffer-size:256}") int bufferSize,
+                                  @Value("${monopoly.outbound.send-time-limit-ms:5000}") long sendTimeLimitMillis,
+                                  @Value("${monopoly.outbound.overflow-policy:COALESCE}") OverflowPolicy overflowPolicy,
+                                  @Value("${monopoly.outbound.sender-threads:0}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.overflowPolicy = overflowPolicy;
+        int threads = senderThreads > 0 ? senderThreads : 2 * Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "outbound-sender-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbound-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkInterval = Math.max(MIN_CHECK_INTERVAL_MILLIS, sendTimeLimitMillis / 4);
+        watchdog.scheduleAtFixedRate(this::enforceSendTimeLimits, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public BufferedOutboundSession wrap(WebSocketSession session) {
+        BufferedOutboundSession outbound =
+                new BufferedOutboundSession(session, bufferSize, sendTimeLimitMillis, overflowPolicy, sender, watchdog);
+        watched.add(outbound);
+        return outbound;
+    }
+
+    // Closed sessions drop out of the watch list on the next run
+    void enforceSendTimeLimits() {
+        watched.removeIf(outbound -> !outbound.enforceSendTimeLimit());
+    }
+
+    int getWatchedSessionCount() {
+        return watched.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        sender.shutdown();
+    }
+}
@@ -0,0 +1,8 @@
+package at.aau.serg.monopoly.websoket;
+
+// What happens when the outbound queue of a session is full
+public enum OverflowPolicy {
+    DROP,       // drop the new message
+    COALESCE,   // replace an older queued message of the same kind (e.g. GAME_STATE:), otherwise drop
+    DISCONNECT  // close the slow session
+}
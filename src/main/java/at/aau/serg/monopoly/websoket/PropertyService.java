@@ -1,11 +1,13 @@
 package at.aau.serg.monopoly.websoket;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import model.Game;
 import model.Player;
 import model.properties.BaseProperty;
+import model.properties.BoardState;
+import model.properties.BoardTemplate;
 import model.properties.HouseableProperty;
+import model.properties.OwnershipIndex;
 import model.properties.TrainStation;
 import model.properties.Utility;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +16,8 @@ import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -26,7 +30,11 @@ public class PropertyService {
     }
 
     private static final Logger logger = Logger.getLogger(PropertyService.class.getName());
+    static final int BOARD_SIZE = BoardTemplate.BOARD_SIZE;
+    // propertyData.json is parsed once per JVM, every board is created from this template
+    private static volatile BoardTemplate standardBoard;
     private Game game;
+    private BoardState boardState;
     @Getter
     private List<HouseableProperty> houseableProperties;
     @Getter
@@ -34,6 +42,12 @@ public class PropertyService {
     @Getter
     private List<Utility> utilities;
 
+    // Lookup tables of this board, built once when the board is created
+    private BaseProperty[] propertiesByPosition = new BaseProperty[BOARD_SIZE];
+    private BaseProperty[] propertiesById = new BaseProperty[0];
+    private HouseableProperty[] houseablesById = new HouseableProperty[0];
+    private final OwnershipIndex ownershipIndex = new OwnershipIndex();
+
 
     @Autowired(required = false)
     public PropertyService(Game game) {
@@ -42,25 +56,73 @@ public class PropertyService {
 
     @PostConstruct
     public void init() {
-        ObjectMapper mapper = new ObjectMapper();
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream("propertyData.json")) {
+        init(standardBoard());
+    }
+
+    /**
+     * Creates a new board from the given template. The property lists are unmodifiable, so the
+     * lookup tables built here stay valid for the whole life of the board.
+     */
+    public void init(BoardTemplate template) {
+        BoardTemplate.Board board = template.newBoard();
+        this.boardState = board.state();
+        this.houseableProperties = board.houseableProperties();
+        this.trainStations = board.trainStations();
+        this.utilities = board.utilities();
+        mapLookupTables(template, board);
+    }
+
+    /**
+     * Puts the board back into its initial state for a new game. Only the per-game state is
+     * reset, properties and lookup tables stay the same.
+     */
+    public void reset() {
+        if (boardState == null) {
+            init();
+            return;
+        }
+        boardState.reset();
+        indexOwners();
+    }
+
+    static BoardTemplate standardBoard() {
+        BoardTemplate template = standardBoard;
+        if (template == null) {
+            synchronized (PropertyService.class) {
+                template = standardBoard;
+                if (template == null) {
+                    template = loadBoardTemplate();
+                    standardBoard = template;
+                }
+            }
+        }
+        return template;
+    }
+
+    private static BoardTemplate loadBoardTemplate() {
+        try (InputStream is = PropertyService.class.getClassLoader().getResourceAsStream("propertyData.json")) {
             if (is == null) {
                 throw new IllegalStateException("propertyData.json not found in resources folder");
             }
-            PropertyDataWrapper wrapper = mapper.readValue(is, PropertyDataWrapper.class);
-            this.houseableProperties = wrapper.getProperties();
-            this.trainStations = wrapper.getTrainStations();
-            this.utilities = wrapper.getUtilities();
+            PropertyDataWrapper wrapper = MessageCodec.shared().read(is, PropertyDataWrapper.class);
+            logger.log(Level.INFO, "Board template loaded from propertyData.json");
+            return new BoardTemplate(wrapper.getProperties(), wrapper.getTrainStations(), wrapper.getUtilities());
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to initialize property data", e);
         }
     }
 
     public HouseableProperty getHouseablePropertyById(int id) {
-        return houseableProperties.stream()
-                .filter(property -> property.getId() == id)
-                .findFirst()
-                .orElse(null);
+        return id >= 0 && id < houseablesById.length ? houseablesById[id] : null;
+    }
+
+    /**
+     * Gets a property of any type by its ID
+     * @param id The ID of the property
+     * @return The property if found, null otherwise
+     */
+    public BaseProperty getPropertyById(int id) {
+        return id >= 0 && id < propertiesById.length ? propertiesById[id] : null;
     }
 
     /**
@@ -89,31 +151,52 @@ public class PropertyService {
      * @return The property if found, null otherwise
      */
     public BaseProperty getPropertyByPosition(int position) {
-        // Check houseable properties
-        BaseProperty property = houseableProperties.stream()
-                .filter(p -> p.getPosition() == position)
-                .findFirst()
-                .orElse(null);
+        return position >= 0 && position < BOARD_SIZE ? propertiesByPosition[position] : null;
+    }
+
+    /**
+     * Gets the index of owned properties per player, kept up to date on every owner change
+     * @return The ownership index of this board
+     */
+    public OwnershipIndex getOwnershipIndex() {
+        return ownershipIndex;
+    }
 
-        if (property != null) {
-            return property;
+    // Every game has the template's layout, so the tables only map its slots to this game's properties
+    private void mapLookupTables(BoardTemplate template, BoardTemplate.Board board) {
+        BaseProperty[] byPosition = new BaseProperty[BOARD_SIZE];
+        BaseProperty[] byId = new BaseProperty[template.idRange()];
+        HouseableProperty[] houseables = new HouseableProperty[template.idRange()];
+        for (int position = 0; position < BOARD_SIZE; position++) {
+            int slot = template.slotAtPosition(position);
+            byPosition[position] = slot == BoardTemplate.NO_SLOT ? null : board.propertyAt(slot);
         }
+        for (int id = 0; id < byId.length; id++) {
+            int slot = template.slotOfId(id);
+            if (slot != BoardTemplate.NO_SLOT) {
+                byId[id] = board.propertyAt(slot);
+                if (byId[id] instanceof HouseableProperty houseable) {
+                    houseables[id] = houseable;
+                }
+            }
+        }
+        propertiesByPosition = byPosition;
+        propertiesById = byId;
+        houseablesById = houseables;
+        indexOwners();
+    }
 
-        // Check train stations
-        property = trainStations.stream()
-                .filter(p -> p.getPosition() == position)
-                .findFirst()
-                .orElse(null);
+    private void indexOwners() {
+        List<BaseProperty> all = new ArrayList<>();
+        addAll(all, houseableProperties);
+        addAll(all, trainStations);
+        addAll(all, utilities);
+        ownershipIndex.rebuild(all);
+    }
 
-        if (property != null) {
-            return property;
+    private static void addAll(List<BaseProperty> target, Collection<? extends BaseProperty> properties) {
+        if (properties != null) {
+            target.addAll(properties);
         }
-
-        // Check utilities
-        return utilities.stream()
-                .filter(p -> p.getPosition() == position)
-                .findFirst()
-                .orElse(null);
     }
 }
-
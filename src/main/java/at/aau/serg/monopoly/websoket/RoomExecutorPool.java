@@ -0,0 +1,84 @@
+package at.aau.serg.monopoly.websoket;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fixed set of single-threaded executors ("stripes"). Every room is pinned to one stripe,
+ * so all events of a room run one after another on the same thread while different rooms
+ * are spread across the cores. Game logic therefore never needs locks.
+ */
+@Component
+public class RoomExecutorPool {
+    private static final Logger logger = Logger.getLogger(RoomExecutorPool.class.getName());
+
+    private final ExecutorService[] stripes;
+
+    public RoomExecutorPool(@Value("${monopoly.rooms.executor-threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        stripes = new ExecutorService[size];
+        AtomicInteger threadIndex = new AtomicInteger();
+        for (int i = 0; i < size; i++) {
+            stripes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "room-executor-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * @param roomId The id of the room
+     * @return The mailbox of the room, always the same stripe for the same room id
+     */
+    public RoomMailbox mailboxFor(String roomId) {
+        return new RoomMailbox(roomId, stripes[Math.floorMod(roomId.hashCode(), stripes.length)]);
+    }
+
+    public int getSize() {
+        return stripes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    /**
+     * Queues the events of one room on its stripe and keeps a failing event from
+     * killing the stripe thread.
+     */
+    public static class RoomMailbox {
+        private final String roomId;
+        private final ExecutorService stripe;
+
+        RoomMailbox(String roomId, ExecutorService stripe) {
+            this.roomId = roomId;
+            this.stripe = stripe;
+        }
+
+        public void post(RoomEvent event) {
+            stripe.execute(() -> {
+                try {
+                    event.run();
+                } catch (Exception e) {
+                    logger.log(Level.SEVERE, "Error processing event in room " + roomId, e);
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    public interface RoomEvent {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,209 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entry point for the /monopoly endpoint. Forwards every connection to the
+ * GameWebSocketHandler of its room. The room is taken from the connect URL
+ * (/monopoly?roomId=...) or from the roomId field of the INIT message.
+ * Events are not handled on the container thread but posted to the room's mailbox,
+ * so each game is only ever touched by a single thread. Whether an INIT may still switch
+ * rooms is therefore decided inside the mailbox of the room the session is in. Rooms only ever see the
+ * BufferedOutboundSession of a connection, so sending never blocks the room.
+ * Clients can switch to CBOR binary frames with the "monopoly.cbor" subprotocol or
+ * "encoding":"cbor" in INIT; the conversion happens in FrameEncodingSession, rooms only see JSON.
+ */
+@Component
+public class RoomRoutingWebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
+    private static final Logger logger = Logger.getLogger(RoomRoutingWebSocketHandler.class.getName());
+    static final String ROOM_ID = "roomId";
+    static final String ENCODING = "encoding";
+    private static final String INIT = "INIT";
+
+    private final GameRoomRegistry roomRegistry;
+    private final OutboundSessionFactory outboundSessionFactory;
+    private final Map<String, BufferedOutboundSession> outboundSessions = new ConcurrentHashMap<>();
+    private final MessageCodec codec = MessageCodec.shared();
+
+    public RoomRoutingWebSocketHandler(GameRoomRegistry roomRegistry, OutboundSessionFactory outboundSessionFactory) {
+        this.roomRegistry = roomRegistry;
+        this.outboundSessionFactory = outboundSessionFactory;
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(WireEncoding.CBOR.getSubProtocol(), WireEncoding.JSON.getSubProtocol());
+    }
+
+    @Override
+    public void afterConnectionEstablished(@NonNull WebSocketSession session) {
+        WireEncoding encoding = WireEncoding.fromSubProtocol(session.getAcceptedProtocol());
+        BufferedOutboundSession outbound = outboundSessionFactory.wrap(new FrameEncodingSession(session, codec, encoding));
+        outboundSessions.put(session.getId(), outbound);
+        GameRoom room = roomRegistry.join(session.getId(), roomIdFromUri(session.getUri()));
+        room.getMailbox().post(() -> room.getHandler().afterConnectionEstablished(outbound));
+    }
+
+    @Override
+    protected void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) {
+        WebSocketSession outbound = outboundSessions.getOrDefault(session.getId(), session);
+        String requested = null;
+        try (MessageEnvelope envelope = MessageEnvelope.read(codec, message.getPayload())) {
+            if (isInit(envelope)) {
+                requested = requestedRoom(outbound, envelope.bind(JsonNode.class));
+            }
+        } catch (IOException e) {
+            // Broken INIT, the room answers it like any other bad message
+        }
+        route(session, outbound, message, requested);
+    }
+
+    // CBOR is parsed straight into the envelope, rooms get the JSON text written from the same parser
+    @Override
+    protected void handleBinaryMessage(@NonNull WebSocketSession session, @NonNull BinaryMessage message) {
+        WebSocketSession outbound = outboundSessions.getOrDefault(session.getId(), session);
+        String requested = null;
+        String json;
+        try (MessageEnvelope envelope = MessageEnvelope.read(codec, message.getPayload())) {
+            if (envelope == null) {
+                json = codec.fromCbor(message.getPayload());
+            } else if (isInit(envelope)) {
+                JsonNode init = envelope.bind(JsonNode.class);
+                requested = requestedRoom(outbound, init);
+                json = codec.write(init);
+            } else {
+                json = envelope.toJson();
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Dropping undecodable binary frame from {0}: {1}",
+                    new Object[]{session.getId(), e.getMessage()});
+            return;
+        }
+        route(session, outbound, new TextMessage(json), requested);
+    }
+
+    private void route(WebSocketSession session, WebSocketSession outbound, TextMessage message, String requested) {
+        // Pairs with switchRoom, a message never reaches the new room before the session itself
+        synchronized (outbound) {
+            GameRoom room = roomRegistry.roomOf(session.getId());
+            if (room == null) {
+                return;
+            }
+            if (requested != null && !GameRoomRegistry.normalizeRoomId(requested).equals(room.getId())) {
+                room.getMailbox().post(() -> switchRoom(room, outbound, message, requested));
+            } else {
+                post(room, outbound, message);
+            }
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
+        WebSocketSession outbound = outboundSessions.remove(session.getId());
+        WebSocketSession target = outbound != null ? outbound : session;
+        GameRoom room = roomRegistry.leave(session.getId());
+        if (room != null) {
+            room.getMailbox().post(() -> room.getHandler().afterConnectionClosed(target, status));
+        }
+    }
+
+    public int getOpenSessionCount() {
+        return outboundSessions.size();
+    }
+
+    // Frames waiting in the outbound queues of all sessions
+    public int getQueuedFrameCount() {
+        int queued = 0;
+        for (BufferedOutboundSession outbound : outboundSessions.values()) {
+            queued += outbound.getQueueDepth();
+        }
+        return queued;
+    }
+
+    // Deepest single outbound queue, a slow client shows up here long before it is disconnected
+    public int getMaxQueueDepth() {
+        int max = 0;
+        for (BufferedOutboundSession outbound : outboundSessions.values()) {
+            max = Math.max(max, outbound.getQueueDepth());
+        }
+        return max;
+    }
+
+    private static boolean isInit(MessageEnvelope envelope) {
+        return envelope != null && INIT.equals(envelope.getType());
+    }
+
+    // Room id named by an INIT. Also applies the requested encoding
+    private String requestedRoom(WebSocketSession session, JsonNode init) {
+        applyEncoding(session, init.get(ENCODING));
+        return init.hasNonNull(ROOM_ID) ? init.get(ROOM_ID).asText() : null;
+    }
+
+    private void post(GameRoom room, WebSocketSession session, TextMessage message) {
+        room.getMailbox().post(() -> deliver(room, session, message));
+    }
+
+    // Messages posted before a room switch was decided follow the session into its new room
+    private void deliver(GameRoom room, WebSocketSession session, TextMessage message) throws Exception {
+        GameRoom current = roomRegistry.roomOf(session.getId());
+        if (current == room) {
+            room.getHandler().handleMessage(session, message);
+        } else if (current != null) {
+            post(current, session, message);
+        }
+    }
+
+    // Runs on the room's thread, so hasPlayer cannot race with an INIT that is still being handled
+    private void switchRoom(GameRoom room, WebSocketSession session, TextMessage message, String requested)
+            throws Exception {
+        if (roomRegistry.roomOf(session.getId()) != room || room.getHandler().hasPlayer(session)) {
+            deliver(room, session, message);
+            return;
+        }
+        GameRoom target;
+        synchronized (session) {
+            target = roomRegistry.move(session.getId(), room, requested);
+            if (target == null) {
+                return;
+            }
+            target.getMailbox().post(() -> {
+                if (roomRegistry.roomOf(session.getId()) == target) {
+                    target.getHandler().afterConnectionEstablished(session);
+                    target.getHandler().handleMessage(session, message);
+                }
+            });
+        }
+        room.getHandler().detachSession(session);
+    }
+
+    private static void applyEncoding(WebSocketSession session, JsonNode encoding) {
+        if (encoding != null && session instanceof BufferedOutboundSession outbound
+                && outbound.getDelegate() instanceof FrameEncodingSession frames) {
+            frames.setEncoding(WireEncoding.fromName(encoding.asText()));
+        }
+    }
+
+    static String roomIdFromUri(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        return UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst(ROOM_ID);
+    }
+}
@@ -10,14 +10,21 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
 
-    @Bean
-    public GameWebSocketHandler gameWebSocketHandler() {
-        return new GameWebSocketHandler();
+    private final RoomRoutingWebSocketHandler roomRoutingWebSocketHandler;
+
+    public WebSocketConfig(RoomRoutingWebSocketHandler roomRoutingWebSocketHandler) {
+        this.roomRoutingWebSocketHandler = roomRoutingWebSocketHandler;
+    }
+
+    // One codec for all rooms, warmed up at startup so the first message is not slower
+    @Bean(initMethod = "warmUp")
+    public MessageCodec messageCodec() {
+        return MessageCodec.shared();
     }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(gameWebSocketHandler(), "/monopoly")
+        registry.addHandler(roomRoutingWebSocketHandler, "/monopoly")
                 .setAllowedOrigins("*");
     }
 }
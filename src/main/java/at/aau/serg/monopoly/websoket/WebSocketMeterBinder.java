@@ -0,0 +1,39 @@
+package at.aau.serg.monopoly.websoket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges of the /monopoly endpoint. They are read when the registry is scraped,
+ * nothing is recorded on the room or sender threads.
+ */
+@Component
+public class WebSocketMeterBinder implements MeterBinder {
+    private final RoomRoutingWebSocketHandler routingHandler;
+    private final GameRoomRegistry roomRegistry;
+
+    public WebSocketMeterBinder(RoomRoutingWebSocketHandler routingHandler, GameRoomRegistry roomRegistry) {
+        this.routingHandler = routingHandler;
+        this.roomRegistry = roomRegistry;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("monopoly.sessions.active", routingHandler, RoomRoutingWebSocketHandler::getOpenSessionCount)
+                .description("Open WebSocket connections")
+                .register(registry);
+        // Every room runs exactly one game
+        Gauge.builder("monopoly.games.active", roomRegistry, rooms -> rooms.getRooms().size())
+                .description("Game rooms with at least one session")
+                .register(registry);
+        Gauge.builder("monopoly.outbound.queue.depth", routingHandler, RoomRoutingWebSocketHandler::getQueuedFrameCount)
+                .description("Frames waiting in the outbound queues of all sessions")
+                .register(registry);
+        Gauge.builder("monopoly.outbound.queue.depth.max", routingHandler, RoomRoutingWebSocketHandler::getMaxQueueDepth)
+                .description("Deepest outbound queue of a single session")
+                .register(registry);
+    }
+}
@@ -0,0 +1,28 @@
+package at.aau.serg.monopoly.websoket;
+
+import java.util.Locale;
+
+// Encoding of the data.* messages on one connection, chosen by subprotocol or by the INIT "encoding" field
+public enum WireEncoding {
+    JSON("monopoly.json"),  // text frames, the default
+    CBOR("monopoly.cbor");  // binary frames with the same fields
+
+    private final String subProtocol;
+
+    WireEncoding(String subProtocol) {
+        this.subProtocol = subProtocol;
+    }
+
+    public String getSubProtocol() {
+        return subProtocol;
+    }
+
+    public static WireEncoding fromSubProtocol(String subProtocol) {
+        return CBOR.subProtocol.equals(subProtocol) ? CBOR : JSON;
+    }
+
+    // Unknown names keep the default instead of failing the INIT
+    public static WireEncoding fromName(String name) {
+        return name != null && CBOR.name().equals(name.toUpperCase(Locale.ROOT)) ? CBOR : JSON;
+    }
+}
@@ -23,6 +23,14 @@ public class DiceRollMessage {
         this.isPasch = isPasch;
     }
 
+    // Lets one instance be written again for the next roll instead of creating a new message
+    public void set(String pid, int val, boolean isManual, boolean isPasch) {
+        this.playerId = pid;
+        this.value    = val;
+        this.isManual = isManual;
+        this.isPasch = isPasch;
+    }
+
     public String getUserId() {
         return playerId;
     }
@@ -0,0 +1,34 @@
+package data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes since the previous state version. A null owner in propertyOwners means the property
+ * went back to the bank, a null currentPlayerId means the turn did not change.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class GameStateDelta {
+    private String type = "GAME_STATE_DELTA";
+    private long version;
+    private List<PlayerDelta> players;
+    private List<String> removedPlayers;
+    @JsonInclude(value = JsonInclude.Include.NON_EMPTY, content = JsonInclude.Include.ALWAYS)
+    private Map<Integer, String> propertyOwners;
+    private String currentPlayerId;
+
+    public GameStateDelta(long version, List<PlayerDelta> players, List<String> removedPlayers,
+                          Map<Integer, String> propertyOwners, String currentPlayerId) {
+        this.version = version;
+        this.players = players;
+        this.removedPlayers = removedPlayers;
+        this.propertyOwners = propertyOwners;
+        this.currentPlayerId = currentPlayerId;
+    }
+}
@@ -0,0 +1,28 @@
+package data;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full game state at a given version. Deltas with a higher version apply on top of it.
+ */
+@Data
+@NoArgsConstructor
+public class GameStateKeyframe {
+    private String type = "GAME_STATE_KEYFRAME";
+    private long version;
+    private List<PlayerInfo> players;
+    private Map<Integer, String> propertyOwners;
+    private String currentPlayerId;
+
+    public GameStateKeyframe(long version, List<PlayerInfo> players, Map<Integer, String> propertyOwners,
+                             String currentPlayerId) {
+        this.version = version;
+        this.players = players;
+        this.propertyOwners = propertyOwners;
+        this.currentPlayerId = currentPlayerId;
+    }
+}
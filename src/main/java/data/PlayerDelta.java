@@ -0,0 +1,58 @@
+package data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Objects;
+
+/**
+ * Changed fields of one player inside a GAME_STATE_DELTA. Fields that did not change are null
+ * and therefore not serialized. A player that is new to the client carries all fields.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlayerDelta {
+    private String id;
+    private String name;
+    private Integer money;
+    private Integer position;
+    private Boolean inJail;
+    private Integer jailTurns;
+
+    public PlayerDelta(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @param before The state the client knows, or null if the player is new
+     * @param after The current state
+     * @return The changed fields, or null if nothing changed
+     */
+    public static PlayerDelta between(PlayerInfo before, PlayerInfo after) {
+        PlayerDelta delta = new PlayerDelta(after.getId());
+        boolean changed = false;
+        if (before == null || !Objects.equals(before.getName(), after.getName())) {
+            delta.name = after.getName();
+            changed = true;
+        }
+        if (before == null || before.getMoney() != after.getMoney()) {
+            delta.money = after.getMoney();
+            changed = true;
+        }
+        if (before == null || before.getPosition() != after.getPosition()) {
+            delta.position = after.getPosition();
+            changed = true;
+        }
+        if (before == null || before.isInJail() != after.isInJail()) {
+            delta.inJail = after.isInJail();
+            changed = true;
+        }
+        if (before == null || before.getJailTurns() != after.getJailTurns()) {
+            delta.jailTurns = after.getJailTurns();
+            changed = true;
+        }
+        return changed ? delta : null;
+    }
+}
@@ -0,0 +1,7 @@
+package model;
+
+// Gets told whenever the cash of a player changes (rent, taxes, cards, deals, cheats)
+@FunctionalInterface
+public interface BalanceListener {
+    void balanceChanged(Player player, int previousMoney, int newMoney);
+}
@@ -1,6 +1,6 @@
 package model;
 
-import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 public record Dice(int sides) {
     public Dice {
@@ -9,7 +9,10 @@ public record Dice(int sides) {
         }
     }
     public int roll(){
-        SecureRandom random = new SecureRandom();
+        return ThreadLocalRandom.current().nextInt(sides) + 1;
+    }
+
+    public int roll(RandomSource random){
         return random.nextInt(sides) + 1;
     }
 }
@@ -1,16 +1,40 @@
 package model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Dice of one game. The roll history only keeps the last historyCapacity results,
+ * so memory stays the same no matter how long a game runs.
+ */
 public class DiceManager implements DiceManagerInterface {
-    private static List<Dice> dices;
-    private static List<Integer> rollHistory;
-    private List<Integer> lastRollValues;
+    public static final int DEFAULT_HISTORY_CAPACITY = 256;
+    private final List<Dice> dices = new ArrayList<>();
+    // Ring buffer: rollHistory[historyStart] is the oldest entry
+    private final int[] rollHistory;
+    private int historyStart;
+    private int historySize;
+    // Values of the last roll, one per dice; no list or boxing on the roll path
+    private int[] lastRollValues = new int[0];
+    private int lastRollCount = -1;
+    private final RandomSource random;
 
     public DiceManager() {
-        dices = new ArrayList<>();
-        rollHistory = new ArrayList<>();
+        this(RandomSource.create());
+    }
+
+    public DiceManager(RandomSource random) {
+        this(random, DEFAULT_HISTORY_CAPACITY);
+    }
+
+    public DiceManager(RandomSource random, int historyCapacity) {
+        if (historyCapacity < 1) {
+            throw new IllegalArgumentException("The roll history needs room for at least one roll!");
+        }
+        // Without a game (e.g. mocked) the dice get their own source
+        this.random = random != null ? random : RandomSource.create();
+        this.rollHistory = new int[historyCapacity];
     }
 
     public void initializeStandardDices() {
@@ -28,31 +52,82 @@ public class DiceManager implements DiceManagerInterface {
 
     @Override
     public int rollDices() {
+        int diceCount = dices.size();
+        if (lastRollValues.length < diceCount) {
+            lastRollValues = new int[diceCount];
+        }
         int rollResult = 0;
-        lastRollValues = new ArrayList<>();
-        for (Dice dice : dices) {
-            int value = dice.roll();
-            lastRollValues.add(value);
+        for (int i = 0; i < diceCount; i++) {
+            int value = dices.get(i).roll(random);
+            lastRollValues[i] = value;
             rollResult += value;
         }
-        rollHistory.add(rollResult);
+        lastRollCount = diceCount;
+        recordRoll(rollResult);
         return rollResult;
     }
 
+    /**
+     * @return Copy of the values of the last roll, or null if there was no roll yet.
+     */
     public List<Integer> getLastRollValues() {
-        return lastRollValues;
+        if (lastRollCount < 0) {
+            return null;
+        }
+        List<Integer> values = new ArrayList<>(lastRollCount);
+        for (int i = 0; i < lastRollCount; i++) {
+            values.add(lastRollValues[i]);
+        }
+        return values;
+    }
+
+    public int getLastRollCount() {
+        return Math.max(lastRollCount, 0);
+    }
+
+    public int getLastRollValue(int index) {
+        if (index < 0 || index >= lastRollCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getLastRollCount());
+        }
+        return lastRollValues[index];
     }
 
         @Override
         public boolean isPasch() {
-            return lastRollValues != null &&
-                    lastRollValues.size() == 2 &&
-                    lastRollValues.get(0).equals(lastRollValues.get(1));
+            return lastRollCount == 2 &&
+                    lastRollValues[0] == lastRollValues[1];
         }
 
+    /**
+     * @return Read-only view of the kept rolls, oldest first.
+     */
     @Override
     public List<Integer> getRollHistory() {
-        return rollHistory;
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                if (index < 0 || index >= historySize) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + historySize);
+                }
+                return rollHistory[(historyStart + index) % rollHistory.length];
+            }
+
+            @Override
+            public int size() {
+                return historySize;
+            }
+        };
+    }
+
+    // When full, the oldest roll is overwritten
+    private void recordRoll(int rollResult) {
+        if (historySize < rollHistory.length) {
+            rollHistory[(historyStart + historySize) % rollHistory.length] = rollResult;
+            historySize++;
+        } else {
+            rollHistory[historyStart] = rollResult;
+            historyStart = (historyStart + 1) % rollHistory.length;
+        }
     }
 
 }
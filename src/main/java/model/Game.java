@@ -1,20 +1,45 @@
 package model;
 import java.util.Date;
 import data.PlayerInfo;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 @Data
 public class Game {
     private List<Player> players;
+    // Index over players, kept in sync by every method that changes the list
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Map<String, Player> playersById = new ConcurrentHashMap<>();
+    // Position of each player in the turn order
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Map<String, Integer> turnOrderById = new ConcurrentHashMap<>();
     private boolean isStarted;
     private int currentPlayerIndex;
     private Date startTime;
     private String winnerId;
-
+    // Notified about cash changes of every player in this game, e.g. for bankruptcy checks
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private BalanceListener balanceListener;
+    // Dice, card decks and cheats of this game draw from here, replace it to replay a recorded seed
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RandomSource random = RandomSource.create();
 
     public Game() {
         this.players = new CopyOnWriteArrayList<>();
@@ -27,24 +52,47 @@ public class Game {
         this.startTime = new Date();
     }
 
+    /**
+     * The turn order is only changed through Game, so the list is handed out read-only
+     * to keep the player index consistent.
+     */
+    public List<Player> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players.forEach(player -> player.setBalanceListener(null));
+        this.players = new CopyOnWriteArrayList<>(players);
+        this.players.forEach(player -> player.setBalanceListener(balanceListener));
+        playersById.clear();
+        turnOrderById.clear();
+        reindexFrom(0);
+    }
+
     public void addPlayer(String id, String name) {
-        if(players.stream().noneMatch(p -> p.getId().equals(id))) {
-            players.add(new Player(id, name));
+        if (id != null && !playersById.containsKey(id)) {
+            Player player = new Player(id, name);
+            player.setBalanceListener(balanceListener);
+            players.add(player);
+            playersById.put(id, player);
+            turnOrderById.put(id, players.size() - 1);
         }
     }
 
+    public void clearPlayers() {
+        players.forEach(player -> player.setBalanceListener(null));
+        players.clear();
+        playersById.clear();
+        turnOrderById.clear();
+        currentPlayerIndex = 0;
+    }
+
     public void removePlayer(String id) {
         // Very similar implementation to giveUp(...) - see that for more details
-        int idx = -1;
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getId().equals(id)) {
-                idx = i;
-                break;
-            }
-        }
+        int idx = indexOf(id);
         if (idx < 0) return;
 
-        players.remove(idx);
+        removeAt(idx);
 
         if (idx < currentPlayerIndex) {
             currentPlayerIndex--;
@@ -61,15 +109,14 @@ public class Game {
     }
 
     public void updatePlayerMoney(String playerId, int amount) {
-        for (Player player : players) {
-            if (player.getId().equals(playerId)) {
-                if (amount > 0) {
-                    player.addMoney(amount);
-                } else {
-                    player.subtractMoney(Math.abs(amount));
-                }
-                break;
-            }
+        Player player = getPlayer(playerId);
+        if (player == null) {
+            return;
+        }
+        if (amount > 0) {
+            player.addMoney(amount);
+        } else {
+            player.subtractMoney(Math.abs(amount));
         }
     }
 
@@ -85,6 +132,15 @@ public class Game {
         players.get(currentPlayerIndex).setHasRolledThisTurn(false);
     }
 
+    /**
+     * Registers the listener on all current and future players of this game.
+     * @param balanceListener The listener, or null to stop notifications.
+     */
+    public void setBalanceListener(BalanceListener balanceListener) {
+        this.balanceListener = balanceListener;
+        players.forEach(player -> player.setBalanceListener(balanceListener));
+    }
+
     public List<PlayerInfo> getPlayerInfo() {
         List<PlayerInfo> info = new ArrayList<>();
         for (Player player : players) {
@@ -93,15 +149,55 @@ public class Game {
         return info;
     }
 
+    /**
+     * Checks a snapshot from getPlayerInfo against the live players without building a new one.
+     * @param info An earlier result of getPlayerInfo, may be null
+     * @return true if getPlayerInfo would return an equal list
+     */
+    public boolean matchesPlayerInfo(List<PlayerInfo> info) {
+        if (info == null || info.size() != players.size()) {
+            return false;
+        }
+        for (int i = 0; i < info.size(); i++) {
+            Player player = players.get(i);
+            PlayerInfo known = info.get(i);
+            if (known.getMoney() != player.getMoney()
+                    || known.getPosition() != player.getPosition()
+                    || known.isInJail() != player.isInJail()
+                    || known.getJailTurns() != player.getJailTurns()
+                    || !Objects.equals(known.getId(), player.getId())
+                    || !Objects.equals(known.getName(), player.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Finds a player by their unique ID.
      * @param id The ID of the player to find.
      * @return An Optional containing the Player if found, otherwise empty.
      */
     public Optional<Player> getPlayerById(String id) {
-        return players.stream()
-                .filter(player -> player.getId().equals(id))
-                .findFirst();
+        return Optional.ofNullable(getPlayer(id));
+    }
+
+    /**
+     * Same as getPlayerById, but without the Optional for hot paths.
+     * @param id The ID of the player to find.
+     * @return The player, or null if there is no player with this ID.
+     */
+    public Player getPlayer(String id) {
+        return id == null ? null : playersById.get(id);
+    }
+
+    /**
+     * @param id The ID of the player to find.
+     * @return The position of the player in the turn order, or -1 if there is no player with this ID.
+     */
+    public int indexOf(String id) {
+        Integer index = id == null ? null : turnOrderById.get(id);
+        return index == null ? -1 : index;
     }
 
     /**
@@ -123,33 +219,27 @@ public class Game {
      * @return If the player passes the Start field the method returns true, otherwise false.
      */
     public boolean updatePlayerPosition(int roll, String id){
-        for (Player player : players) {
-            if (player.getId().equals(id)) {
-                int oldPos = player.getPosition();
-                int newPos = (oldPos + roll) % 40;   // ensures 0–39
-                player.setPosition(newPos);
-
-                if (oldPos + roll >= 40) {
-                    player.addMoney(200);  // Add $200 for passing GO
-                    return true;
-                }
-            }
+        Player player = getPlayer(id);
+        if (player == null) {
+            return false;
+        }
+        int oldPos = player.getPosition();
+        int newPos = (oldPos + roll) % 40;   // ensures 0–39
+        player.setPosition(newPos);
+
+        if (oldPos + roll >= 40) {
+            player.addMoney(200);  // Add $200 for passing GO
+            return true;
         }
         return false;
     }
 
     public void giveUp(String playerId) {
         // Find the index of the player who sent GIVE_UP
-        int idx = -1;
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getId().equals(playerId)) {
-                idx = i;
-                break;
-            }
-        }
+        int idx = indexOf(playerId);
         if (idx < 0) return;
 
-        players.remove(idx);
+        removeAt(idx);
 
         // If we remove the current player than the next turn is still the same index
         if (idx == currentPlayerIndex) {
@@ -208,11 +298,29 @@ public class Game {
     }
 
     public void sendToJail(String playerId) {
-        getPlayerById(playerId).ifPresent(player -> {
+        Player player = getPlayer(playerId);
+        if (player != null) {
             player.setInJail(true);
             player.setJailTurns(2);
             player.setPosition(10);
-        });
+        }
+    }
+
+    private void removeAt(int idx) {
+        Player removed = players.remove(idx);
+        removed.setBalanceListener(null);
+        playersById.remove(removed.getId());
+        turnOrderById.remove(removed.getId());
+        reindexFrom(idx);
+    }
+
+    // Players behind a removed one move up by one in the turn order
+    private void reindexFrom(int from) {
+        for (int i = from; i < players.size(); i++) {
+            Player player = players.get(i);
+            playersById.put(player.getId(), player);
+            turnOrderById.put(player.getId(), i);
+        }
     }
 
 }
\ No newline at end of file
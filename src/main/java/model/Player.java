@@ -1,6 +1,10 @@
 package model;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 
 @Data
 public class Player {
@@ -13,6 +17,12 @@ public class Player {
     private boolean hasRolledThisTurn = false;
     private boolean inJail = false;
     private int jailTurns = 2;
+    // Set by Game, every cash change goes through changeMoney
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private BalanceListener balanceListener;
 
     public Player(String id, String name) {
         this.id = id;
@@ -20,12 +30,28 @@ public class Player {
         this.money = STARTING_MONEY;
     }
 
+    public void setMoney(int money) {
+        changeMoney(money);
+    }
+
     public void addMoney(int amount) {
-        this.money += amount;
+        changeMoney(this.money + amount);
     }
 
     public void subtractMoney(int amount) {
-        this.money -= amount;
+        changeMoney(this.money - amount);
+    }
+
+    void setBalanceListener(BalanceListener balanceListener) {
+        this.balanceListener = balanceListener;
+    }
+
+    private void changeMoney(int newMoney) {
+        int previousMoney = this.money;
+        this.money = newMoney;
+        if (balanceListener != null && previousMoney != newMoney) {
+            balanceListener.balanceChanged(this, previousMoney, newMoney);
+        }
     }
 
     public boolean hasRolledThisTurn() {
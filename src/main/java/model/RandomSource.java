@@ -0,0 +1,52 @@
+package model;
+
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Source of random numbers for one game (dice, card decks, cheats).
+ * Not thread safe, every game uses its own instance.
+ */
+public interface RandomSource {
+    /**
+     * @param bound Upper bound (exclusive), must be positive.
+     * @return A value between 0 (inclusive) and bound (exclusive).
+     */
+    int nextInt(int bound);
+
+    boolean nextBoolean();
+
+    double nextDouble();
+
+    /**
+     * @return The seed this source was created with, so that a game can be replayed.
+     */
+    long seed();
+
+    /**
+     * @return An independent source derived from this one, deterministic if this one is.
+     */
+    RandomSource split();
+
+    // Fisher-Yates, same result as Collections.shuffle but with this source
+    default <T> void shuffle(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, nextInt(i + 1));
+        }
+    }
+
+    /**
+     * Creates a fast source seeded once from SecureRandom.
+     */
+    static RandomSource create() {
+        return seeded(new SecureRandom().nextLong());
+    }
+
+    /**
+     * Creates a source that always produces the same numbers for the same seed.
+     */
+    static RandomSource seeded(long seed) {
+        return new SplittableRandomSource(seed);
+    }
+}
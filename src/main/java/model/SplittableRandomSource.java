@@ -0,0 +1,42 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * RandomSource based on SplittableRandom: no locking, no entropy pool access after the seed.
+ */
+class SplittableRandomSource implements RandomSource {
+    private final long seed;
+    private final SplittableRandom random;
+
+    SplittableRandomSource(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public long seed() {
+        return seed;
+    }
+
+    @Override
+    public RandomSource split() {
+        // The child gets its own seed, so it can be replayed on its own
+        return new SplittableRandomSource(random.nextLong());
+    }
+}
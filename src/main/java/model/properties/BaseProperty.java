@@ -1,16 +1,24 @@
 package model.properties;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import model.Player;
 
+import java.util.Objects;
+
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public abstract class BaseProperty {
     protected int id;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     protected String ownerId; // Changed from Integer to String
     protected String name;
     protected int purchasePrice;
@@ -18,9 +26,78 @@ public abstract class BaseProperty {
     protected String image;
     protected int position;
 
-    @JsonProperty("isMortgaged")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     protected boolean isMortgaged;
 
+    // Set by BoardTemplate.newBoard, owner and mortgage flag then live in this slot of the game's BoardState
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private BoardState boardState;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int slot;
+    // Set by PropertyService, keeps the OwnershipIndex in sync with ownerId
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private OwnershipListener ownershipListener;
+
+    protected BaseProperty(int id, String ownerId, String name, int purchasePrice, int mortgageValue,
+                           String image, int position, boolean isMortgaged) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.name = name;
+        this.purchasePrice = purchasePrice;
+        this.mortgageValue = mortgageValue;
+        this.image = image;
+        this.position = position;
+        this.isMortgaged = isMortgaged;
+    }
+
+    public String getOwnerId() {
+        return boardState != null ? boardState.getOwnerId(slot) : ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        String previousOwnerId = getOwnerId();
+        if (boardState != null) {
+            boardState.setOwnerId(slot, ownerId);
+        } else {
+            this.ownerId = ownerId;
+        }
+        if (ownershipListener != null && !Objects.equals(previousOwnerId, ownerId)) {
+            ownershipListener.ownerChanged(this, previousOwnerId, ownerId);
+        }
+    }
+
+    @JsonProperty("isMortgaged")
+    public boolean isMortgaged() {
+        return boardState != null ? boardState.isMortgaged(slot) : isMortgaged;
+    }
+
+    @JsonProperty("isMortgaged")
+    public void setMortgaged(boolean isMortgaged) {
+        if (boardState != null) {
+            boardState.setMortgaged(slot, isMortgaged);
+        } else {
+            this.isMortgaged = isMortgaged;
+        }
+    }
+
+    // Moves owner and mortgage flag into the board's state, the fields are no longer used afterwards
+    void bind(BoardState boardState, int slot) {
+        this.boardState = boardState;
+        this.slot = slot;
+        this.ownerId = null;
+        this.isMortgaged = false;
+    }
+
     /**
      * Calculates the rent for this property based on its type and owner
      * @param owner The owner of the property
@@ -29,4 +106,3 @@ public abstract class BaseProperty {
      */
     public abstract int calculateRent(Player owner, Player renter);
 }
-
@@ -0,0 +1,214 @@
+package model.properties;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Mutable part of one game's board: owner, mortgage flag and number of houses per property.
+ * Properties created by a BoardTemplate read and write their state here, one slot each,
+ * so resetting a game only copies the initial values back instead of reloading the board.
+ * <p>
+ * Everything is kept in primitive arrays: owners as a byte per slot that points into the
+ * table of player ids that currently own something on this board (0 = no owner), houses as a
+ * byte per slot and the mortgage flags as a bitset. A snapshot is therefore just a copy of these arrays.
+ * An owner id is released as soon as its last property goes to someone else, so the table never
+ * holds more ids than the board has properties.
+ */
+public class BoardState {
+    private static final int NO_OWNER = 0;
+    // Owner slots are read as unsigned bytes, 0 is reserved for "no owner", so boards are limited to 255 properties
+    static final int MAX_OWNERS = 255;
+    // Houses are kept as a byte per slot
+    static final int MAX_HOUSES = Byte.MAX_VALUE;
+
+    private final String[] initialOwnerIds;
+    private final boolean[] initialMortgaged;
+    private final byte[] ownerSlots;
+    private final byte[] houses;
+    private final long[] mortgaged;
+    // Interned player ids of this board, index = owner slot - 1, null = free
+    private String[] ownerIds = new String[4];
+    // Number of properties per owner slot, the slot is freed when it drops to 0
+    private int[] ownedCounts = new int[4];
+    private int ownerCount;
+    private final Map<String, Integer> ownerSlotById = new HashMap<>();
+
+    BoardState(String[] initialOwnerIds, boolean[] initialMortgaged) {
+        if (initialOwnerIds.length > MAX_OWNERS) {
+            throw new IllegalArgumentException("A board can have at most " + MAX_OWNERS + " properties");
+        }
+        this.initialOwnerIds = initialOwnerIds;
+        this.initialMortgaged = initialMortgaged;
+        this.ownerSlots = new byte[initialOwnerIds.length];
+        this.houses = new byte[initialOwnerIds.length];
+        this.mortgaged = new long[(initialOwnerIds.length + 63) >>> 6];
+        reset();
+    }
+
+    public int size() {
+        return ownerSlots.length;
+    }
+
+    public String getOwnerId(int slot) {
+        int owner = ownerSlots[slot] & 0xFF;
+        return owner == NO_OWNER ? null : ownerIds[owner - 1];
+    }
+
+    public boolean isMortgaged(int slot) {
+        return (mortgaged[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public int getHouses(int slot) {
+        return houses[slot];
+    }
+
+    /**
+     * Puts every property back into the state it had in the template and forgets all owners.
+     * Does not notify ownership listeners, callers rebuild their index afterwards.
+     */
+    public void reset() {
+        clearOwners();
+        Arrays.fill(houses, (byte) 0);
+        Arrays.fill(mortgaged, 0L);
+        for (int slot = 0; slot < ownerSlots.length; slot++) {
+            ownerSlots[slot] = (byte) NO_OWNER;
+            setOwnerId(slot, initialOwnerIds[slot]);
+            if (initialMortgaged[slot]) {
+                mortgaged[slot >>> 6] |= 1L << slot;
+            }
+        }
+    }
+
+    /**
+     * Copies the current state, e.g. to restore it later or to hand it to another thread.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(ownerSlots.clone(), houses.clone(), mortgaged.clone(),
+                Arrays.copyOf(ownerIds, ownerCount));
+    }
+
+    /**
+     * Puts the board back into a state taken from this board with snapshot().
+     * Does not notify ownership listeners, callers rebuild their index afterwards.
+     */
+    public void restore(Snapshot snapshot) {
+        if (snapshot.ownerSlots.length != ownerSlots.length) {
+            throw new IllegalArgumentException("Snapshot is from a different board");
+        }
+        System.arraycopy(snapshot.ownerSlots, 0, ownerSlots, 0, ownerSlots.length);
+        System.arraycopy(snapshot.houses, 0, houses, 0, houses.length);
+        System.arraycopy(snapshot.mortgaged, 0, mortgaged, 0, mortgaged.length);
+        clearOwners();
+        // Same owner slots as in the snapshot, freed ones stay free
+        ownerCount = snapshot.ownerIds.length;
+        ownerIds = Arrays.copyOf(snapshot.ownerIds, Math.max(ownerCount, 4));
+        ownedCounts = new int[ownerIds.length];
+        for (int owner = 1; owner <= ownerCount; owner++) {
+            if (ownerIds[owner - 1] != null) {
+                ownerSlotById.put(ownerIds[owner - 1], owner);
+            }
+        }
+        for (byte ownerSlot : ownerSlots) {
+            int owner = ownerSlot & 0xFF;
+            if (owner != NO_OWNER) {
+                ownedCounts[owner - 1]++;
+            }
+        }
+    }
+
+    // Writes only go through the properties, so that ownership listeners are told
+    void setOwnerId(int slot, String ownerId) {
+        if (Objects.equals(getOwnerId(slot), ownerId)) {
+            return;
+        }
+        // Release first, so a board never needs more owner slots than it has properties
+        int previous = ownerSlots[slot] & 0xFF;
+        if (previous != NO_OWNER && --ownedCounts[previous - 1] == 0) {
+            release(previous);
+        }
+        int owner = intern(ownerId);
+        ownerSlots[slot] = (byte) owner;
+        if (owner != NO_OWNER) {
+            ownedCounts[owner - 1]++;
+        }
+    }
+
+    void setMortgaged(int slot, boolean isMortgaged) {
+        if (isMortgaged) {
+            mortgaged[slot >>> 6] |= 1L << slot;
+        } else {
+            mortgaged[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    // Range checked by HouseableProperty.setHouses
+    void setHouses(int slot, int count) {
+        houses[slot] = (byte) count;
+    }
+
+    // Owner slot of a player id, players get a free slot when they start owning something
+    private int intern(String ownerId) {
+        if (ownerId == null) {
+            return NO_OWNER;
+        }
+        Integer owner = ownerSlotById.get(ownerId);
+        if (owner != null) {
+            return owner;
+        }
+        int free = 0;
+        while (free < ownerCount && ownerIds[free] != null) {
+            free++;
+        }
+        // Only reachable with more owners than properties, which the constructor rules out
+        if (free == MAX_OWNERS) {
+            throw new IllegalStateException("Too many different owners on one board");
+        }
+        if (free == ownerCount) {
+            if (ownerCount == ownerIds.length) {
+                int capacity = Math.min(ownerIds.length * 2, MAX_OWNERS);
+                ownerIds = Arrays.copyOf(ownerIds, capacity);
+                ownedCounts = Arrays.copyOf(ownedCounts, capacity);
+            }
+            ownerCount++;
+        }
+        ownerIds[free] = ownerId;
+        ownedCounts[free] = 0;
+        ownerSlotById.put(ownerId, free + 1);
+        return free + 1;
+    }
+
+    // The owner has no property left on this board, its slot can be reused
+    private void release(int owner) {
+        ownerSlotById.remove(ownerIds[owner - 1]);
+        ownerIds[owner - 1] = null;
+        while (ownerCount > 0 && ownerIds[ownerCount - 1] == null) {
+            ownerCount--;
+        }
+    }
+
+    private void clearOwners() {
+        Arrays.fill(ownerIds, 0, ownerCount, null);
+        Arrays.fill(ownedCounts, 0, ownerCount, 0);
+        ownerCount = 0;
+        ownerSlotById.clear();
+    }
+
+    /**
+     * Copy of a BoardState, only usable with the board it was taken from.
+     */
+    public static final class Snapshot {
+        private final byte[] ownerSlots;
+        private final byte[] houses;
+        private final long[] mortgaged;
+        private final String[] ownerIds;
+
+        private Snapshot(byte[] ownerSlots, byte[] houses, long[] mortgaged, String[] ownerIds) {
+            this.ownerSlots = ownerSlots;
+            this.houses = houses;
+            this.mortgaged = mortgaged;
+            this.ownerIds = ownerIds;
+        }
+    }
+}
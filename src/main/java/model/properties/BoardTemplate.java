@@ -0,0 +1,184 @@
+package model.properties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Static board data (names, prices, rents, positions) parsed once and shared by all games.
+ * The template keeps the data as immutable records. {@link #newBoard()} creates the property
+ * objects of one game from them and binds them to a fresh BoardState, which holds owner,
+ * mortgage flag and houses of that game.
+ */
+public final class BoardTemplate {
+    public static final int BOARD_SIZE = 40;
+    // No property at this position or with this id
+    public static final int NO_SLOT = -1;
+
+    private final List<Street> streets;
+    private final List<Station> stations;
+    private final List<UtilityData> utilities;
+    private final String[] initialOwnerIds;
+    private final boolean[] initialMortgaged;
+    // Slot of the property per board position and per id, streets win over stations and utilities
+    private final int[] slotByPosition = new int[BOARD_SIZE];
+    private final int[] slotById;
+
+    public BoardTemplate(List<HouseableProperty> houseableProperties, List<TrainStation> trainStations,
+                         List<Utility> utilities) {
+        List<BaseProperty> all = new ArrayList<>();
+        addAll(all, houseableProperties);
+        addAll(all, trainStations);
+        addAll(all, utilities);
+        this.streets = toRecords(houseableProperties, Street::of);
+        this.stations = toRecords(trainStations, Station::of);
+        this.utilities = toRecords(utilities, UtilityData::of);
+
+        initialOwnerIds = new String[all.size()];
+        initialMortgaged = new boolean[all.size()];
+        int maxId = NO_SLOT;
+        for (BaseProperty property : all) {
+            maxId = Math.max(maxId, property.getId());
+        }
+        slotById = new int[maxId + 1];
+        Arrays.fill(slotById, NO_SLOT);
+        Arrays.fill(slotByPosition, NO_SLOT);
+
+        int slot = 0;
+        for (BaseProperty property : all) {
+            initialOwnerIds[slot] = property.getOwnerId();
+            initialMortgaged[slot] = property.isMortgaged();
+            int position = property.getPosition();
+            if (position >= 0 && position < BOARD_SIZE && slotByPosition[position] == NO_SLOT) {
+                slotByPosition[position] = slot;
+            }
+            if (property.getId() >= 0 && slotById[property.getId()] == NO_SLOT) {
+                slotById[property.getId()] = slot;
+            }
+            slot++;
+        }
+    }
+
+    public int size() {
+        return initialOwnerIds.length;
+    }
+
+    /**
+     * @return The slot of the property on this board position, or NO_SLOT
+     */
+    public int slotAtPosition(int position) {
+        return position >= 0 && position < BOARD_SIZE ? slotByPosition[position] : NO_SLOT;
+    }
+
+    /**
+     * @return The slot of the property with this id, or NO_SLOT
+     */
+    public int slotOfId(int id) {
+        return id >= 0 && id < slotById.length ? slotById[id] : NO_SLOT;
+    }
+
+    // Highest property id plus one
+    public int idRange() {
+        return slotById.length;
+    }
+
+    /**
+     * Creates the properties of a new game, all backed by one fresh BoardState.
+     * Names and images are shared with the template, only the objects and the state arrays are new.
+     */
+    public Board newBoard() {
+        BoardState state = new BoardState(initialOwnerIds, initialMortgaged);
+        List<HouseableProperty> houseables = new ArrayList<>(streets.size());
+        List<TrainStation> trainStations = new ArrayList<>(stations.size());
+        List<Utility> utilityProperties = new ArrayList<>(utilities.size());
+        int slot = 0;
+        for (Street street : streets) {
+            houseables.add(bind(street.create(), state, slot++));
+        }
+        for (Station station : stations) {
+            trainStations.add(bind(station.create(), state, slot++));
+        }
+        for (UtilityData utility : utilities) {
+            utilityProperties.add(bind(utility.create(), state, slot++));
+        }
+        return new Board(state, Collections.unmodifiableList(houseables),
+                Collections.unmodifiableList(trainStations), Collections.unmodifiableList(utilityProperties));
+    }
+
+    private static <T extends BaseProperty> T bind(T property, BoardState state, int slot) {
+        property.bind(state, slot);
+        return property;
+    }
+
+    private static void addAll(List<BaseProperty> target, List<? extends BaseProperty> properties) {
+        if (properties != null) {
+            target.addAll(properties);
+        }
+    }
+
+    private static <P, R> List<R> toRecords(List<P> properties, Function<P, R> toRecord) {
+        return properties == null ? List.of() : properties.stream().map(toRecord).toList();
+    }
+
+    /**
+     * The properties of one game together with the state behind them.
+     * Slots count through the streets first, then the train stations, then the utilities.
+     */
+    public record Board(BoardState state, List<HouseableProperty> houseableProperties,
+                        List<TrainStation> trainStations, List<Utility> utilities) {
+        public BaseProperty propertyAt(int slot) {
+            if (slot < houseableProperties.size()) {
+                return houseableProperties.get(slot);
+            }
+            slot -= houseableProperties.size();
+            if (slot < trainStations.size()) {
+                return trainStations.get(slot);
+            }
+            return utilities.get(slot - trainStations.size());
+        }
+    }
+
+    // Static data of a street, owner and mortgage flag go to the initial state instead
+    private record Street(int id, String name, int purchasePrice, int baseRent, int rent1House,
+                          int rent2Houses, int rent3Houses, int rent4Houses, int rentHotel,
+                          int housePrice, int hotelPrice, int mortgageValue, String image, int position) {
+        static Street of(HouseableProperty p) {
+            return new Street(p.getId(), p.getName(), p.getPurchasePrice(), p.getBaseRent(), p.getRent1House(),
+                    p.getRent2Houses(), p.getRent3Houses(), p.getRent4Houses(), p.getRentHotel(),
+                    p.getHousePrice(), p.getHotelPrice(), p.getMortgageValue(), p.getImage(), p.getPosition());
+        }
+
+        HouseableProperty create() {
+            return new HouseableProperty(id, null, name, purchasePrice, baseRent, rent1House, rent2Houses,
+                    rent3Houses, rent4Houses, rentHotel, housePrice, hotelPrice, mortgageValue, false, image, position);
+        }
+    }
+
+    private record Station(int id, String name, int purchasePrice, int baseRent, int rent2Stations,
+                           int rent3Stations, int rent4Stations, int mortgageValue, String image, int position) {
+        static Station of(TrainStation p) {
+            return new Station(p.getId(), p.getName(), p.getPurchasePrice(), p.getBaseRent(), p.getRent2Stations(),
+                    p.getRent3Stations(), p.getRent4Stations(), p.getMortgageValue(), p.getImage(), p.getPosition());
+        }
+
+        TrainStation create() {
+            return new TrainStation(id, null, name, purchasePrice, baseRent, rent2Stations, rent3Stations,
+                    rent4Stations, mortgageValue, false, image, position);
+        }
+    }
+
+    private record UtilityData(int id, String name, int purchasePrice, int rentOneUtilityMultiplier,
+                               int rentTwoUtilitiesMultiplier, int mortgageValue, String image, int position) {
+        static UtilityData of(Utility p) {
+            return new UtilityData(p.getId(), p.getName(), p.getPurchasePrice(), p.getRentOneUtilityMultiplier(),
+                    p.getRentTwoUtilitiesMultiplier(), p.getMortgageValue(), p.getImage(), p.getPosition());
+        }
+
+        Utility create() {
+            return new Utility(id, null, name, purchasePrice, rentOneUtilityMultiplier, rentTwoUtilitiesMultiplier,
+                    mortgageValue, false, image, position);
+        }
+    }
+}
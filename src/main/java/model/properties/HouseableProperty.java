@@ -1,10 +1,18 @@
 package model.properties;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import model.Player;
 
 @Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
 @NoArgsConstructor
 public class HouseableProperty extends BaseProperty {
     private int baseRent;
@@ -15,6 +23,10 @@ public class HouseableProperty extends BaseProperty {
     private int rentHotel;
     private int housePrice;
     private int hotelPrice;
+    // Only used while the property is not on a game board, per game state and not part of the property JSON
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int houses;
 
     public HouseableProperty(int id, String ownerId, String name, int purchasePrice,
                              int baseRent, int rent1House, int rent2Houses, int rent3Houses,
@@ -31,6 +43,29 @@ public class HouseableProperty extends BaseProperty {
         this.hotelPrice = hotelPrice;
     }
 
+    @JsonIgnore
+    public int getHouses() {
+        return getBoardState() != null ? getBoardState().getHouses(getSlot()) : houses;
+    }
+
+    @JsonIgnore
+    public void setHouses(int houses) {
+        if (houses < 0 || houses > BoardState.MAX_HOUSES) {
+            throw new IllegalArgumentException("Invalid number of houses: " + houses);
+        }
+        if (getBoardState() != null) {
+            getBoardState().setHouses(getSlot(), houses);
+        } else {
+            this.houses = houses;
+        }
+    }
+
+    @Override
+    void bind(BoardState boardState, int slot) {
+        super.bind(boardState, slot);
+        this.houses = 0;
+    }
+
     @Override
     public int calculateRent(Player owner, Player renter) {
         // For now, just return base rent
@@ -0,0 +1,121 @@
+package model.properties;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Properties per owner, kept up to date through BaseProperty.setOwnerId.
+ * Also keeps the liquidation value (half the purchase price) and the number of
+ * train stations and utilities per owner, so bankruptcy checks and rent need no board scan.
+ */
+public class OwnershipIndex implements OwnershipListener {
+    // Properties are mutable @Data objects, so sets are identity based
+    private final Set<BaseProperty> tracked = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, Set<BaseProperty>> propertiesByOwner = new HashMap<>();
+    private final Map<String, Integer> liquidationValueByOwner = new HashMap<>();
+    private final Map<String, Integer> trainStationsByOwner = new HashMap<>();
+    private final Map<String, Integer> utilitiesByOwner = new HashMap<>();
+    // Told about every owner change after the index was updated, survives rebuilds
+    private OwnershipListener changeListener;
+
+    public synchronized void setChangeListener(OwnershipListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public synchronized OwnershipListener getChangeListener() {
+        return changeListener;
+    }
+
+    /**
+     * Forgets everything and indexes the given properties with their current owners.
+     */
+    public synchronized void rebuild(Collection<? extends BaseProperty> properties) {
+        for (BaseProperty property : tracked) {
+            property.setOwnershipListener(null);
+        }
+        tracked.clear();
+        propertiesByOwner.clear();
+        liquidationValueByOwner.clear();
+        trainStationsByOwner.clear();
+        utilitiesByOwner.clear();
+
+        for (BaseProperty property : properties) {
+            if (tracked.add(property)) {
+                property.setOwnershipListener(this);
+                add(property.getOwnerId(), property);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void ownerChanged(BaseProperty property, String previousOwnerId, String newOwnerId) {
+        if (!tracked.contains(property)) {
+            return;
+        }
+        remove(previousOwnerId, property);
+        add(newOwnerId, property);
+        if (changeListener != null) {
+            changeListener.ownerChanged(property, previousOwnerId, newOwnerId);
+        }
+    }
+
+    public synchronized Set<BaseProperty> getProperties(String ownerId) {
+        Set<BaseProperty> owned = propertiesByOwner.get(ownerId);
+        return owned == null ? Collections.emptySet() : Collections.unmodifiableSet(owned);
+    }
+
+    public synchronized int getLiquidationValue(String ownerId) {
+        return liquidationValueByOwner.getOrDefault(ownerId, 0);
+    }
+
+    public synchronized int countTrainStations(String ownerId) {
+        return trainStationsByOwner.getOrDefault(ownerId, 0);
+    }
+
+    public synchronized int countUtilities(String ownerId) {
+        return utilitiesByOwner.getOrDefault(ownerId, 0);
+    }
+
+    private void add(String ownerId, BaseProperty property) {
+        if (ownerId == null) {
+            return;
+        }
+        propertiesByOwner.computeIfAbsent(ownerId, id -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                .add(property);
+        liquidationValueByOwner.merge(ownerId, property.getPurchasePrice() / 2, Integer::sum);
+        countGroup(ownerId, property, 1);
+    }
+
+    private void remove(String ownerId, BaseProperty property) {
+        if (ownerId == null) {
+            return;
+        }
+        Set<BaseProperty> owned = propertiesByOwner.get(ownerId);
+        if (owned == null || !owned.remove(property)) {
+            return;
+        }
+        if (owned.isEmpty()) {
+            propertiesByOwner.remove(ownerId);
+        }
+        liquidationValueByOwner.merge(ownerId, -(property.getPurchasePrice() / 2), OwnershipIndex::sumOrRemove);
+        countGroup(ownerId, property, -1);
+    }
+
+    private void countGroup(String ownerId, BaseProperty property, int delta) {
+        if (property instanceof TrainStation) {
+            trainStationsByOwner.merge(ownerId, delta, OwnershipIndex::sumOrRemove);
+        } else if (property instanceof Utility) {
+            utilitiesByOwner.merge(ownerId, delta, OwnershipIndex::sumOrRemove);
+        }
+    }
+
+    // Returning null from merge removes the entry, so owners that sold everything disappear
+    private static Integer sumOrRemove(Integer current, Integer delta) {
+        int sum = current + delta;
+        return sum == 0 ? null : sum;
+    }
+}
@@ -0,0 +1,7 @@
+package model.properties;
+
+// Gets told whenever the owner of a property changes (buy, sell, trade, reset)
+@FunctionalInterface
+public interface OwnershipListener {
+    void ownerChanged(BaseProperty property, String previousOwnerId, String newOwnerId);
+}
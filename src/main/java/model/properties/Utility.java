@@ -1,18 +1,25 @@
 package model.properties;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import model.Player;
 import at.aau.serg.monopoly.websoket.PropertyService;
-import org.springframework.beans.factory.annotation.Autowired;
 
 @Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
 @NoArgsConstructor
 public class Utility extends BaseProperty {
     private int rentOneUtilityMultiplier;
     private int rentTwoUtilitiesMultiplier;
 
-    @Autowired
+    // Not set on the game boards, their utilities charge the single utility rent
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private PropertyService propertyService;
 
     public Utility(int id, String ownerId, String name, int purchasePrice,
@@ -30,10 +37,12 @@ public class Utility extends BaseProperty {
         }
 
         // Get the number of utilities owned by the owner
-        int ownedUtilities = propertyService.getUtilities().stream()
-                .filter(u -> owner.getId().equals(u.getOwnerId()))
-                .toList()
-                .size();
+        OwnershipIndex ownershipIndex = propertyService.getOwnershipIndex();
+        int ownedUtilities = ownershipIndex != null
+                ? ownershipIndex.countUtilities(owner.getId())
+                : (int) propertyService.getUtilities().stream()
+                        .filter(u -> owner.getId().equals(u.getOwnerId()))
+                        .count();
 
         // Calculate rent based on number of utilities owned
         return ownedUtilities == 1 ? 
@@ -0,0 +1,165 @@
+package at.aau.serg.monopoly.engine;
+
+import model.DiceManagerInterface;
+import model.Game;
+import model.Player;
+import model.cards.CardType;
+import model.properties.BaseProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameEngineTest {
+    private Game game;
+    private GameEngine engine;
+    private Player first;
+    private Player second;
+    private final List<String> events = new ArrayList<>();
+    private final GameEventListener recorder = new GameEventListener() {
+        @Override
+        public void sentToJail(Player player) {
+            events.add("jail " + player.getId());
+        }
+
+        @Override
+        public void releasedFromJail(Player player) {
+            events.add("released " + player.getId());
+        }
+
+        @Override
+        public void taxPaid(Player player, int amount, String taxType) {
+            events.add("tax " + amount + " " + taxType);
+        }
+
+        @Override
+        public void rentDue(Player renter, Player owner, BaseProperty property, int amount) {
+            events.add("rent due " + amount);
+        }
+
+        @Override
+        public void rentCollected(Player renter, Player owner, BaseProperty property, int amount, boolean collected) {
+            events.add("rent collected " + collected);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer("p1", "Alice");
+        game.addPlayer("p2", "Bob");
+        game.start();
+        engine = GameEngine.withOwnBoard(game);
+        first = game.getPlayer("p1");
+        second = game.getPlayer("p2");
+    }
+
+    @Test
+    void testCheckRoll() {
+        assertEquals(GameEngine.RollCheck.ALLOWED, engine.checkRoll("p1"));
+        assertEquals(GameEngine.RollCheck.NOT_YOUR_TURN, engine.checkRoll("p2"));
+
+        first.setHasRolledThisTurn(true);
+        assertEquals(GameEngine.RollCheck.ALREADY_ROLLED, engine.checkRoll("p1"));
+
+        game.sendToJail("p1");
+        assertEquals(GameEngine.RollCheck.IN_JAIL, engine.checkRoll("p1"));
+    }
+
+    @Test
+    void testLandOnIncomeTax() {
+        first.setPosition(GameEngine.INCOME_TAX_SQUARE);
+
+        engine.land(first, recorder);
+
+        assertEquals(1500 - GameEngine.INCOME_TAX, first.getMoney());
+        assertEquals(List.of("tax 200 EINKOMMENSTEUER"), events);
+    }
+
+    @Test
+    void testRollAndMoveDoesNotResolveTheSquare() {
+        DiceManagerInterface dice = mock(DiceManagerInterface.class);
+        when(dice.rollDices()).thenReturn(GameEngine.INCOME_TAX_SQUARE);
+
+        assertEquals(GameEngine.INCOME_TAX_SQUARE, engine.rollAndMove(first, dice, recorder));
+
+        assertEquals(GameEngine.INCOME_TAX_SQUARE, first.getPosition());
+        assertEquals(1500, first.getMoney());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testLandOnGoToJail() {
+        first.setPosition(GameEngine.GO_TO_JAIL_SQUARE);
+
+        engine.land(first, recorder);
+
+        assertTrue(first.isInJail());
+        assertEquals(GameEngine.JAIL_SQUARE, first.getPosition());
+        assertEquals(List.of("jail p1"), events);
+    }
+
+    @Test
+    void testLandOnOwnedPropertyPaysRent() {
+        BaseProperty property = engine.getPropertyService().getPropertyByPosition(1);
+        property.setOwnerId("p2");
+        first.setPosition(1);
+
+        engine.land(first, recorder);
+
+        int rent = 1500 - first.getMoney();
+        assertTrue(rent > 0);
+        assertEquals(1500 + rent, second.getMoney());
+        assertEquals(List.of("rent due " + rent, "rent collected true"), events);
+    }
+
+    @Test
+    void testBuyPropertyOnlyWhenStandingOnIt() {
+        BaseProperty property = engine.getPropertyService().getPropertyByPosition(1);
+
+        assertEquals(GameEngine.BuyResult.NOT_ALLOWED, engine.buyProperty(first, property.getId()));
+
+        first.setPosition(1);
+        assertEquals(GameEngine.BuyResult.BOUGHT, engine.buyProperty(first, property.getId()));
+        assertEquals("p1", property.getOwnerId());
+        assertEquals(property.getPurchasePrice() / 2, engine.liquidationValue("p1"));
+    }
+
+    @Test
+    void testEndTurnServesJailTurns() {
+        game.sendToJail("p1");
+
+        assertFalse(engine.endTurn("p2", recorder));
+        assertTrue(engine.endTurn("p1", recorder));
+        assertTrue(game.isPlayerTurn("p2"));
+        assertTrue(first.isInJail());
+
+        engine.endTurn("p2", recorder);
+        engine.endTurn("p1", recorder);
+        assertFalse(first.isInJail());
+        assertEquals(List.of("released p1"), events);
+    }
+
+    @Test
+    void testBankruptWhenNetWorthIsZero() {
+        first.setMoney(0);
+        assertTrue(engine.isBankrupt(first));
+
+        first.setPosition(1);
+        first.setMoney(60);
+        engine.buyProperty(first, engine.getPropertyService().getPropertyByPosition(1).getId());
+        assertFalse(engine.isBankrupt(first));
+    }
+
+    @Test
+    void testCardSquares() {
+        assertEquals(CardType.CHANCE, GameEngine.cardSquare(7));
+        assertEquals(CardType.COMMUNITY_CHEST, GameEngine.cardSquare(17));
+        assertNull(GameEngine.cardSquare(1));
+    }
+}
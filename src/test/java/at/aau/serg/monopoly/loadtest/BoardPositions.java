@@ -0,0 +1,35 @@
+package at.aau.serg.monopoly.loadtest;
+
+import at.aau.serg.monopoly.websoket.PropertyService;
+import model.properties.BaseProperty;
+
+/**
+ * Board squares of propertyData.json, so bots know which property they stand on
+ * without asking the server. Read-only after construction and shared by all bots.
+ */
+final class BoardPositions {
+    private static final int SQUARES = 40;
+    private final int[] propertyIds = new int[SQUARES];
+    private final int[] prices = new int[SQUARES];
+
+    BoardPositions() {
+        PropertyService propertyService = new PropertyService();
+        propertyService.init();
+        for (int position = 0; position < SQUARES; position++) {
+            BaseProperty property = propertyService.getPropertyByPosition(position);
+            if (property != null) {
+                propertyIds[position] = property.getId();
+                prices[position] = property.getPurchasePrice();
+            }
+        }
+    }
+
+    // 0 if there is no property on the square
+    int propertyAt(int position) {
+        return position >= 0 && position < SQUARES ? propertyIds[position] : 0;
+    }
+
+    int priceAt(int position) {
+        return position >= 0 && position < SQUARES ? prices[position] : 0;
+    }
+}
@@ -0,0 +1,358 @@
+package at.aau.serg.monopoly.loadtest;
+
+import at.aau.serg.monopoly.loadtest.LoadStats.Action;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.NonNull;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scripted player of one connection. Closed loop: on its turn the bot sends one action,
+ * waits for the frame that answers it (or an ERROR, or the timeout) and only then sends the next.
+ * Turn script: [CHAT_MESSAGE] -> Roll -> [BUY_PROPERTY] -> [DEAL_PROPOSAL] -> NEXT_TURN.
+ * Incoming DEAL_PROPOSALs are always accepted, RESET starts the next game with a new INIT.
+ */
+final class BotPlayer extends AbstractWebSocketHandler {
+    private static final Logger logger = Logger.getLogger(BotPlayer.class.getName());
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String GAME_STATE_PREFIX = "GAME_STATE:";
+    private static final String PLAYER_TURN_PREFIX = "PLAYER_TURN:";
+    private static final String ERROR_PREFIX = "{\"type\":\"ERROR\"";
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_LIMIT = 512 * 1024;
+
+    private enum Step { INIT, CHAT, ROLL, AFTER_ROLL, BUY, DEAL, NEXT_TURN }
+
+    private final String userId;
+    private final String name;
+    private final int seat;
+    private final int playersPerRoom;
+    private final LoadTestOptions options;
+    private final LoadStats stats;
+    private final BoardPositions board;
+    private final ScheduledExecutorService scheduler;
+
+    private WebSocketSession session;
+    // Guarded by this: frames and timeouts arrive on different threads
+    private boolean inTurn;
+    private boolean bankrupt;
+    private boolean roomFull;
+    private int playersInGame;
+    private int position;
+    private int money;
+    private String nextPlayerId;
+    private long messageCounter;
+    private Pending pending;
+
+    private final class Pending {
+        final Step step;
+        final Action action;
+        final Predicate<String> answer;
+        final long startNanos;
+        final ScheduledFuture<?> timeout;
+
+        Pending(Step step, Action action, Predicate<String> answer) {
+            this.step = step;
+            this.action = action;
+            this.answer = answer;
+            this.startNanos = System.nanoTime();
+            this.timeout = scheduler.schedule(() -> onTimeout(this),
+                    options.actionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    BotPlayer(String userId, String name, int seat, int playersPerRoom, LoadTestOptions options, LoadStats stats,
+              BoardPositions board, ScheduledExecutorService scheduler) {
+        this.userId = userId;
+        this.name = name;
+        this.seat = seat;
+        this.playersPerRoom = playersPerRoom;
+        this.options = options;
+        this.stats = stats;
+        this.board = board;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void afterConnectionEstablished(@NonNull WebSocketSession rawSession) {
+        synchronized (this) {
+            session = new ConcurrentWebSocketSessionDecorator(rawSession, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT);
+            stats.connected.increment();
+            sendInit();
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(@NonNull WebSocketSession rawSession, @NonNull TextMessage message) {
+        String payload = message.getPayload();
+        stats.framesReceived.increment();
+        stats.bytesReceived.add(message.getPayloadLength());
+        synchronized (this) {
+            onFrame(payload);
+        }
+    }
+
+    @Override
+    public void handleTransportError(@NonNull WebSocketSession rawSession, @NonNull Throwable exception) {
+        stats.transportErrors.increment();
+        logger.log(Level.FINE, "Transport error for {0}: {1}", new Object[]{userId, exception.getMessage()});
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession rawSession, @NonNull CloseStatus status) {
+        stats.connected.decrement();
+        synchronized (this) {
+            cancelPending();
+        }
+    }
+
+    private void onFrame(String payload) {
+        if (payload.startsWith(GAME_STATE_PREFIX)) {
+            readGameState(payload.substring(GAME_STATE_PREFIX.length()));
+        } else if (payload.startsWith("{\"type\":\"DEAL_PROPOSAL\"")) {
+            acceptDeal(payload);
+        } else if (payload.startsWith("{\"type\":\"RESET\"")) {
+            // Server starts a new game in this room, all players join again
+            cancelPending();
+            inTurn = false;
+            bankrupt = false;
+            roomFull = false;
+            playersInGame = 0;
+            if (seat == 0) {
+                stats.gamesFinished.increment();
+            }
+            sendInit();
+            return;
+        } else if (payload.startsWith("{\"type\":\"IS_BANKRUPT\"") && payload.contains('"' + userId + '"')) {
+            bankrupt = true;
+            stats.bankruptcies.increment();
+        }
+
+        if (pending != null) {
+            if (payload.startsWith(ERROR_PREFIX)) {
+                // Errors only go to the sender, so it answers our pending action
+                rejected(payload);
+                return;
+            }
+            if (pending.answer.test(payload)) {
+                answered();
+                return;
+            }
+        }
+
+        if (payload.startsWith(PLAYER_TURN_PREFIX) && !inTurn && !bankrupt
+                && roomFull
+                && userId.equals(payload.substring(PLAYER_TURN_PREFIX.length()))) {
+            inTurn = true;
+            next(ThreadLocalRandom.current().nextDouble() < options.chatProbability ? Step.CHAT : Step.ROLL);
+        }
+    }
+
+    private void readGameState(String json) {
+        try {
+            JsonNode players = mapper.readTree(json);
+            playersInGame = players.size();
+            roomFull |= playersInGame >= playersPerRoom;
+            nextPlayerId = null;
+            for (int i = 0; i < players.size(); i++) {
+                JsonNode player = players.get(i);
+                if (userId.equals(player.path("id").asText())) {
+                    position = player.path("position").asInt();
+                    money = player.path("money").asInt();
+                    nextPlayerId = players.get((i + 1) % players.size()).path("id").asText();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            logger.log(Level.WARNING, "Unreadable game state for {0}: {1}", new Object[]{userId, e.getMessage()});
+        }
+    }
+
+    private void answered() {
+        Pending done = pending;
+        pending = null;
+        done.timeout.cancel(false);
+        if (done.action != null) {
+            stats.of(done.action).latency.record(System.nanoTime() - done.startNanos);
+        }
+        afterStep(done.step);
+    }
+
+    private void rejected(String payload) {
+        Pending done = pending;
+        pending = null;
+        done.timeout.cancel(false);
+        if (done.action != null) {
+            stats.of(done.action).rejected.increment();
+        }
+        logger.log(Level.FINE, "{0} rejected for {1}: {2}", new Object[]{done.step, userId, payload});
+        afterFailedStep(done.step);
+    }
+
+    private synchronized void onTimeout(Pending timedOut) {
+        if (pending != timedOut) {
+            return;
+        }
+        pending = null;
+        if (timedOut.action != null) {
+            stats.of(timedOut.action).timeouts.increment();
+        }
+        afterFailedStep(timedOut.step);
+    }
+
+    // A failed roll (e.g. in jail) skips to the end of the turn, everything else just goes on with the script
+    private void afterFailedStep(Step failed) {
+        afterStep(failed == Step.ROLL || failed == Step.AFTER_ROLL ? Step.BUY : failed);
+    }
+
+    private void afterStep(Step done) {
+        if (!inTurn) {
+            return;
+        }
+        switch (done) {
+            case CHAT -> next(Step.ROLL);
+            case ROLL -> await(Step.AFTER_ROLL, null, payload -> payload.startsWith(GAME_STATE_PREFIX));
+            case AFTER_ROLL -> next(board.propertyAt(position) > 0 && money >= board.priceAt(position)
+                    ? Step.BUY : dealOrNextTurn());
+            case BUY -> next(dealOrNextTurn());
+            case DEAL -> next(Step.NEXT_TURN);
+            case INIT, NEXT_TURN -> inTurn = false;
+        }
+    }
+
+    private Step dealOrNextTurn() {
+        boolean deal = nextPlayerId != null && !nextPlayerId.equals(userId) && money > 0
+                && ThreadLocalRandom.current().nextDouble() < options.dealProbability;
+        return deal ? Step.DEAL : Step.NEXT_TURN;
+    }
+
+    // Think time between two actions of the same turn
+    private void next(Step step) {
+        if (options.thinkTimeMs <= 0) {
+            run(step);
+        } else {
+            scheduler.schedule(() -> {
+                synchronized (this) {
+                    if (inTurn) {
+                        run(step);
+                    }
+                }
+            }, options.thinkTimeMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run(Step step) {
+        switch (step) {
+            case CHAT -> {
+                String token = userId + "#" + (++messageCounter);
+                ObjectNode chat = mapper.createObjectNode()
+                        .put("type", "CHAT_MESSAGE")
+                        .put("playerId", userId)
+                        .put("message", "load " + token);
+                send(Step.CHAT, Action.CHAT_MESSAGE, chat.toString(), payload -> payload.contains(token));
+            }
+            case ROLL -> send(Step.ROLL, Action.ROLL, "Roll", payload ->
+                    payload.startsWith("{\"type\":\"DICE_ROLL\"") && payload.contains("\"playerId\":\"" + userId + '"'));
+            case BUY -> {
+                int propertyId = board.propertyAt(position);
+                String bought = " bought property " + propertyId + '"';
+                send(Step.BUY, Action.BUY_PROPERTY, "BUY_PROPERTY:" + propertyId, payload ->
+                        payload.startsWith("{\"type\":\"PROPERTY_BOUGHT\"") && payload.contains(userId + bought));
+            }
+            case DEAL -> {
+                String target = nextPlayerId;
+                ObjectNode deal = mapper.createObjectNode()
+                        .put("type", "DEAL_PROPOSAL")
+                        .put("fromPlayerId", userId)
+                        .put("toPlayerId", target)
+                        .put("offeredMoney", 1 + ThreadLocalRandom.current().nextInt(Math.max(1, Math.min(money, 50))));
+                deal.putArray("requestedPropertyIds");
+                deal.putArray("offeredPropertyIds");
+                // Proposals only go to the target, its DEAL_RESPONSE is the answer
+                send(Step.DEAL, Action.DEAL_PROPOSAL, deal.toString(), payload ->
+                        payload.startsWith("{\"type\":\"DEAL_RESPONSE\"") && payload.contains('"' + target + '"'));
+            }
+            case NEXT_TURN -> send(Step.NEXT_TURN, Action.NEXT_TURN, "NEXT_TURN", payload ->
+                    payload.startsWith(PLAYER_TURN_PREFIX)
+                            && (playersInGame < 2 || !userId.equals(payload.substring(PLAYER_TURN_PREFIX.length()))));
+            default -> throw new IllegalStateException("Not a sendable step: " + step);
+        }
+    }
+
+    private void acceptDeal(String payload) {
+        try {
+            JsonNode proposal = mapper.readTree(payload);
+            ObjectNode response = mapper.createObjectNode()
+                    .put("type", "DEAL_RESPONSE")
+                    .put("fromPlayerId", userId)
+                    .put("toPlayerId", proposal.path("fromPlayerId").asText())
+                    .put("responseType", "ACCEPT")
+                    .put("counterMoney", 0);
+            response.putArray("counterPropertyIds");
+            sendText(response.toString());
+        } catch (JsonProcessingException e) {
+            logger.log(Level.WARNING, "Unreadable deal proposal for {0}: {1}", new Object[]{userId, e.getMessage()});
+        }
+    }
+
+    private void sendInit() {
+        ObjectNode init = mapper.createObjectNode()
+                .put("type", "INIT")
+                .put("userId", userId)
+                .put("name", name);
+        String joined = "(" + userId + ") joined";
+        send(Step.INIT, Action.INIT, init.toString(), payload -> payload.contains(joined));
+    }
+
+    private void send(Step step, Action action, String text, Predicate<String> answer) {
+        cancelPending();
+        stats.of(action).sent.increment();
+        pending = new Pending(step, action, answer);
+        sendText(text);
+    }
+
+    private void await(Step step, Action action, Predicate<String> answer) {
+        pending = new Pending(step, action, answer);
+    }
+
+    private void sendText(String text) {
+        try {
+            session.sendMessage(new TextMessage(text));
+        } catch (Exception e) {
+            stats.transportErrors.increment();
+            logger.log(Level.FINE, "Send failed for {0}: {1}", new Object[]{userId, e.getMessage()});
+        }
+    }
+
+    private void cancelPending() {
+        if (pending != null) {
+            pending.timeout.cancel(false);
+            pending = null;
+        }
+    }
+
+    synchronized void close() {
+        cancelPending();
+        inTurn = false;
+        try {
+            if (session != null && session.isOpen()) {
+                session.close(CloseStatus.GOING_AWAY);
+            }
+        } catch (Exception e) {
+            logger.log(Level.FINE, "Close failed for {0}: {1}", new Object[]{userId, e.getMessage()});
+        }
+    }
+}
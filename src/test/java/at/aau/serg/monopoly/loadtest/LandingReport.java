@@ -0,0 +1,69 @@
+package at.aau.serg.monopoly.loadtest;
+
+import at.aau.serg.monopoly.simulation.LandingAnalyzer;
+import at.aau.serg.monopoly.simulation.LandingStatistics;
+import at.aau.serg.monopoly.simulation.PropertyValuation;
+import at.aau.serg.monopoly.websoket.PropertyService;
+import model.properties.BoardTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the {@link LandingAnalyzer} and prints the landing frequencies and the valuation table.
+ * mvn -P landing test-compile exec:java -Dlanding.args="100000000 42 valuation.csv"
+ * (turns, seed, optional CSV file for the valuation table).
+ */
+public final class LandingReport {
+    private static final Logger logger = Logger.getLogger(LandingReport.class.getName());
+
+    private LandingReport() {
+    }
+
+    public static void main(String[] args) {
+        long turns = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        long start = System.nanoTime();
+        LandingStatistics statistics = new LandingAnalyzer(seed).run(turns);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.log(Level.INFO, "Analyzed {0} turns with seed {1} in {2}s",
+                new Object[]{turns, String.valueOf(seed), String.format(Locale.ROOT, "%.1f", seconds)});
+
+        PropertyService board = new PropertyService();
+        board.init();
+        System.out.printf(Locale.ROOT, "%-3s %-28s %10s%n", "pos", "square", "landed %");
+        for (int position = 0; position < BoardTemplate.BOARD_SIZE; position++) {
+            var property = board.getPropertyByPosition(position);
+            System.out.printf(Locale.ROOT, "%-3d %-28s %10.3f%n", position,
+                    property != null ? property.getName() : "", 100 * statistics.landingProbability(position));
+        }
+
+        List<PropertyValuation> valuations = LandingAnalyzer.valuate(statistics, board);
+        System.out.printf(Locale.ROOT, "%n%-28s %6s %8s %6s %9s %9s %9s%n",
+                "property", "price", "rent %", "rent", "payback", "max rent", "payback");
+        for (PropertyValuation v : valuations) {
+            System.out.printf(Locale.ROOT, "%-28s %6d %8.3f %6d %9.0f %9d %9.0f%n", v.name(), v.price(),
+                    100 * v.rentProbability(), v.rentNow(), v.paybackTurnsNow(), v.rentMax(), v.paybackTurnsMax());
+        }
+
+        if (args.length > 2) {
+            List<String> lines = new ArrayList<>();
+            lines.add(PropertyValuation.csvHeader());
+            valuations.forEach(v -> lines.add(v.toCsv()));
+            try {
+                Files.write(Path.of(args[2]), lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write " + args[2], e);
+            }
+            logger.log(Level.INFO, "Valuation table written to {0}", args[2]);
+        }
+    }
+}
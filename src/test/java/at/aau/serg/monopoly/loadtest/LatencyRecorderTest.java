@@ -0,0 +1,46 @@
+package at.aau.serg.monopoly.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyRecorderTest {
+
+    @Test
+    void testEmptyRecorder() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertEquals(0, recorder.count());
+        assertEquals(0, recorder.percentileMicros(99));
+    }
+
+    @Test
+    void testPercentilesWithinResolution() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int ms = 1; ms <= 1000; ms++) {
+            recorder.record(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        assertEquals(1000, recorder.count());
+        assertWithin(500_000, recorder.percentileMicros(50));
+        assertWithin(990_000, recorder.percentileMicros(99));
+        assertWithin(999_000, recorder.percentileMicros(99.9));
+        assertWithin(1_000_000, recorder.percentileMicros(100));
+    }
+
+    @Test
+    void testBucketsAreContiguous() {
+        for (long micros = 0; micros < 1 << 20; micros++) {
+            int bucket = LatencyRecorder.bucketOf(micros);
+            assertTrue(micros <= LatencyRecorder.upperBoundOf(bucket));
+            assertTrue(bucket == 0 || micros > LatencyRecorder.upperBoundOf(bucket - 1));
+        }
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        // Buckets are at most 1/32 of their value wide
+        assertTrue(actual >= expected && actual <= expected + expected / 32,
+                "expected about " + expected + " but was " + actual);
+    }
+}
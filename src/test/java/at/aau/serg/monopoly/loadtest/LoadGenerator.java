@@ -0,0 +1,70 @@
+package at.aau.serg.monopoly.loadtest;
+
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Closed-loop load test for the /monopoly endpoint. Opens rooms x players-per-room connections
+ * (room load-0, load-1, ...) over the ramp-up time, lets scripted {@link BotPlayer}s play full games
+ * and prints throughput, action-to-answer latency (p50/p99/p999) and error rates every report interval.
+ * Start the server first, then: mvn -P loadtest test-compile exec:java -Dloadtest.args="--rooms 250 --duration 120"
+ */
+public final class LoadGenerator {
+    private static final Logger logger = Logger.getLogger(LoadGenerator.class.getName());
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadStats stats = new LoadStats();
+        BoardPositions board = new BoardPositions();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(threads);
+        StandardWebSocketClient client = new StandardWebSocketClient();
+        List<BotPlayer> bots = new ArrayList<>(options.totalPlayers());
+
+        logger.log(Level.INFO, "Load test against {0}: {1} rooms x {2} players for {3}s",
+                new Object[]{options.url, options.rooms, options.playersPerRoom, options.duration.toSeconds()});
+        long start = System.nanoTime();
+        scheduler.scheduleAtFixedRate(() -> System.out.print(stats.report(secondsSince(start))),
+                options.reportInterval.toMillis(), options.reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        // Connections are spread evenly over the ramp-up, a room fills up before the next one starts
+        long pauseNanos = options.rampUp.toNanos() / options.totalPlayers();
+        for (int room = 0; room < options.rooms; room++) {
+            for (int seat = 0; seat < options.playersPerRoom; seat++) {
+                String userId = "bot-" + room + "-" + seat;
+                BotPlayer bot = new BotPlayer(userId, "Bot " + room + "/" + seat, seat, options.playersPerRoom,
+                        options, stats, board, scheduler);
+                bots.add(bot);
+                client.execute(bot, options.roomUrl(room).toString()).whenComplete((session, error) -> {
+                    if (error != null) {
+                        stats.connectFailures.increment();
+                        logger.log(Level.WARNING, "Connect failed for {0}: {1}", new Object[]{userId, error.getMessage()});
+                    }
+                });
+                TimeUnit.NANOSECONDS.sleep(pauseNanos);
+            }
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, options.duration.toNanos() - (System.nanoTime() - start)));
+        for (BotPlayer bot : bots) {
+            bot.close();
+        }
+        scheduler.shutdownNow();
+        System.out.println("Final result:");
+        System.out.print(stats.report(secondsSince(start)));
+    }
+
+    private static double secondsSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
@@ -0,0 +1,83 @@
+package at.aau.serg.monopoly.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one load test run. All writers are lock-free, the reporter reads them
+ * while the bots keep running.
+ */
+final class LoadStats {
+
+    /** Scripted bot actions. Latency is measured from sending the action to the frame that answers it. */
+    enum Action {
+        INIT, CHAT_MESSAGE, ROLL, BUY_PROPERTY, DEAL_PROPOSAL, NEXT_TURN
+    }
+
+    static final class ActionStats {
+        final LongAdder sent = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LatencyRecorder latency = new LatencyRecorder();
+    }
+
+    private final Map<Action, ActionStats> actions = new EnumMap<>(Action.class);
+    final LongAdder connected = new LongAdder();
+    final LongAdder connectFailures = new LongAdder();
+    final LongAdder transportErrors = new LongAdder();
+    final LongAdder framesReceived = new LongAdder();
+    final LongAdder bytesReceived = new LongAdder();
+    final LongAdder gamesFinished = new LongAdder();
+    final LongAdder bankruptcies = new LongAdder();
+
+    LoadStats() {
+        for (Action action : Action.values()) {
+            actions.put(action, new ActionStats());
+        }
+    }
+
+    ActionStats of(Action action) {
+        return actions.get(action);
+    }
+
+    long completedActions() {
+        long completed = 0;
+        for (ActionStats stats : actions.values()) {
+            completed += stats.latency.count();
+        }
+        return completed;
+    }
+
+    /**
+     * @param elapsedSeconds Time since the first connection, used for the rates.
+     */
+    String report(double elapsedSeconds) {
+        double seconds = Math.max(elapsedSeconds, 0.001);
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT,
+                "%.0fs: %d connected (%d failed), %d transport errors, %d frames in (%.0f/s, %.1f MB), %d games finished, %d bankruptcies, %.0f actions/s%n",
+                elapsedSeconds, connected.sum(), connectFailures.sum(), transportErrors.sum(),
+                framesReceived.sum(), framesReceived.sum() / seconds, bytesReceived.sum() / 1_048_576.0,
+                gamesFinished.sum(), bankruptcies.sum(), completedActions() / seconds));
+        out.append(String.format(Locale.ROOT, "  %-14s %9s %9s %9s %9s %9s %9s %8s %8s%n",
+                "action", "sent", "ok", "ok/s", "p50 ms", "p99 ms", "p999 ms", "rejected", "timeout"));
+        for (Map.Entry<Action, ActionStats> entry : actions.entrySet()) {
+            ActionStats stats = entry.getValue();
+            long sent = stats.sent.sum();
+            long ok = stats.latency.count();
+            out.append(String.format(Locale.ROOT, "  %-14s %9d %9d %9.1f %9.2f %9.2f %9.2f %7.2f%% %7.2f%%%n",
+                    entry.getKey(), sent, ok, ok / seconds,
+                    stats.latency.percentileMicros(50) / 1000.0,
+                    stats.latency.percentileMicros(99) / 1000.0,
+                    stats.latency.percentileMicros(99.9) / 1000.0,
+                    percent(stats.rejected.sum(), sent), percent(stats.timeouts.sum(), sent)));
+        }
+        return out.toString();
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+}
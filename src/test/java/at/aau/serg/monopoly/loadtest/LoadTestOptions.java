@@ -0,0 +1,93 @@
+package at.aau.serg.monopoly.loadtest;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * Command line options of the load generator, e.g.
+ * {@code --url ws://localhost:8080/monopoly --rooms 250 --players-per-room 4 --duration 120}.
+ * Durations are given in seconds. Only loopback targets are accepted.
+ */
+final class LoadTestOptions {
+    URI url = URI.create("ws://localhost:8080/monopoly");
+    int rooms = 50;
+    int playersPerRoom = 4;
+    Duration duration = Duration.ofSeconds(60);
+    Duration rampUp = Duration.ofSeconds(10);
+    Duration reportInterval = Duration.ofSeconds(5);
+    Duration actionTimeout = Duration.ofSeconds(5);
+    long thinkTimeMs = 50;
+    double chatProbability = 0.2;
+    double dealProbability = 0.1;
+    String roomPrefix = "load-";
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--url" -> options.url = URI.create(value);
+                case "--rooms" -> options.rooms = Integer.parseInt(value);
+                case "--players-per-room" -> options.playersPerRoom = Integer.parseInt(value);
+                case "--duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--ramp-up" -> options.rampUp = Duration.ofSeconds(Long.parseLong(value));
+                case "--report-interval" -> options.reportInterval = Duration.ofSeconds(Long.parseLong(value));
+                case "--timeout-ms" -> options.actionTimeout = Duration.ofMillis(Long.parseLong(value));
+                case "--think-time-ms" -> options.thinkTimeMs = Long.parseLong(value);
+                case "--chat-probability" -> options.chatProbability = Double.parseDouble(value);
+                case "--deal-probability" -> options.dealProbability = Double.parseDouble(value);
+                case "--room-prefix" -> options.roomPrefix = value;
+                default -> throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        options.validate();
+        return options;
+    }
+
+    private void validate() {
+        if (rooms < 1) {
+            throw new IllegalArgumentException("--rooms must be at least 1");
+        }
+        // The server starts a game with 2 to 4 players
+        if (playersPerRoom < 2 || playersPerRoom > 4) {
+            throw new IllegalArgumentException("--players-per-room must be between 2 and 4");
+        }
+        if (!"ws".equals(url.getScheme()) && !"wss".equals(url.getScheme())) {
+            throw new IllegalArgumentException("--url must be a ws:// or wss:// URL");
+        }
+        if (!isLoopback(url.getHost())) {
+            throw new IllegalArgumentException("Load tests only run against localhost, not " + url.getHost());
+        }
+    }
+
+    private static boolean isLoopback(String host) {
+        if (host == null) {
+            return false;
+        }
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                if (!address.isLoopbackAddress()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    URI roomUrl(int room) {
+        String separator = url.getQuery() == null ? "?" : "&";
+        return URI.create(url + separator + "roomId=" + roomPrefix + room);
+    }
+
+    int totalPlayers() {
+        return rooms * playersPerRoom;
+    }
+}
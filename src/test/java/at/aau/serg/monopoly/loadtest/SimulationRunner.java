@@ -0,0 +1,49 @@
+package at.aau.serg.monopoly.loadtest;
+
+import at.aau.serg.monopoly.simulation.BotStrategy;
+import at.aau.serg.monopoly.simulation.GameSimulator;
+import at.aau.serg.monopoly.simulation.SimulationResult;
+import at.aau.serg.monopoly.websoket.PropertyService;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the {@link GameSimulator} with four bot strategies and prints the balance report.
+ * mvn -P simulation test-compile exec:java -Dsimulation.args="100000 42 500"
+ * (games, seed, turn limit per game).
+ */
+public final class SimulationRunner {
+    private static final Logger logger = Logger.getLogger(SimulationRunner.class.getName());
+    // Keeps the parent loggers alive, their level would be lost after a garbage collection otherwise
+    private static final List<Logger> QUIET_LOGGERS = List.of(
+            Logger.getLogger("at.aau.serg.monopoly.websoket"), Logger.getLogger("model"));
+
+    private SimulationRunner() {
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        // The services log every purchase and rent payment
+        QUIET_LOGGERS.forEach(quiet -> quiet.setLevel(Level.WARNING));
+
+        GameSimulator simulator = new GameSimulator(List.of(
+                BotStrategy.buyEverything(),
+                BotStrategy.keepReserve(200),
+                BotStrategy.keepReserve(500),
+                BotStrategy.buyWithProbability(0.5)), maxTurns, seed);
+        long start = System.nanoTime();
+        SimulationResult result = simulator.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        PropertyService board = new PropertyService();
+        board.init();
+        logger.log(Level.INFO, "Simulated {0} games with seed {1} in {2}s ({3} games/s)",
+                new Object[]{games, String.valueOf(seed), String.format("%.1f", seconds),
+                        String.format("%.0f", games / seconds)});
+        System.out.print(result.report(board));
+    }
+}
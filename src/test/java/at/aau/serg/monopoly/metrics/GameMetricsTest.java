@@ -0,0 +1,73 @@
+package at.aau.serg.monopoly.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+    private SimpleMeterRegistry registry;
+    private GameMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new GameMetrics(registry);
+    }
+
+    @Test
+    void recordMessageCountsAndTimesPerType() {
+        metrics.recordMessage("CHAT_MESSAGE", 2_000_000);
+        metrics.recordMessage("CHAT_MESSAGE", 4_000_000);
+        metrics.recordMessage("Roll", 1_000_000);
+
+        assertEquals(2.0, registry.get("monopoly.messages.inbound").tag("type", "CHAT_MESSAGE").counter().count());
+        assertEquals(1.0, registry.get("monopoly.messages.inbound").tag("type", "Roll").counter().count());
+        assertEquals(6.0, registry.get("monopoly.handler.latency").tag("type", "CHAT_MESSAGE").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void recordBroadcastTracksFanOutAndDuration() {
+        metrics.recordBroadcast(4, 1_000);
+        metrics.recordBroadcast(2, 3_000);
+
+        assertEquals(6.0, registry.get("monopoly.broadcast.recipients").summary().totalAmount());
+        assertEquals(2, registry.get("monopoly.broadcast.duration").timer().count());
+    }
+
+    @Test
+    void bankruptcyChecksAreCountedPerMode() {
+        metrics.bankruptcyChecks(4, 0, 0);
+        metrics.bankruptcyChecks(0, 1, 3);
+        metrics.bankruptcy();
+
+        assertEquals(4.0, registry.get("monopoly.bankruptcy.checks").tag("mode", "full").counter().count());
+        assertEquals(1.0, registry.get("monopoly.bankruptcy.checks").tag("mode", "incremental").counter().count());
+        assertEquals(3.0, registry.get("monopoly.bankruptcy.checks").tag("mode", "skipped").counter().count());
+        assertEquals(1.0, registry.get("monopoly.bankruptcies").counter().count());
+    }
+
+    @Test
+    void firestoreFailuresStartAtZero() {
+        metrics.recordFirestoreCall("saveGameHistory", 5_000_000, false);
+        assertEquals(0.0, registry.get("monopoly.firestore.failures").tag("operation", "saveGameHistory").counter().count());
+
+        metrics.recordFirestoreCall("saveGameHistory", 5_000_000, true);
+        assertEquals(1.0, registry.get("monopoly.firestore.failures").tag("operation", "saveGameHistory").counter().count());
+        assertEquals(2, registry.get("monopoly.firestore.latency").tag("operation", "saveGameHistory").timer().count());
+    }
+
+    @Test
+    void noopIgnoresEverything() {
+        GameMetrics noop = GameMetrics.noop();
+        assertDoesNotThrow(() -> {
+            noop.recordMessage("INIT", 1);
+            noop.recordBroadcast(1, 1);
+            noop.recordFirestoreCall("updateUserStats", 1, true);
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package at.aau.serg.monopoly.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageLatencyHistogramsTest {
+
+    @Test
+    void rollIntervalReportsPercentilesPerType() {
+        MessageLatencyHistograms histograms = new MessageLatencyHistograms();
+        for (int i = 1; i <= 1000; i++) {
+            histograms.record("Roll", TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        histograms.record("INIT", TimeUnit.MILLISECONDS.toNanos(5));
+
+        LatencyReport report = histograms.rollInterval();
+
+        assertEquals(List.of("INIT", "Roll"), report.interval().stream().map(LatencySnapshot::type).toList());
+        LatencySnapshot roll = report.interval().get(1);
+        assertEquals(1000, roll.count());
+        assertEquals(500, roll.p50(), 1);
+        assertEquals(990, roll.p99(), 1);
+        assertEquals(1000, roll.max(), 1);
+        assertSame(report, histograms.getLastReport());
+    }
+
+    @Test
+    void intervalsAreResetButTotalsAccumulate() {
+        MessageLatencyHistograms histograms = new MessageLatencyHistograms();
+        histograms.record("CHAT_MESSAGE", 10_000);
+        histograms.rollInterval();
+        histograms.record("CHAT_MESSAGE", 20_000);
+        histograms.record("CHAT_MESSAGE", 30_000);
+
+        LatencyReport report = histograms.rollInterval();
+
+        assertEquals(2, report.interval().get(0).count());
+        assertEquals(3, report.total().get(0).count());
+
+        LatencyReport idle = histograms.rollInterval();
+        assertTrue(idle.isIdle());
+        assertEquals("", idle.summary());
+    }
+
+    @Test
+    void valuesAboveTheTrackableRangeAreClamped() {
+        MessageLatencyHistograms histograms = new MessageLatencyHistograms();
+        histograms.record("PULL_CARD", TimeUnit.HOURS.toNanos(1));
+        histograms.record("PULL_CARD", -5);
+
+        LatencySnapshot snapshot = histograms.rollInterval().interval().get(0);
+        assertEquals(2, snapshot.count());
+        assertTrue(snapshot.max() >= MessageLatencyHistograms.HIGHEST_TRACKABLE_MICROS);
+        assertTrue(histograms.rollInterval().summary().isEmpty());
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        MessageLatencyHistograms disabled = MessageLatencyHistograms.disabled();
+        disabled.record("INIT", 1_000);
+        assertTrue(disabled.rollInterval().interval().isEmpty());
+    }
+
+    @Test
+    void endpointReturnsLastReport() {
+        MessageLatencyHistograms histograms = new MessageLatencyHistograms();
+        histograms.record("BUY_PROPERTY", 2_000);
+        LatencyReport report = histograms.rollInterval();
+
+        assertSame(report, new LatencyEndpoint(histograms).latency());
+        assertTrue(report.summary().startsWith("BUY_PROPERTY n=1"));
+    }
+}
@@ -0,0 +1,75 @@
+package at.aau.serg.monopoly.simulation;
+
+import at.aau.serg.monopoly.websoket.PropertyService;
+import model.Game;
+import model.properties.BaseProperty;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulatorTest {
+    private final GameSimulator simulator = new GameSimulator(
+            List.of(BotStrategy.buyEverything(), BotStrategy.keepReserve(300), BotStrategy.buyWithProbability(0.5)),
+            150, 42L);
+
+    @Test
+    void testEveryGameIsCounted() {
+        SimulationResult result = simulator.run(100);
+
+        assertEquals(100, result.getGames());
+        assertEquals(100, result.getEndedByBankruptcy() + result.getEndedByTurnLimit());
+        assertEquals(3, result.getStrategies().size());
+        assertEquals(100 * 3, result.getStrategies().values().stream().mapToLong(counts -> counts[0]).sum());
+        assertEquals(result.getRolls(), Arrays.stream(result.getLandings()).sum());
+        assertTrue(result.averageTurns() > 0 && result.averageTurns() <= 150);
+    }
+
+    @Test
+    void testSameSeedGivesSameResultOnAnyNumberOfThreads() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            SimulationResult sequential = simulator.run(100, single);
+            SimulationResult concurrent = simulator.run(100, parallel);
+
+            assertEquals(sequential.getTurns(), concurrent.getTurns());
+            assertEquals(sequential.getBankruptcies(), concurrent.getBankruptcies());
+            assertArrayEquals(sequential.getLandings(), concurrent.getLandings());
+            assertArrayEquals(sequential.getRentIncome(), concurrent.getRentIncome());
+            assertArrayEquals(sequential.getWinsBySeat(), concurrent.getWinsBySeat());
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void testBankruptPlayersReturnTheirPropertiesToTheBank() {
+        SimulationResult result = new SimulationResult(2);
+        for (long seed = 0; seed < 20; seed++) {
+            SimulatedGame game = new SimulatedGame(
+                    List.of(BotStrategy.buyEverything(), BotStrategy.buyEverything()), seed, result);
+            game.play(1_000);
+
+            Game played = game.engine().getGame();
+            PropertyService board = game.engine().getPropertyService();
+            for (int position = 0; position < 40; position++) {
+                BaseProperty property = board.getPropertyByPosition(position);
+                if (property != null && property.getOwnerId() != null) {
+                    assertNotNull(played.getPlayer(property.getOwnerId()), "Owner has left the game");
+                }
+            }
+        }
+        assertTrue(result.getBankruptcies() > 0);
+    }
+
+    @Test
+    void testRejectsSingleStrategy() {
+        List<BotStrategy> one = List.of(BotStrategy.buyEverything());
+        assertThrows(IllegalArgumentException.class, () -> new GameSimulator(one, 100, 1L));
+    }
+}
@@ -0,0 +1,58 @@
+package at.aau.serg.monopoly.simulation;
+
+import at.aau.serg.monopoly.engine.GameEngine;
+import at.aau.serg.monopoly.websoket.PropertyService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LandingAnalyzerTest {
+
+    @Test
+    void testTurnsAreSplitIntoChunks() {
+        LandingStatistics statistics = new LandingAnalyzer(7L).run(1_500_000);
+
+        assertEquals(1_500_000, statistics.getTurns());
+        assertEquals(statistics.getRolls(), Arrays.stream(statistics.getRollLandings()).sum());
+        assertTrue(statistics.getJailTurns() > 0);
+    }
+
+    @Test
+    void testSameSeedGivesSameResult() {
+        LandingStatistics first = new LandingAnalyzer(42L).run(200_000);
+        LandingStatistics second = new LandingAnalyzer(42L).run(200_000);
+
+        assertArrayEquals(first.getRollLandings(), second.getRollLandings());
+        assertArrayEquals(first.getCardLandings(), second.getCardLandings());
+    }
+
+    @Test
+    void testJailIsVisitedMoreOftenThanGoToJail() {
+        LandingStatistics statistics = new LandingAnalyzer(1L).run(500_000);
+
+        double goToJail = statistics.landingProbability(GameEngine.GO_TO_JAIL_SQUARE);
+        assertTrue(goToJail > 0.01 && goToJail < 0.05, "go to jail: " + goToJail);
+        // Every stay in jail lasts two turns, and cards send players to jail as well
+        assertTrue(statistics.getJailTurns() > statistics.getRollLandings()[GameEngine.GO_TO_JAIL_SQUARE]);
+    }
+
+    @Test
+    void testValuationCoversEveryProperty() {
+        PropertyService board = new PropertyService();
+        board.init();
+        LandingStatistics statistics = new LandingAnalyzer(3L).run(200_000);
+
+        List<PropertyValuation> valuations = LandingAnalyzer.valuate(statistics, board);
+
+        assertEquals(board.getHouseableProperties().size() + board.getTrainStations().size()
+                + board.getUtilities().size(), valuations.size());
+        for (int i = 1; i < valuations.size(); i++) {
+            assertTrue(valuations.get(i - 1).paybackTurnsNow() <= valuations.get(i).paybackTurnsNow());
+        }
+        PropertyValuation first = valuations.get(0);
+        assertEquals(first.rentProbability() * first.rentNow(), first.expectedRentNow(), 1e-9);
+    }
+}
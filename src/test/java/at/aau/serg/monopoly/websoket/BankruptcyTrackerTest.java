@@ -0,0 +1,84 @@
+package at.aau.serg.monopoly.websoket;
+
+import model.Game;
+import model.properties.BaseProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankruptcyTrackerTest {
+    private Game game;
+    private PropertyService propertyService;
+    private BankruptcyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer("p1", "Player 1");
+        game.addPlayer("p2", "Player 2");
+        propertyService = new PropertyService();
+        propertyService.init();
+        tracker = new BankruptcyTracker();
+    }
+
+    @Test
+    void testFirstAttachRequiresFullCheck() {
+        assertFalse(tracker.attach(game, propertyService.getOwnershipIndex()));
+        assertTrue(tracker.attach(game, propertyService.getOwnershipIndex()));
+        assertSame(tracker, game.getBalanceListener());
+    }
+
+    @Test
+    void testAttachWithoutIndexAlwaysRequiresFullCheck() {
+        assertFalse(tracker.attach(game, null));
+        assertFalse(tracker.attach(game, null));
+    }
+
+    @Test
+    void testOnlyPlayersBelowZeroBecomeCandidates() {
+        tracker.attach(game, propertyService.getOwnershipIndex());
+
+        game.updatePlayerMoney("p1", -100);
+        game.updatePlayerMoney("p2", -1600);
+
+        assertEquals(List.of("p2"), tracker.drainCandidates());
+        assertTrue(tracker.drainCandidates().isEmpty());
+    }
+
+    @Test
+    void testPropertiesCountTowardsNetWorth() {
+        tracker.attach(game, propertyService.getOwnershipIndex());
+        BaseProperty property = propertyService.getPropertyById(1);
+        property.setOwnerId("p1");
+
+        game.updatePlayerMoney("p1", -1500);
+        assertTrue(tracker.drainCandidates().isEmpty());
+
+        // Losing the last property drops the net worth to zero
+        property.setOwnerId("p2");
+        assertEquals(List.of("p1"), tracker.drainCandidates());
+    }
+
+    @Test
+    void testNewGameDetachesOldOne() {
+        tracker.attach(game, propertyService.getOwnershipIndex());
+        Game other = new Game();
+
+        assertFalse(tracker.attach(other, propertyService.getOwnershipIndex()));
+        assertNull(game.getBalanceListener());
+
+        game.updatePlayerMoney("p1", -5000);
+        assertTrue(tracker.drainCandidates().isEmpty());
+    }
+
+    @Test
+    void testRecordSkipped() {
+        tracker.recordSkipped(3);
+        tracker.recordSkipped(-1);
+
+        assertEquals(3, tracker.getSkippedChecks());
+    }
+}
@@ -0,0 +1,183 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BufferedOutboundSessionTest {
+
+    private WebSocketSession delegate;
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("s1");
+        when(delegate.isOpen()).thenReturn(true);
+    }
+
+    private BufferedOutboundSession session(int bufferSize, OverflowPolicy policy) {
+        return new BufferedOutboundSession(delegate, bufferSize, 5000, policy, pendingDrains::add);
+    }
+
+    private void runDrains() {
+        List<Runnable> drains = new ArrayList<>(pendingDrains);
+        pendingDrains.clear();
+        drains.forEach(Runnable::run);
+    }
+
+    @Test
+    void testSendMessageDoesNotSendOnCallerThread() throws Exception {
+        BufferedOutboundSession session = session(4, OverflowPolicy.DROP);
+
+        session.sendMessage(new TextMessage("hello"));
+
+        verify(delegate, never()).sendMessage(any());
+        assertEquals(1, session.getQueueDepth());
+
+        runDrains();
+        verify(delegate).sendMessage(new TextMessage("hello"));
+        assertEquals(0, session.getQueueDepth());
+    }
+
+    @Test
+    void testMessagesAreSentInOrder() throws Exception {
+        BufferedOutboundSession session = session(4, OverflowPolicy.DROP);
+
+        session.sendMessage(new TextMessage("a"));
+        session.sendMessage(new TextMessage("b"));
+        session.sendMessage(new TextMessage("c"));
+        runDrains();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(delegate, times(3)).sendMessage(captor.capture());
+        assertEquals(List.of("a", "b", "c"), captor.getAllValues().stream().map(TextMessage::getPayload).toList());
+    }
+
+    @Test
+    void testDropPolicyDropsNewMessagesWhenFull() throws Exception {
+        BufferedOutboundSession session = session(2, OverflowPolicy.DROP);
+
+        session.sendMessage(new TextMessage("a"));
+        session.sendMessage(new TextMessage("b"));
+        session.sendMessage(new TextMessage("c"));
+
+        assertEquals(2, session.getQueueDepth());
+        runDrains();
+        verify(delegate, never()).sendMessage(new TextMessage("c"));
+    }
+
+    @Test
+    void testCoalescePolicyReplacesOlderGameState() throws Exception {
+        BufferedOutboundSession session = session(2, OverflowPolicy.COALESCE);
+
+        session.sendMessage(new TextMessage("GAME_STATE:[1]"));
+        session.sendMessage(new TextMessage("chat"));
+        session.sendMessage(new TextMessage("GAME_STATE:[2]"));
+        runDrains();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(delegate, times(2)).sendMessage(captor.capture());
+        // The newer state is sent where the older one was queued
+        assertEquals(List.of("GAME_STATE:[2]", "chat"), captor.getAllValues().stream().map(TextMessage::getPayload).toList());
+    }
+
+    @Test
+    void testCoalescePolicyKeepsSystemLines() throws Exception {
+        BufferedOutboundSession session = session(2, OverflowPolicy.COALESCE);
+
+        session.sendMessage(new TextMessage("SYSTEM: Alice joined the game"));
+        session.sendMessage(new TextMessage("SYSTEM: Bob joined the game"));
+        session.sendMessage(new TextMessage("SYSTEM: Carol joined the game"));
+        runDrains();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(delegate, times(2)).sendMessage(captor.capture());
+        assertEquals(List.of("SYSTEM: Alice joined the game", "SYSTEM: Bob joined the game"),
+                captor.getAllValues().stream().map(TextMessage::getPayload).toList());
+    }
+
+    @Test
+    void testDisconnectPolicyClosesSlowSession() throws Exception {
+        List<Runnable> pendingCloses = new ArrayList<>();
+        BufferedOutboundSession session = new BufferedOutboundSession(delegate, 1, 5000, OverflowPolicy.DISCONNECT,
+                pendingDrains::add, pendingCloses::add);
+
+        session.sendMessage(new TextMessage("a"));
+        session.sendMessage(new TextMessage("b"));
+        session.sendMessage(new TextMessage("c"));
+
+        // Not closed on the caller's thread, and only once
+        verify(delegate, never()).close(any());
+        assertEquals(0, session.getQueueDepth());
+        assertEquals(1, pendingCloses.size());
+
+        pendingCloses.forEach(Runnable::run);
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void testClosedSessionIgnoresMessages() throws Exception {
+        when(delegate.isOpen()).thenReturn(false);
+        BufferedOutboundSession session = session(4, OverflowPolicy.DROP);
+
+        session.sendMessage(new TextMessage("a"));
+
+        assertEquals(0, session.getQueueDepth());
+        assertTrue(pendingDrains.isEmpty());
+    }
+
+    @Test
+    void testWatchdogClosesHangingSendWithoutNewFrames() throws Exception {
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sendStarted.countDown();
+            closed.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(delegate).sendMessage(any());
+        doAnswer(invocation -> {
+            closed.countDown();
+            return null;
+        }).when(delegate).close(any());
+        BufferedOutboundSession session = new BufferedOutboundSession(delegate, 4, 1, OverflowPolicy.DROP,
+                runnable -> new Thread(runnable).start());
+
+        session.sendMessage(new TextMessage("a"));
+        assertTrue(sendStarted.await(5, TimeUnit.SECONDS));
+        Thread.sleep(5);
+
+        assertFalse(session.enforceSendTimeLimit());
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void testWatchdogKeepsIdleSession() {
+        BufferedOutboundSession session = session(4, OverflowPolicy.DROP);
+        assertTrue(session.enforceSendTimeLimit());
+
+        when(delegate.isOpen()).thenReturn(false);
+        assertFalse(session.enforceSendTimeLimit());
+    }
+
+    @Test
+    void testCoalesceKey() {
+        assertEquals("GAME_STATE", BufferedOutboundSession.coalesceKey(new TextMessage("GAME_STATE:[]")));
+        assertEquals("PLAYER_TURN", BufferedOutboundSession.coalesceKey(new TextMessage("PLAYER_TURN:p1")));
+        assertNull(BufferedOutboundSession.coalesceKey(new TextMessage("{\"type\":\"ERROR\"}")));
+        assertNull(BufferedOutboundSession.coalesceKey(new TextMessage("Player p1: hi")));
+        assertNull(BufferedOutboundSession.coalesceKey(new TextMessage("SYSTEM: Alice joined")));
+        assertNull(BufferedOutboundSession.coalesceKey(new TextMessage("KICKED: inactivity")));
+    }
+}
@@ -0,0 +1,89 @@
+package at.aau.serg.monopoly.websoket;
+
+import data.DiceRollMessage;
+import model.Game;
+import model.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A "Roll" through handleTextMessage, i.e. handleDiceRoll, the engine, the landing and the
+ * broadcast of DICE_ROLL and the consolidated state to both sessions. Run with the allocation profiler:
+ * mvn -P benchmarks verify -Djmh.includes=DiceRollBenchmark -Djmh.args="-prof gc"
+ * idleRoll is a rejected roll, so comparing both shows what roll, move and landing add to the dispatch.
+ * encodeDiceRoll and writeDiceRollMessage compare the reused DICE_ROLL encoder with a new message per roll.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceRollBenchmark {
+    private static final String PLAYER_1 = "p1";
+    private static final TextMessage ROLL = new TextMessage("Roll");
+
+    // Keeps the level change alive, java.util.logging only holds loggers weakly
+    private final List<Logger> quietLoggers = List.of(Logger.getLogger("at.aau.serg.monopoly"), Logger.getLogger("model"));
+
+    private final DiceRollEncoder encoder = new DiceRollEncoder(MessageCodec.shared());
+    private GameWebSocketHandler handler;
+    private StubWebSocketSession session;
+    private Player player;
+
+    @Setup
+    public void setUp() throws Exception {
+        quietLoggers.forEach(logger -> logger.setLevel(Level.WARNING));
+
+        handler = new GameWebSocketHandler();
+        handler.useRoomLocalBoard(GameRoomRegistry.DEFAULT_ROOM_ID);
+        session = new StubWebSocketSession("1");
+        StubWebSocketSession other = new StubWebSocketSession("2");
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionEstablished(other);
+        handler.handleTextMessage(session, new TextMessage("{\"type\":\"INIT\",\"userId\":\"p1\",\"name\":\"Player 1\"}"));
+        handler.handleTextMessage(other, new TextMessage("{\"type\":\"INIT\",\"userId\":\"p2\",\"name\":\"Player 2\"}"));
+        Game game = handler.engine().getGame();
+        player = game.getPlayer(PLAYER_1);
+    }
+
+    /**
+     * One roll of the current player, put back to the start square afterwards,
+     * so every call rolls from GO with the same money.
+     */
+    @Benchmark
+    public void roll(Blackhole blackhole) throws Exception {
+        handler.handleTextMessage(session, ROLL);
+        blackhole.consume(session.getLastMessage());
+
+        player.setHasRolledThisTurn(false);
+        player.setInJail(false);
+        player.setJailTurns(2);
+        player.setPosition(0);
+        player.setMoney(1500);
+    }
+
+    // Rejected roll, only dispatch and the error frame, for comparison
+    @Benchmark
+    public void idleRoll(Blackhole blackhole) throws Exception {
+        player.setHasRolledThisTurn(true);
+        handler.handleTextMessage(session, ROLL);
+        blackhole.consume(session.getLastMessage());
+    }
+
+    @Benchmark
+    public String encodeDiceRoll() throws Exception {
+        return encoder.encode(PLAYER_1, 7, false, false);
+    }
+
+    @Benchmark
+    public String writeDiceRollMessage() throws Exception {
+        return MessageCodec.shared().write(new DiceRollMessage(PLAYER_1, 7, false, false));
+    }
+}
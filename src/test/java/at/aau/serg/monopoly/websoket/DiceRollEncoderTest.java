@@ -0,0 +1,36 @@
+package at.aau.serg.monopoly.websoket;
+
+import data.DiceRollMessage;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DiceRollEncoderTest {
+    private final MessageCodec codec = MessageCodec.shared();
+
+    @ParameterizedTest
+    @CsvSource({
+            "player1, 8, false, true",
+            "player1, 12, true, false",
+            "'we\"ird\\id', 2, false, false"
+    })
+    void testSameJsonAsJackson(String playerId, int roll, boolean manual, boolean pasch) throws Exception {
+        String expected = codec.write(new DiceRollMessage(playerId, roll, manual, pasch));
+
+        String encoded = new DiceRollEncoder(codec).encode(playerId, roll, manual, pasch);
+
+        assertEquals(expected, encoded);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"player1, 3", "player2, 11"})
+    void testEncoderIsReused(String playerId, int roll) throws Exception {
+        DiceRollEncoder encoder = new DiceRollEncoder(codec);
+        encoder.encode("a-much-longer-player-id-than-the-next-one", 5, true, true);
+
+        String encoded = encoder.encode(playerId, roll, false, false);
+
+        assertEquals(codec.write(new DiceRollMessage(playerId, roll, false, false)), encoded);
+    }
+}
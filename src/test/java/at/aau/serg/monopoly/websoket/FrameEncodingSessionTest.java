@@ -0,0 +1,65 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FrameEncodingSessionTest {
+
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+    private final FrameEncodingSession session =
+            new FrameEncodingSession(delegate, MessageCodec.shared(), WireEncoding.JSON);
+
+    @Test
+    void testJsonEncodingPassesTextThrough() throws Exception {
+        TextMessage frame = new TextMessage("{\"type\":\"RESET\"}");
+
+        session.sendMessage(frame);
+
+        verify(delegate).sendMessage(frame);
+    }
+
+    @Test
+    void testCborEncodingSendsJsonFramesAsBinary() throws Exception {
+        session.setEncoding(WireEncoding.CBOR);
+
+        session.sendMessage(new TextMessage("{\"type\":\"RESET\"}"));
+        session.sendMessage(new TextMessage("Player p1: hello"));
+
+        verify(delegate).sendMessage(any(BinaryMessage.class));
+        verify(delegate).sendMessage(new TextMessage("Player p1: hello"));
+        verify(delegate, times(2)).sendMessage(any(WebSocketMessage.class));
+    }
+
+    @Test
+    void testSharedFrameIsEncodedOnceForAllCborSessions() throws Exception {
+        WebSocketSession otherDelegate = mock(WebSocketSession.class);
+        FrameEncodingSession other = new FrameEncodingSession(otherDelegate, MessageCodec.shared(), WireEncoding.CBOR);
+        session.setEncoding(WireEncoding.CBOR);
+        OutboundFrame frame = OutboundFrame.text("{\"type\":\"RESET\"}");
+
+        session.sendFrame(frame);
+        other.sendFrame(frame);
+
+        ArgumentCaptor<BinaryMessage> first = ArgumentCaptor.forClass(BinaryMessage.class);
+        ArgumentCaptor<BinaryMessage> second = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(delegate).sendMessage(first.capture());
+        verify(otherDelegate).sendMessage(second.capture());
+        assertSame(first.getValue().getPayload().array(), second.getValue().getPayload().array());
+    }
+
+    @Test
+    void testEncodingNegotiation() {
+        assertEquals(WireEncoding.CBOR, WireEncoding.fromSubProtocol("monopoly.cbor"));
+        assertEquals(WireEncoding.JSON, WireEncoding.fromSubProtocol(null));
+        assertEquals(WireEncoding.CBOR, WireEncoding.fromName("cbor"));
+        assertEquals(WireEncoding.JSON, WireEncoding.fromName("smile"));
+    }
+}
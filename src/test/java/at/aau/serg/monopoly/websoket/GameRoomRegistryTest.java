@@ -0,0 +1,104 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameRoomRegistryTest {
+
+    private GameRoomRegistry registry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<GameWebSocketHandler> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenAnswer(invocation -> new GameWebSocketHandler());
+        registry = new GameRoomRegistry(provider, new RoomExecutorPool(2));
+    }
+
+    @Test
+    void testJoinWithoutRoomIdUsesDefaultRoom() {
+        GameRoom room = registry.join("s1", null);
+
+        assertEquals(GameRoomRegistry.DEFAULT_ROOM_ID, room.getId());
+        assertSame(room, registry.roomOf("s1"));
+    }
+
+    @Test
+    void testSessionsOfSameRoomShareHandler() {
+        GameRoom first = registry.join("s1", "room-a");
+        GameRoom second = registry.join("s2", "room-a");
+
+        assertSame(first, second);
+        assertEquals(2, first.getConnectedSessions());
+    }
+
+    @Test
+    void testDifferentRoomsHaveSeparateState() {
+        GameRoom a = registry.join("s1", "room-a");
+        GameRoom b = registry.join("s2", "room-b");
+
+        assertNotSame(a.getHandler(), b.getHandler());
+        assertNotSame(a.getHandler().propertyService, b.getHandler().propertyService);
+    }
+
+    @Test
+    void testRoomIsDroppedWhenLastSessionLeaves() {
+        registry.join("s1", "room-a");
+        registry.join("s2", "room-a");
+
+        registry.leave("s1");
+        assertNotNull(registry.getRoom("room-a"));
+
+        GameRoom left = registry.leave("s2");
+        assertEquals("room-a", left.getId());
+        assertNull(registry.getRoom("room-a"));
+        assertNull(registry.roomOf("s2"));
+    }
+
+    @Test
+    void testRoomKeepsItsMailbox() {
+        GameRoom first = registry.join("s1", "room-a");
+        GameRoom second = registry.join("s2", "room-a");
+
+        assertNotNull(first.getMailbox());
+        assertSame(first.getMailbox(), second.getMailbox());
+    }
+
+    @Test
+    void testMoveSwitchesRoomAndDropsEmptyOne() {
+        GameRoom from = registry.join("s1", "room-a");
+
+        GameRoom target = registry.move("s1", from, "room-b");
+
+        assertEquals("room-b", target.getId());
+        assertSame(target, registry.roomOf("s1"));
+        assertEquals(1, target.getConnectedSessions());
+        assertNull(registry.getRoom("room-a"));
+    }
+
+    @Test
+    void testMoveOfSessionThatLeftMeanwhileIsIgnored() {
+        GameRoom from = registry.join("s1", "room-a");
+        registry.leave("s1");
+
+        assertNull(registry.move("s1", from, "room-b"));
+        assertNull(registry.roomOf("s1"));
+        assertNull(registry.getRoom("room-b"));
+    }
+
+    @Test
+    void testLeaveUnknownSessionReturnsNull() {
+        assertNull(registry.leave("unknown"));
+    }
+
+    @Test
+    void testInvalidRoomIdFallsBackToDefault() {
+        assertEquals(GameRoomRegistry.DEFAULT_ROOM_ID, GameRoomRegistry.normalizeRoomId("   "));
+        assertEquals(GameRoomRegistry.DEFAULT_ROOM_ID, GameRoomRegistry.normalizeRoomId("a/b"));
+        assertEquals("room-1", GameRoomRegistry.normalizeRoomId(" room-1 "));
+    }
+}
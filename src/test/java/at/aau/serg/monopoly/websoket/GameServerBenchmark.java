@@ -0,0 +1,190 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import data.deals.DealProposalMessage;
+import data.deals.DealResponseMessage;
+import data.deals.DealResponseType;
+import model.Game;
+import model.Player;
+import model.cards.CardType;
+import model.properties.BaseProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Baseline for the hot paths of one game room, driven through in-memory sessions.
+ * Run all benchmarks with: mvn -P benchmarks verify
+ * or a subset with e.g.: mvn -P benchmarks verify -Djmh.includes=GameServerBenchmark.dispatch -Djmh.args="-prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServerBenchmark {
+    private static final String PLAYER_1 = "p1";
+    private static final String PLAYER_2 = "p2";
+    private static final int STREET_ID = 1;
+
+    // Keeps the level change alive, java.util.logging only holds loggers weakly
+    private final List<Logger> quietLoggers = List.of(Logger.getLogger("at.aau.serg.monopoly"), Logger.getLogger("model"));
+
+    private GameWebSocketHandler handler;
+    private StubWebSocketSession session;
+    private Game game;
+    private Player player;
+    private BaseProperty street;
+
+    private PropertyService propertyService;
+    private RentCalculationService rentCalculationService;
+    private BaseProperty station;
+    private BaseProperty utility;
+    private Player owner;
+
+    private CardDeckService cardDeckService;
+    private DealService dealService;
+    private DealProposalMessage[] proposals;
+    private DealResponseMessage[] responses;
+    private int trade;
+
+    @Setup
+    public void setUp() throws Exception {
+        quietLoggers.forEach(logger -> logger.setLevel(Level.WARNING));
+
+        handler = new GameWebSocketHandler();
+        handler.useRoomLocalBoard(GameRoomRegistry.DEFAULT_ROOM_ID);
+        handler.init();
+        session = new StubWebSocketSession("1");
+        StubWebSocketSession other = new StubWebSocketSession("2");
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionEstablished(other);
+        handler.handleTextMessage(session, new TextMessage("{\"type\":\"INIT\",\"userId\":\"p1\",\"name\":\"Player 1\"}"));
+        handler.handleTextMessage(other, new TextMessage("{\"type\":\"INIT\",\"userId\":\"p2\",\"name\":\"Player 2\"}"));
+        game = (Game) ReflectionTestUtils.getField(handler, "game");
+        player = game.getPlayer(PLAYER_1);
+        street = handler.propertyService.getPropertyById(STREET_ID);
+
+        setUpServices();
+    }
+
+    private void setUpServices() {
+        Game servicesGame = new Game();
+        servicesGame.addPlayer(PLAYER_1, "Player 1");
+        servicesGame.addPlayer(PLAYER_2, "Player 2");
+        owner = servicesGame.getPlayer(PLAYER_2);
+
+        propertyService = new PropertyService(servicesGame);
+        propertyService.init();
+        rentCalculationService = new RentCalculationService(propertyService);
+        station = propertyService.getPropertyById(101);
+        utility = propertyService.getPropertyById(201);
+        propertyService.getPropertyById(STREET_ID).setOwnerId(PLAYER_2);
+        station.setOwnerId(PLAYER_2);
+        utility.setOwnerId(PLAYER_2);
+
+        cardDeckService = new CardDeckService(new ObjectMapper());
+        cardDeckService.init();
+
+        // The same street goes back and forth between both players
+        dealService = new DealService(new PropertyTransactionService(propertyService));
+        dealService.setGame(servicesGame);
+        proposals = new DealProposalMessage[]{
+                new DealProposalMessage("DEAL_PROPOSAL", PLAYER_2, PLAYER_1, List.of(), List.of(STREET_ID), 10),
+                new DealProposalMessage("DEAL_PROPOSAL", PLAYER_1, PLAYER_2, List.of(), List.of(STREET_ID), 10)
+        };
+        responses = new DealResponseMessage[]{
+                new DealResponseMessage("DEAL_RESPONSE", PLAYER_1, PLAYER_2, DealResponseType.ACCEPT, List.of(), 0),
+                new DealResponseMessage("DEAL_RESPONSE", PLAYER_2, PLAYER_1, DealResponseType.ACCEPT, List.of(), 0)
+        };
+    }
+
+    /**
+     * The inbound message of dispatch, a separate state so that only dispatch runs once per type.
+     */
+    @State(Scope.Thread)
+    public static class InboundMessage {
+        @Param({"Roll", "BUY_PROPERTY", "CHAT_MESSAGE", "UPDATE_MONEY", "PULL_CARD", "DEAL_PROPOSAL", "UNKNOWN"})
+        public String messageType;
+        private TextMessage message;
+
+        @Setup
+        public void setUp() {
+            message = new TextMessage(payloadFor(messageType));
+        }
+    }
+
+    private static String payloadFor(String type) {
+        return switch (type) {
+            case "Roll" -> "Roll";
+            case "BUY_PROPERTY" -> "BUY_PROPERTY:" + STREET_ID;
+            case "CHAT_MESSAGE" -> "{\"type\":\"CHAT_MESSAGE\",\"playerId\":\"p1\",\"message\":\"Hallo\"}";
+            case "UPDATE_MONEY" -> "UPDATE_MONEY:1";
+            case "PULL_CARD" -> "{\"type\":\"PULL_CARD\",\"playerId\":\"p1\",\"cardType\":\"CHANCE\"}";
+            case "DEAL_PROPOSAL" -> "{\"type\":\"DEAL_PROPOSAL\",\"fromPlayerId\":\"p1\",\"toPlayerId\":\"p2\","
+                    + "\"requestedPropertyIds\":[],\"offeredPropertyIds\":[],\"offeredMoney\":10}";
+            default -> "{\"type\":\"NOT_A_TYPE\"}";
+        };
+    }
+
+    /**
+     * One inbound message through handleTextMessage, including state broadcast to both sessions.
+     * The player is put back into the same state afterwards, so every call does the same work.
+     */
+    @Benchmark
+    public void dispatch(InboundMessage inbound, Blackhole blackhole) throws Exception {
+        handler.handleTextMessage(session, inbound.message);
+        blackhole.consume(session.getLastMessage());
+
+        player.setHasRolledThisTurn(false);
+        player.setInJail(false);
+        player.setPosition(street.getPosition());
+        player.setMoney(1500);
+        street.setOwnerId(null);
+    }
+
+    // Money changes every call, so GAME_STATE is serialized again each time
+    @Benchmark
+    public void broadcastGameState(Blackhole blackhole) {
+        player.addMoney(player.getMoney() % 2 == 0 ? 1 : -1);
+        handler.broadcastGameState();
+        blackhole.consume(session.getLastMessage());
+    }
+
+    @Benchmark
+    public void rentCalculation(Blackhole blackhole) {
+        blackhole.consume(rentCalculationService.calculateRent(propertyService.getPropertyById(STREET_ID), owner, player));
+        blackhole.consume(rentCalculationService.calculateRent(station, owner, player));
+        blackhole.consume(rentCalculationService.calculateRent(utility, owner, player));
+    }
+
+    @Benchmark
+    public void bankruptcyFullScan() {
+        handler.checkAllPlayersForBankruptcy();
+    }
+
+    @Benchmark
+    public void bankruptcyIncremental() {
+        handler.checkBankruptcies();
+    }
+
+    @Benchmark
+    public void drawCard(Blackhole blackhole) {
+        blackhole.consume(cardDeckService.drawCard(CardType.CHANCE));
+        blackhole.consume(cardDeckService.drawCard(CardType.COMMUNITY_CHEST));
+    }
+
+    @Benchmark
+    public void executeTrade(Blackhole blackhole) {
+        int index = trade++ & 1;
+        dealService.saveProposal(proposals[index]);
+        blackhole.consume(dealService.executeTrade(responses[index]));
+    }
+}
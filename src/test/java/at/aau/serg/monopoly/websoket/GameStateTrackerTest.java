@@ -0,0 +1,96 @@
+package at.aau.serg.monopoly.websoket;
+
+import data.GameStateDelta;
+import data.GameStateKeyframe;
+import data.PlayerDelta;
+import data.PlayerInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateTrackerTest {
+
+    private GameStateTracker tracker;
+    private final PlayerInfo alice = new PlayerInfo("a", "Alice", 1500, 0, false, 2);
+    private final PlayerInfo bob = new PlayerInfo("b", "Bob", 1500, 0, false, 2);
+
+    @BeforeEach
+    void setUp() {
+        tracker = new GameStateTracker(3);
+    }
+
+    @Test
+    void testFirstUpdateContainsAllFields() {
+        GameStateDelta delta = tracker.update(List.of(alice, bob), Map.of(), "a");
+
+        assertEquals(1, delta.getVersion());
+        assertEquals(2, delta.getPlayers().size());
+        PlayerDelta first = delta.getPlayers().get(0);
+        assertEquals("Alice", first.getName());
+        assertEquals(1500, first.getMoney());
+        assertEquals("a", delta.getCurrentPlayerId());
+    }
+
+    @Test
+    void testUnchangedStateProducesNoDelta() {
+        tracker.update(List.of(alice, bob), Map.of(), "a");
+
+        assertNull(tracker.update(List.of(alice, bob), Map.of(), "a"));
+        assertEquals(1, tracker.getVersion());
+    }
+
+    @Test
+    void testDeltaOnlyContainsChangedFields() {
+        tracker.update(List.of(alice, bob), Map.of(), "a");
+
+        PlayerInfo movedAlice = new PlayerInfo("a", "Alice", 1300, 7, false, 2);
+        GameStateDelta delta = tracker.update(List.of(movedAlice, bob), Map.of(1, "a"), "b");
+
+        assertEquals(2, delta.getVersion());
+        assertEquals(1, delta.getPlayers().size());
+        PlayerDelta changed = delta.getPlayers().get(0);
+        assertEquals("a", changed.getId());
+        assertEquals(1300, changed.getMoney());
+        assertEquals(7, changed.getPosition());
+        assertNull(changed.getName());
+        assertNull(changed.getInJail());
+        assertEquals(Map.of(1, "a"), delta.getPropertyOwners());
+        assertEquals("b", delta.getCurrentPlayerId());
+    }
+
+    @Test
+    void testRemovedPlayersAndReleasedProperties() {
+        tracker.update(List.of(alice, bob), Map.of(1, "b"), "a");
+
+        GameStateDelta delta = tracker.update(List.of(alice), Map.of(), "a");
+
+        assertEquals(List.of("b"), delta.getRemovedPlayers());
+        assertTrue(delta.getPropertyOwners().containsKey(1));
+        assertNull(delta.getPropertyOwners().get(1));
+        assertNull(delta.getCurrentPlayerId());
+    }
+
+    @Test
+    void testKeyframeReflectsLastState() {
+        tracker.update(List.of(alice, bob), Map.of(3, "b"), "b");
+
+        GameStateKeyframe keyframe = tracker.keyframe();
+
+        assertEquals(1, keyframe.getVersion());
+        assertEquals(List.of(alice, bob), keyframe.getPlayers());
+        assertEquals(Map.of(3, "b"), keyframe.getPropertyOwners());
+        assertEquals("b", keyframe.getCurrentPlayerId());
+    }
+
+    @Test
+    void testKeyframeIsDueEveryInterval() {
+        for (int money = 1; money <= 3; money++) {
+            tracker.update(List.of(new PlayerInfo("a", "Alice", money, 0, false, 2)), Map.of(), "a");
+            assertEquals(money == 3, tracker.isKeyframeDue());
+        }
+    }
+}
@@ -25,7 +25,6 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class GameWebSocketHandlerCheatingTest {
 
-    @InjectMocks
     private GameWebSocketHandler handler;
 
     @Mock private Game game;
@@ -36,7 +35,7 @@ class GameWebSocketHandlerCheatingTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(handler, "game",         game);
+        handler = new GameWebSocketHandler(game, null, null, null, null);
         ReflectionTestUtils.setField(handler, "cheatService", cheatService);
 
         lenient().when(session.getId()).thenReturn("session1");
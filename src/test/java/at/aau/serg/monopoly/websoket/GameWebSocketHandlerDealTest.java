@@ -28,9 +28,9 @@ class GameWebSocketHandlerDealTest {
 
     @BeforeEach
     void setUp() {
-        handler = new GameWebSocketHandler();
         dealService = mock(DealService.class);
         Game game = new Game();
+        handler = new GameWebSocketHandler(game, null, null, null, null);
         objectMapper = new ObjectMapper();
 
         fromSession = mock(WebSocketSession.class);
@@ -53,7 +53,6 @@ class GameWebSocketHandlerDealTest {
         sessionMap.put("session-from", "fromPlayer");
         sessionMap.put("session-to", "toPlayer");
 
-        ReflectionTestUtils.setField(handler, "game", game);
         ReflectionTestUtils.setField(handler, "sessionToUserId", sessionMap);
 
 
@@ -34,19 +34,20 @@ class GameWebSocketHandlerDiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        handler = new GameWebSocketHandler();
-
-        ReflectionTestUtils.setField(handler, "propertyTransactionService", propertyTransactionService);
-        ReflectionTestUtils.setField(handler, "propertyService", propertyService);
-        ReflectionTestUtils.setField(handler, "rentCollectionService", rentCollectionService);
-        ReflectionTestUtils.setField(handler, "rentCalculationService", rentCalculationService);
-        ReflectionTestUtils.setField(handler, "gameHistoryService", gameHistoryService);
-        ReflectionTestUtils.setField(handler, "cardDeckService", cardDeckService);
+        handler = handlerWith(new Game());
 
         when(session.getId()).thenReturn("session-1");
         when(session.isOpen()).thenReturn(true);
     }
 
+    private GameWebSocketHandler handlerWith(Game game) {
+        GameWebSocketHandler created = new GameWebSocketHandler(game, propertyService, propertyTransactionService,
+                rentCalculationService, rentCollectionService);
+        ReflectionTestUtils.setField(created, "gameHistoryService", gameHistoryService);
+        ReflectionTestUtils.setField(created, "cardDeckService", cardDeckService);
+        return created;
+    }
+
     @Test
     void testInitRegistersPlayerAndBroadcasts() throws Exception {
         handler.afterConnectionEstablished(session);
@@ -158,13 +159,7 @@ class GameWebSocketHandlerDiceTest {
         when(s1.isOpen()).thenReturn(true);
         when(s2.isOpen()).thenReturn(true);
 
-        handler = new GameWebSocketHandler();
-        ReflectionTestUtils.setField(handler, "propertyTransactionService", propertyTransactionService);
-        ReflectionTestUtils.setField(handler, "propertyService", propertyService);
-        ReflectionTestUtils.setField(handler, "rentCollectionService", rentCollectionService);
-        ReflectionTestUtils.setField(handler, "rentCalculationService", rentCalculationService);
-        ReflectionTestUtils.setField(handler, "gameHistoryService", gameHistoryService);
-        ReflectionTestUtils.setField(handler, "cardDeckService", cardDeckService);
+        handler = handlerWith(new Game());
 
         handler.afterConnectionEstablished(s1);
         handler.afterConnectionEstablished(s2);
@@ -279,6 +274,9 @@ class GameWebSocketHandlerDiceTest {
     }
     @Test
     void testNextTurnReturnsErrorIfNotYourTurn() throws Exception {
+        // Manipuliert Spiellogik, damit Spieler nicht dran ist
+        Game spyGame = spy(new Game());
+        handler = handlerWith(spyGame);
         handler.afterConnectionEstablished(session);
 
         String initJson = mapper.createObjectNode()
@@ -288,11 +286,6 @@ class GameWebSocketHandlerDiceTest {
                 .toString();
         handler.handleTextMessage(session, new TextMessage(initJson));
 
-        // Manipuliert Spiellogik, damit Spieler nicht dran ist
-        Game spyGame = spy(new Game());
-        spyGame.addPlayer("u1", "Alice");
-        ReflectionTestUtils.setField(handler, "game", spyGame);
-
         doReturn(false).when(spyGame).isPlayerTurn("u1");
 
         clearInvocations(session);
@@ -307,6 +300,8 @@ class GameWebSocketHandlerDiceTest {
 
     @Test
     void testNextTurnAdvancesPlayerIfValid() {
+        Game spyGame = spy(new Game());
+        handler = handlerWith(spyGame);
         handler.afterConnectionEstablished(session);
 
         String initJson = mapper.createObjectNode()
@@ -316,10 +311,6 @@ class GameWebSocketHandlerDiceTest {
                 .toString();
         handler.handleTextMessage(session, new TextMessage(initJson));
 
-        Game spyGame = spy(new Game());
-        spyGame.addPlayer("u1", "Alice");
-        ReflectionTestUtils.setField(handler, "game", spyGame);
-
         doReturn(true).when(spyGame).isPlayerTurn("u1");
 
         clearInvocations(session);
@@ -27,7 +27,6 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class GameWebSocketHandlerEndGameTest {
 
-    @InjectMocks
     private GameWebSocketHandler handler;
     @Mock
     private PropertyService propertyService;
@@ -39,8 +38,7 @@ class GameWebSocketHandlerEndGameTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(handler, "game", mockGame);
-        ReflectionTestUtils.setField(handler, "propertyService", propertyService);
+        handler = new GameWebSocketHandler(mockGame, propertyService, null, null, null);
 
         when(session.getId()).thenReturn("sess-1");
         when(session.isOpen()).thenReturn(true);
@@ -138,12 +136,12 @@ class GameWebSocketHandlerEndGameTest {
         when(propertyService.getTrainStations()).thenReturn(Collections.emptyList());
         when(propertyService.getUtilities()).thenReturn(Collections.emptyList());
 
-        ObjectMapper realMapper = new ObjectMapper();
-        ObjectMapper spyMapper = spy(realMapper);
-        when(spyMapper.writeValueAsString(any())).thenThrow(
+        MessageCodec failingCodec = mock(MessageCodec.class);
+        when(failingCodec.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(failingCodec.write(any())).thenThrow(
                 new com.fasterxml.jackson.core.JsonProcessingException("boom") {});
 
-        ReflectionTestUtils.setField(handler, "objectMapper", spyMapper);
+        ReflectionTestUtils.setField(handler, "messageCodec", failingCodec);
 
         GameWebSocketHandler spyHandler = spy(handler);
         doNothing().when(spyHandler).processPlayerGiveUp(anyString(),anyInt(), anyInt());
@@ -26,7 +26,6 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class GameWebSocketHandlerGiveUpTest {
 
-    @InjectMocks
     private GameWebSocketHandler handler;
 
     @Mock private Game game;
@@ -49,7 +48,12 @@ class GameWebSocketHandlerGiveUpTest {
     @BeforeEach
     void setUp() {
         // inject our mocks
-        ReflectionTestUtils.setField(handler, "game", game);
+        handler = new GameWebSocketHandler(game, propertyService, propertyTransactionService,
+                rentCalculationService, rentCollectionService);
+        ReflectionTestUtils.setField(handler, "gameHistoryService", gameHistoryService);
+        ReflectionTestUtils.setField(handler, "cardDeckService", cardDeckService);
+        ReflectionTestUtils.setField(handler, "cheatService", cheatService);
+        ReflectionTestUtils.setField(handler, "dealService", dealService);
         handler.sessions.clear();
         handler.sessions.add(session);
 
@@ -181,9 +185,10 @@ class GameWebSocketHandlerGiveUpTest {
         when(game.getPlayers()).thenReturn(Collections.singletonList(remainingPlayer));
         when(remainingPlayer.getId()).thenReturn("winner1");
 
-        ObjectMapper badMapper = mock(ObjectMapper.class);
-        ReflectionTestUtils.setField(handler, "objectMapper", badMapper);
-        when(badMapper.writeValueAsString(any()))
+        MessageCodec badCodec = mock(MessageCodec.class);
+        ReflectionTestUtils.setField(handler, "messageCodec", badCodec);
+        when(badCodec.getObjectMapper()).thenReturn(new ObjectMapper());
+        when(badCodec.write(any()))
                 .thenThrow(new com.fasterxml.jackson.core.JsonProcessingException("fail") {});
 
         // Act
@@ -0,0 +1,93 @@
+package at.aau.serg.monopoly.websoket;
+
+import at.aau.serg.monopoly.engine.GameEngine;
+import model.DiceManagerInterface;
+import model.Game;
+import model.Player;
+import model.properties.BaseProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * A roll resolves the square it ends on exactly once, with the real rent and tax services of a room.
+ */
+class GameWebSocketHandlerLandingTest {
+    private GameWebSocketHandler handler;
+    private Game game;
+    private DiceManagerInterface dice;
+    private WebSocketSession aliceSession;
+    private Player alice;
+    private Player bob;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GameWebSocketHandler();
+        handler.useRoomLocalBoard(GameRoomRegistry.DEFAULT_ROOM_ID);
+        game = handler.engine().getGame();
+
+        dice = mock(DiceManagerInterface.class);
+        when(dice.isPasch()).thenReturn(false);
+        when(dice.getLastRollValues()).thenReturn(List.of(1, 1));
+        ReflectionTestUtils.setField(handler, "diceManager", dice);
+
+        aliceSession = session("s1");
+        WebSocketSession bobSession = session("s2");
+        handler.afterConnectionEstablished(aliceSession);
+        handler.afterConnectionEstablished(bobSession);
+        handler.handleTextMessage(aliceSession, new TextMessage("{\"type\":\"INIT\",\"userId\":\"alice\",\"name\":\"Alice\"}"));
+        handler.handleTextMessage(bobSession, new TextMessage("{\"type\":\"INIT\",\"userId\":\"bob\",\"name\":\"Bob\"}"));
+
+        alice = game.getPlayer("alice");
+        bob = game.getPlayer("bob");
+        alice.setPosition(0);
+    }
+
+    @Test
+    void rollOnOwnedPropertyPaysRentOnce() throws Exception {
+        BaseProperty property = handler.engine().getPropertyService().getPropertyByPosition(3);
+        property.setOwnerId("bob");
+        when(dice.rollDices()).thenReturn(3);
+
+        handler.handleTextMessage(aliceSession, new TextMessage("Roll"));
+
+        int rent = 1500 - alice.getMoney();
+        assertTrue(rent > 0);
+        assertEquals(1500 + rent, bob.getMoney());
+        assertEquals(1, countFrames(aliceSession, "\"type\":\"RENT_PAYMENT\""));
+    }
+
+    @Test
+    void rollOnIncomeTaxDeductsOnce() throws Exception {
+        when(dice.rollDices()).thenReturn(GameEngine.INCOME_TAX_SQUARE);
+
+        handler.handleTextMessage(aliceSession, new TextMessage("Roll"));
+
+        assertEquals(1500 - GameEngine.INCOME_TAX, alice.getMoney());
+        assertEquals(1, countFrames(aliceSession, "\"type\":\"TAX_PAYMENT\""));
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private static long countFrames(WebSocketSession session, String marker) throws Exception {
+        ArgumentCaptor<TextMessage> frames = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, atLeastOnce()).sendMessage(frames.capture());
+        return frames.getAllValues().stream()
+                .filter(frame -> frame.getPayload().contains(marker))
+                .count();
+    }
+}
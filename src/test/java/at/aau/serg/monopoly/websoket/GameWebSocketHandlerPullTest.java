@@ -4,6 +4,7 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import data.PullCardMessage;
+import model.Game;
 import model.cards.CardType;
 import model.cards.MoneyCard;
 import model.cards.ActionType;
@@ -32,13 +33,11 @@ class GameWebSocketHandlerPullTest {
 
     @BeforeEach
     void setUp() {
-        handler = spy(new GameWebSocketHandler());
+        handler = spy(new GameWebSocketHandler(new Game(), propertyService, propertyTransactionService, null, null));
 
         // Inject:
         ReflectionTestUtils.setField(handler, "cardDeckService", cardDeckService);
-        ReflectionTestUtils.setField(handler, "propertyTransactionService", propertyTransactionService);
         ReflectionTestUtils.setField(handler, "gameHistoryService", gameHistoryService);
-        ReflectionTestUtils.setField(handler, "propertyService", propertyService);
 
         when(propertyService.getHouseableProperties()).thenReturn(Collections.emptyList());
         when(propertyService.getTrainStations()).thenReturn(Collections.emptyList());
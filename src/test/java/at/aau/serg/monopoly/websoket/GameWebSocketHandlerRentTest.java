@@ -1,6 +1,5 @@
 package at.aau.serg.monopoly.websoket;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import model.Player;
 import model.Game;
 import model.properties.BaseProperty;
@@ -12,7 +11,6 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.lang.reflect.Field;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -45,18 +43,8 @@ class GameWebSocketHandlerRentTest {
         MockitoAnnotations.openMocks(this);
         
         // Create handler with mocked dependencies
-        handler = new GameWebSocketHandler();
-        
-        // Initialize objectMapper first
-        ObjectMapper objectMapper = new ObjectMapper();
-        
-        // Use reflection to set private fields
-        setPrivateField(handler, "propertyTransactionService", propertyTransactionService);
-        setPrivateField(handler, "rentCalculationService", rentCalculationService);
-        setPrivateField(handler, "rentCollectionService", rentCollectionService);
-        setPrivateField(handler, "game", game);
-        setPrivateField(handler, "propertyService", propertyService);
-        setPrivateField(handler, "objectMapper", objectMapper);
+        handler = new GameWebSocketHandler(game, propertyService, propertyTransactionService,
+                rentCalculationService, rentCollectionService);
 
         // Setup session
         when(session.getId()).thenReturn(SESSION_ID);
@@ -97,12 +85,6 @@ class GameWebSocketHandlerRentTest {
         when(game.getCurrentPlayer()).thenReturn(renter);
     }
 
-    private void setPrivateField(Object target, String fieldName, Object value) throws Exception {
-        Field field = target.getClass().getDeclaredField(fieldName);
-        field.setAccessible(true);
-        field.set(target, value);
-    }
-
     @Test
     void handleRentPayment_WhenValid_CollectsRent() {
         // Setup
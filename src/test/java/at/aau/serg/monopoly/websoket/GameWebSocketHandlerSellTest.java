@@ -39,16 +39,12 @@ class GameWebSocketHandlerSellTest {
 
     @BeforeEach
     void setUp() {
-        handler = new GameWebSocketHandler();
+        handler = new GameWebSocketHandler(game, null, propertyTransactionService, null, null);
         mapper = new ObjectMapper();
 
         // Set up test game state
         when(game.getPlayerById(TEST_USER_ID)).thenReturn(Optional.of(player));
         
-        // Use reflection to set the private fields
-        ReflectionTestUtils.setField(handler, "game", game);
-        ReflectionTestUtils.setField(handler, "propertyTransactionService", propertyTransactionService);
-        
         // Set up session mapping
         ConcurrentHashMap<String, String> sessionMap = new ConcurrentHashMap<>();
         sessionMap.put("testSessionId", TEST_USER_ID);
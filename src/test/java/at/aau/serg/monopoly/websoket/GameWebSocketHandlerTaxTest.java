@@ -25,8 +25,8 @@ class GameWebSocketHandlerTaxTest {
 
     @BeforeEach
     void setUp() throws Exception {
-        handler = new GameWebSocketHandler();
         game = new Game();
+        handler = new GameWebSocketHandler(game, null, null, null, null);
         session = mock(WebSocketSession.class);
         objectMapper = new ObjectMapper();
 
@@ -38,10 +38,6 @@ class GameWebSocketHandlerTaxTest {
         sessionToUserIdField.setAccessible(true);
         ConcurrentHashMap<String, String> sessionMap = new ConcurrentHashMap<>();
         sessionToUserIdField.set(handler, sessionMap);
-        
-        Field gameField = GameWebSocketHandler.class.getDeclaredField("game");
-        gameField.setAccessible(true);
-        gameField.set(handler, game);
 
         // Set up session ID
         when(session.getId()).thenReturn("testSessionId");
@@ -62,6 +58,13 @@ class GameWebSocketHandlerTaxTest {
         handler.handleTextMessage(session, new TextMessage(initJson));
     }
 
+    // New handler on the given game, the test session already belongs to TEST_USER_ID
+    private GameWebSocketHandler handlerFor(Game otherGame) {
+        GameWebSocketHandler created = new GameWebSocketHandler(otherGame, null, null, null, null);
+        created.sessionToUserId.put("testSessionId", TEST_USER_ID);
+        return created;
+    }
+
     @Test
     void testHandleValidTaxPaymentMessage() throws Exception {
         // Arrange
@@ -151,9 +154,7 @@ class GameWebSocketHandlerTaxTest {
         spyGame.addPlayer(TEST_USER_ID, "TestPlayer");
 
 
-        Field gameField = GameWebSocketHandler.class.getDeclaredField("game");
-        gameField.setAccessible(true);
-        gameField.set(handler, spyGame);
+        handler = handlerFor(spyGame);
 
         Player player = spyGame.getPlayerById(TEST_USER_ID).orElseThrow();
         player.setPosition(0);
@@ -185,9 +186,7 @@ class GameWebSocketHandlerTaxTest {
         Game spyGame = spy(new Game());
         spyGame.addPlayer(TEST_USER_ID, "TestPlayer");
 
-        Field gameField = GameWebSocketHandler.class.getDeclaredField("game");
-        gameField.setAccessible(true);
-        gameField.set(handler, spyGame);
+        handler = handlerFor(spyGame);
 
         Player player = spyGame.getPlayerById(TEST_USER_ID).orElseThrow();
         player.setPosition(0);
@@ -261,9 +260,7 @@ class GameWebSocketHandlerTaxTest {
         String otherPlayerId = "otherPlayerId";
         spyGame.addPlayer(otherPlayerId, "Other Player");
 
-        Field gameField = GameWebSocketHandler.class.getDeclaredField("game");
-        gameField.setAccessible(true);
-        gameField.set(handler, spyGame);
+        handler = handlerFor(spyGame);
 
         Player currentPlayer = spyGame.getPlayerById(TEST_USER_ID).orElseThrow();
         Player otherPlayer = spyGame.getPlayerById(otherPlayerId).orElseThrow();
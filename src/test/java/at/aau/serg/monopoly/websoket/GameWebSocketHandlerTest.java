@@ -47,17 +47,9 @@ class GameWebSocketHandlerTest {
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
-        handler = new GameWebSocketHandler();
-        handler.propertyService = mock(PropertyService.class);
-        handler.rentCalculationService = mock(RentCalculationService.class);
-        handler.rentCollectionService = mock(RentCollectionService.class);
         // Inject mocks
-        var gameField = GameWebSocketHandler.class.getDeclaredField("game");
-        gameField.setAccessible(true);
-        gameField.set(handler, game);
-        var propField = GameWebSocketHandler.class.getDeclaredField("propertyTransactionService");
-        propField.setAccessible(true);
-        propField.set(handler, propertyTransactionService);
+        handler = new GameWebSocketHandler(game, mock(PropertyService.class), propertyTransactionService,
+                mock(RentCalculationService.class), mock(RentCollectionService.class));
 
         game.addPlayer("player1", "Player 1");
         when(game.getPlayerById("player1")).thenReturn(Optional.of(player));
@@ -136,9 +128,8 @@ class GameWebSocketHandlerTest {
         when(diceManager.rollDices()).thenReturn(roll);
         when(diceManager.getLastRollValues()).thenReturn(List.of(roll));
 
-        // Reflect diceManager und game in Handler setzen
+        // Reflect diceManager in Handler setzen
         ReflectionTestUtils.setField(handler, "diceManager", diceManager);
-        ReflectionTestUtils.setField(handler, "game", game);
 
         // Füge Session zur sessions-Liste hinzu
         Field sessionsField = GameWebSocketHandler.class.getDeclaredField("sessions");
@@ -1,9 +1,12 @@
 package at.aau.serg.monopoly.websoket;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import model.Game;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
@@ -244,4 +247,156 @@ class GameWebSocketHandlerUnitTest {
         verify(session2).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains(expected)));
     }
 
+    @Test
+    void testBroadcastSharesOneFrameAcrossSessions() throws Exception {
+        WebSocketSession session2 = mock(WebSocketSession.class);
+        when(session2.getId()).thenReturn("2");
+        when(session2.isOpen()).thenReturn(true);
+        gameWebSocketHandler.afterConnectionEstablished(session2);
+        sendInit(session2, "2", "Player2");
+        clearInvocations(session, session2);
+
+        gameWebSocketHandler.broadcastGameState();
+
+        ArgumentCaptor<TextMessage> first = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> second = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(2)).sendMessage(first.capture());
+        verify(session2, times(2)).sendMessage(second.capture());
+        assertSame(first.getAllValues().get(0), second.getAllValues().get(0));
+        assertTrue(first.getAllValues().get(0).getPayload().startsWith("GAME_STATE:"));
+    }
+
+    @Test
+    void testUnchangedGameStateIsNotSerializedAgain() throws Exception {
+        gameWebSocketHandler.broadcastGameState();
+        gameWebSocketHandler.broadcastGameState();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(4)).sendMessage(captor.capture());
+        assertSame(captor.getAllValues().get(0), captor.getAllValues().get(2));
+    }
+
+    @Test
+    void testDeltaClientGetsKeyframeAndDeltasInsteadOfGameState() throws Exception {
+        WebSocketSession deltaSession = mock(WebSocketSession.class);
+        when(deltaSession.getId()).thenReturn("2");
+        when(deltaSession.isOpen()).thenReturn(true);
+        gameWebSocketHandler.afterConnectionEstablished(deltaSession);
+        gameWebSocketHandler.handleTextMessage(deltaSession,
+                new TextMessage("{\"type\":\"INIT\",\"userId\":\"2\",\"name\":\"Player2\",\"deltaState\":true}"));
+
+        verify(deltaSession).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("GAME_STATE_KEYFRAME")));
+        clearInvocations(session, deltaSession);
+
+        gameWebSocketHandler.handleTextMessage(session, new TextMessage("UPDATE_MONEY:100"));
+
+        verify(session, atLeastOnce()).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().startsWith("GAME_STATE:")));
+        verify(deltaSession, never()).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().startsWith("GAME_STATE:")));
+        verify(deltaSession).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("\"type\":\"GAME_STATE_DELTA\"")
+                && ((TextMessage) msg).getPayload().contains("\"money\":1600")));
+    }
+
+    @Test
+    void testGameStartSendsNoGameStateToDeltaClient() throws Exception {
+        WebSocketSession deltaSession = mock(WebSocketSession.class);
+        when(deltaSession.getId()).thenReturn("2");
+        when(deltaSession.isOpen()).thenReturn(true);
+        gameWebSocketHandler.afterConnectionEstablished(deltaSession);
+        gameWebSocketHandler.handleTextMessage(deltaSession,
+                new TextMessage("{\"type\":\"INIT\",\"userId\":\"2\",\"name\":\"Player2\",\"deltaState\":true}"));
+        WebSocketSession session3 = mock(WebSocketSession.class);
+        when(session3.getId()).thenReturn("3");
+        when(session3.isOpen()).thenReturn(true);
+        gameWebSocketHandler.afterConnectionEstablished(session3);
+        clearInvocations(session, deltaSession);
+
+        // the third player joining starts the game again
+        sendInit(session3, "3", "Player3");
+
+        verify(session, atLeastOnce()).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().startsWith("GAME_STATE:")));
+        verify(deltaSession).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("Game started")));
+        verify(deltaSession, never()).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().startsWith("GAME_STATE:")));
+        verify(deltaSession, atLeastOnce()).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("\"type\":\"GAME_STATE_")));
+    }
+
+    @Test
+    void testRoomsDeriveTheirSeedFromTheConfiguredOne() {
+        long roomA = roomWithSeed("a").engine().getGame().getRandom().seed();
+        long roomB = roomWithSeed("b").engine().getGame().getRandom().seed();
+
+        assertNotEquals(roomA, roomB);
+        assertEquals(roomA, roomWithSeed("a").engine().getGame().getRandom().seed());
+        assertEquals(GameWebSocketHandler.roomSeed(42, "a"), roomA);
+    }
+
+    private GameWebSocketHandler roomWithSeed(String roomId) {
+        GameWebSocketHandler handler = new GameWebSocketHandler();
+        ReflectionTestUtils.setField(handler, "randomSeed", "42");
+        handler.useRoomLocalBoard(roomId);
+        return handler;
+    }
+
+    @Test
+    void testResyncSendsKeyframe() throws Exception {
+        gameWebSocketHandler.handleTextMessage(session, new TextMessage("{\"type\":\"RESYNC\"}"));
+
+        verify(session).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("GAME_STATE_KEYFRAME")));
+    }
+
+    @Test
+    void testResyncBeforeInitIsRejected() throws Exception {
+        WebSocketSession newcomer = mock(WebSocketSession.class);
+        when(newcomer.getId()).thenReturn("4");
+        when(newcomer.isOpen()).thenReturn(true);
+        gameWebSocketHandler.afterConnectionEstablished(newcomer);
+
+        gameWebSocketHandler.handleTextMessage(newcomer, new TextMessage("{\"type\":\"RESYNC\"}"));
+
+        verify(newcomer).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("Send INIT message first")));
+        verify(newcomer, never()).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("GAME_STATE_KEYFRAME")));
+        assertFalse(gameWebSocketHandler.deltaSessions.contains("4"));
+    }
+
+    @Test
+    void testDeltaSessionIsRemovedOnCloseAndDetach() {
+        WebSocketSession closing = mock(WebSocketSession.class);
+        when(closing.getId()).thenReturn("5");
+        WebSocketSession moving = mock(WebSocketSession.class);
+        when(moving.getId()).thenReturn("6");
+        gameWebSocketHandler.deltaSessions.add("5");
+        gameWebSocketHandler.deltaSessions.add("6");
+
+        gameWebSocketHandler.afterConnectionClosed(closing, CloseStatus.NORMAL);
+        gameWebSocketHandler.detachSession(moving);
+
+        assertTrue(gameWebSocketHandler.deltaSessions.isEmpty());
+    }
+
+    @Test
+    void testStateBroadcastsOfOneActionAreCoalesced() throws Exception {
+        gameWebSocketHandler = new GameWebSocketHandler(new Game(), mock(PropertyService.class), null, null, null);
+        ReflectionTestUtils.setField(gameWebSocketHandler, "gameHistoryService", mock(GameHistoryService.class));
+        gameWebSocketHandler.afterConnectionEstablished(session);
+        sendInit(session, "1", "Player1");
+        WebSocketSession session2 = mock(WebSocketSession.class);
+        when(session2.getId()).thenReturn("2");
+        when(session2.isOpen()).thenReturn(true);
+        WebSocketSession session3 = mock(WebSocketSession.class);
+        when(session3.getId()).thenReturn("3");
+        when(session3.isOpen()).thenReturn(true);
+        gameWebSocketHandler.afterConnectionEstablished(session2);
+        sendInit(session2, "2", "Player2");
+        gameWebSocketHandler.afterConnectionEstablished(session3);
+        sendInit(session3, "3", "Player3");
+        clearInvocations(session2);
+        long coalescedBefore = gameWebSocketHandler.getCoalescedStateBroadcasts();
+
+        // Player 1 goes bankrupt: money update and forced give up both change the state
+        gameWebSocketHandler.handleTextMessage(session, new TextMessage("UPDATE_MONEY:-5000"));
+
+        verify(session2, times(1)).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().startsWith("GAME_STATE:")));
+        verify(session2).sendMessage(argThat(msg -> ((TextMessage) msg).getPayload().contains("IS_BANKRUPT")));
+        assertEquals(coalescedBefore + 1, gameWebSocketHandler.getCoalescedStateBroadcasts());
+    }
+
 }
@@ -0,0 +1,85 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import data.PlayerInfo;
+import data.TaxPaymentMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageCodecTest {
+
+    private final MessageCodec codec = MessageCodec.shared();
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    @Test
+    void testReadersAndWritersAreCachedPerClass() {
+        codec.warmUp();
+
+        for (Class<?> type : MessageCodec.MESSAGE_TYPES) {
+            assertSame(codec.readerFor(type), codec.readerFor(type));
+            assertSame(codec.writerFor(type), codec.writerFor(type));
+        }
+    }
+
+    @Test
+    void testRoundTripMatchesPlainObjectMapper() throws Exception {
+        TaxPaymentMessage tax = new TaxPaymentMessage("p1", 200, "EINKOMMENSTEUER");
+
+        String json = codec.write(tax);
+        assertEquals(new ObjectMapper().writeValueAsString(tax), json);
+
+        TaxPaymentMessage read = codec.read(json, TaxPaymentMessage.class);
+        assertEquals("p1", read.getPlayerId());
+        assertEquals(200, read.getAmount());
+    }
+
+    @Test
+    void testWritePlayersMatchesPlainObjectMapper() throws Exception {
+        List<PlayerInfo> players = List.of(new PlayerInfo("p1", "Anna", 1500, 0, false, 0));
+
+        assertEquals(new ObjectMapper().writeValueAsString(players), codec.writePlayers(players));
+    }
+
+    @Test
+    void testJsonFrameRoundTripsThroughCbor() throws Exception {
+        String json = "{\"type\":\"CHAT_MESSAGE\",\"playerId\":\"p1\",\"message\":\"hi\",\"n\":3}";
+
+        byte[] cbor = codec.toCbor(json);
+
+        assertNotNull(cbor);
+        assertEquals(json, codec.fromCbor(ByteBuffer.wrap(cbor)));
+    }
+
+    @Test
+    void testLegacyPrefixFramesBecomeTypedObjects() throws Exception {
+        JsonNode state = cborMapper.readTree(codec.toCbor("GAME_STATE:[{\"id\":\"p1\"}]"));
+        assertEquals("GAME_STATE", state.get("type").asText());
+        assertEquals("p1", state.get("players").get(0).get("id").asText());
+
+        JsonNode turn = cborMapper.readTree(codec.toCbor("PLAYER_TURN:p2"));
+        assertEquals("PLAYER_TURN", turn.get("type").asText());
+        assertEquals("p2", turn.get("playerId").asText());
+    }
+
+    @Test
+    void testPlainTextFramesStayText() throws Exception {
+        assertNull(codec.toCbor("Game started! 2 players are connected."));
+        assertNull(codec.toCbor("{not json"));
+    }
+
+    @Test
+    void testBroadcastFrameIsConvertedOnce() throws Exception {
+        OutboundFrame frame = OutboundFrame.text("{\"type\":\"RESET\"}");
+
+        assertSame(frame.cbor(codec), frame.cbor(codec));
+        // no cache in the codec, another broadcast of the same text is encoded again
+        assertNotSame(frame.cbor(codec), OutboundFrame.text("{\"type\":\"RESET\"}").cbor(codec));
+        assertNull(OutboundFrame.text("Player p1: hi").cbor(codec));
+    }
+}
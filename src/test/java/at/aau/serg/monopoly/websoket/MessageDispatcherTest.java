@@ -0,0 +1,77 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import model.ChatMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageDispatcherTest {
+
+    private final MessageDispatcher.CommandHandler roll = (session, userId, payload) -> { };
+    private final MessageDispatcher.CommandHandler nextTurn = (session, userId, payload) -> { };
+    private final MessageDispatcher.CommandHandler buy = (session, userId, payload) -> { };
+    private final MessageDispatcher.CommandHandler sell = (session, userId, payload) -> { };
+
+    private final MessageDispatcher dispatcher = new MessageDispatcher()
+            .onTypeBeforeInit("INIT", JsonNode.class, (session, userId, json, payload) -> { })
+            .onType("CHAT_MESSAGE", ChatMessage.class, (session, userId, json, payload) -> { })
+            .onCommandIgnoreCase("Roll", roll)
+            .onCommand("NEXT_TURN", nextTurn)
+            .onPrefix("BUY_PROPERTY:", buy)
+            .onPrefix("SELL_PROPERTY:", sell);
+
+    @Test
+    void testTypeRoutesKnowWhetherInitIsRequired() {
+        assertFalse(dispatcher.routeForType("INIT").requiresInit());
+        assertTrue(dispatcher.routeForType("CHAT_MESSAGE").requiresInit());
+        assertNull(dispatcher.routeForType("UNKNOWN"));
+        assertNull(dispatcher.routeForType(null));
+    }
+
+    @Test
+    void testExactCommands() {
+        assertSame(roll, dispatcher.routeForCommand(" rOlL "));
+        assertSame(nextTurn, dispatcher.routeForCommand("NEXT_TURN"));
+        assertNull(dispatcher.routeForCommand("next_turn"));
+        assertNull(dispatcher.routeForCommand("Rolling"));
+    }
+
+    @Test
+    void testPrefixCommands() {
+        assertSame(buy, dispatcher.routeForCommand("BUY_PROPERTY:5"));
+        assertSame(sell, dispatcher.routeForCommand("SELL_PROPERTY:"));
+        assertNull(dispatcher.routeForCommand("BUY_PROPERTY"));
+        assertNull(dispatcher.routeForCommand(""));
+    }
+
+    @Test
+    void testCommandNames() {
+        assertEquals("Roll", dispatcher.commandName(dispatcher.routeForCommand("roll")));
+        assertEquals("NEXT_TURN", dispatcher.commandName(nextTurn));
+        assertEquals("BUY_PROPERTY", dispatcher.commandName(dispatcher.routeForCommand("BUY_PROPERTY:5")));
+        assertNull(dispatcher.commandName((session, userId, payload) -> { }));
+    }
+
+    @Test
+    void testTrieReturnsLongestPrefix() {
+        CommandTrie<String> trie = new CommandTrie<>();
+        trie.put("A", "short");
+        trie.put("AB:", "long");
+
+        assertEquals("long", trie.longestPrefixOf("AB:1"));
+        assertEquals("short", trie.longestPrefixOf("AB"));
+        assertNull(trie.longestPrefixOf("B"));
+        assertThrows(IllegalArgumentException.class, () -> trie.put("", "empty"));
+    }
+
+    @Test
+    void testTrieIgnoresNonAsciiText() {
+        CommandTrie<String> trie = new CommandTrie<>();
+        trie.put("A:", "a");
+
+        assertNull(trie.longestPrefixOf("Ä:1"));
+        assertNull(trie.longestPrefixOf("A\u20ac"));
+        assertThrows(IllegalArgumentException.class, () -> trie.put("Ü:", "umlaut"));
+    }
+}
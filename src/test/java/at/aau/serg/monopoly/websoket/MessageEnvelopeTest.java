@@ -0,0 +1,65 @@
+package at.aau.serg.monopoly.websoket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import data.CheatCodeMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageEnvelopeTest {
+
+    private final MessageCodec codec = MessageCodec.shared();
+
+    @Test
+    void testTypeFirstBindsRemainingFields() throws Exception {
+        try (MessageEnvelope envelope = MessageEnvelope.read(codec,
+                "{\"type\":\"CHEAT_MESSAGE\",\"message\":\"100\",\"playerId\":\"p1\"}")) {
+            assertNotNull(envelope);
+            assertEquals("CHEAT_MESSAGE", envelope.getType());
+
+            CheatCodeMessage cheat = envelope.bind(CheatCodeMessage.class);
+            assertEquals("CHEAT_MESSAGE", cheat.getType());
+            assertEquals("100", cheat.getMessage());
+            assertEquals("p1", cheat.getPlayerId());
+        }
+    }
+
+    @Test
+    void testFieldsBeforeTypeAreReplayed() throws Exception {
+        try (MessageEnvelope envelope = MessageEnvelope.read(codec,
+                "{\"userId\":\"u1\",\"meta\":{\"a\":[1,2]},\"type\":\"INIT\",\"name\":\"Anna\"}")) {
+            assertNotNull(envelope);
+            assertEquals("INIT", envelope.getType());
+
+            JsonNode json = envelope.bind(JsonNode.class);
+            assertEquals("u1", json.get("userId").asText());
+            assertEquals(2, json.get("meta").get("a").get(1).asInt());
+            assertEquals("INIT", json.get("type").asText());
+            assertEquals("Anna", json.get("name").asText());
+        }
+    }
+
+    @Test
+    void testCborFrameIsReadWithoutJsonText() throws Exception {
+        String json = "{\"playerId\":\"p1\",\"type\":\"CHEAT_MESSAGE\",\"message\":\"100\"}";
+        byte[] cbor = codec.toCbor(json);
+
+        try (MessageEnvelope envelope = MessageEnvelope.read(codec, ByteBuffer.wrap(cbor))) {
+            assertNotNull(envelope);
+            assertEquals("CHEAT_MESSAGE", envelope.getType());
+            assertEquals(json, envelope.toJson());
+        }
+        assertNull(MessageEnvelope.read(codec, ByteBuffer.wrap(new byte[]{(byte) 0xff})));
+    }
+
+    @Test
+    void testNoEnvelopeForTextCommandsAndUntypedJson() {
+        assertNull(MessageEnvelope.read(codec, "Roll"));
+        assertNull(MessageEnvelope.read(codec, "   "));
+        assertNull(MessageEnvelope.read(codec, "{\"message\":\"hi\"}"));
+        assertNull(MessageEnvelope.read(codec, "{\"type\":{\"nested\":true}}"));
+        assertNull(MessageEnvelope.read(codec, "{not json"));
+    }
+}
@@ -0,0 +1,89 @@
+package at.aau.serg.monopoly.websoket;
+
+import model.properties.BaseProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookup tables of PropertyService with the stream scans they replaced.
+ * Run with: mvn -P benchmarks verify -Djmh.includes=PropertyLookupBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyLookupBenchmark {
+
+    private PropertyService propertyService;
+    private PropertyTransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        propertyService = new PropertyService();
+        propertyService.init();
+        transactionService = new PropertyTransactionService(propertyService);
+    }
+
+    @Benchmark
+    public void positionTable(Blackhole blackhole) {
+        for (int position = 0; position < PropertyService.BOARD_SIZE; position++) {
+            blackhole.consume(propertyService.getPropertyByPosition(position));
+        }
+    }
+
+    @Benchmark
+    public void positionStreamScan(Blackhole blackhole) {
+        for (int position = 0; position < PropertyService.BOARD_SIZE; position++) {
+            blackhole.consume(streamByPosition(position));
+        }
+    }
+
+    @Benchmark
+    public void idTable(Blackhole blackhole) {
+        blackhole.consume(transactionService.findPropertyById(14));
+        blackhole.consume(transactionService.findPropertyById(103));
+        blackhole.consume(transactionService.findPropertyById(202));
+    }
+
+    @Benchmark
+    public void idStreamScan(Blackhole blackhole) {
+        blackhole.consume(streamById(14));
+        blackhole.consume(streamById(103));
+        blackhole.consume(streamById(202));
+    }
+
+    // The lookups as they were before the tables
+    private BaseProperty streamByPosition(int position) {
+        BaseProperty property = propertyService.getHouseableProperties().stream()
+                .filter(p -> p.getPosition() == position).findFirst().orElse(null);
+        if (property != null) {
+            return property;
+        }
+        property = propertyService.getTrainStations().stream()
+                .filter(p -> p.getPosition() == position).findFirst().orElse(null);
+        if (property != null) {
+            return property;
+        }
+        return propertyService.getUtilities().stream()
+                .filter(p -> p.getPosition() == position).findFirst().orElse(null);
+    }
+
+    private BaseProperty streamById(int id) {
+        BaseProperty property = propertyService.getHouseableProperties().stream()
+                .filter(p -> p.getId() == id).findFirst().orElse(null);
+        if (property != null) {
+            return property;
+        }
+        property = propertyService.getTrainStations().stream()
+                .filter(p -> p.getId() == id).findFirst().orElse(null);
+        if (property != null) {
+            return property;
+        }
+        return propertyService.getUtilities().stream()
+                .filter(p -> p.getId() == id).findFirst().orElse(null);
+    }
+}
@@ -2,6 +2,7 @@ package at.aau.serg.monopoly.websoket;
 import model.Game;
 import model.Player;
 import model.properties.BaseProperty;
+import model.properties.BoardTemplate;
 import model.properties.HouseableProperty;
 import model.properties.TrainStation;
 import model.properties.Utility;
@@ -171,7 +172,7 @@ class PropertyServiceTest {
             "test_image",    // image
             5                // position
         );
-        propertyService.getHouseableProperties().add(houseableProperty);
+        propertyService.init(new BoardTemplate(List.of(houseableProperty), List.of(), List.of()));
 
         // Act
         BaseProperty result = propertyService.getPropertyByPosition(5);
@@ -199,7 +200,7 @@ class PropertyServiceTest {
             "test_image",    // image
             15               // position
         );
-        propertyService.getTrainStations().add(trainStation);
+        propertyService.init(new BoardTemplate(List.of(), List.of(trainStation), List.of()));
 
         // Act
         BaseProperty result = propertyService.getPropertyByPosition(15);
@@ -225,7 +226,7 @@ class PropertyServiceTest {
             "test_image",    // image
             28               // position
         );
-        propertyService.getUtilities().add(utility);
+        propertyService.init(new BoardTemplate(List.of(), List.of(), List.of(utility)));
 
         // Act
         BaseProperty result = propertyService.getPropertyByPosition(28);
@@ -280,8 +281,7 @@ class PropertyServiceTest {
             "test_image",    // image
             5                // position
         );
-        propertyService.getHouseableProperties().add(houseableProperty);
-        propertyService.getTrainStations().add(trainStation);
+        propertyService.init(new BoardTemplate(List.of(houseableProperty), List.of(trainStation), List.of()));
 
         // Act
         BaseProperty result = propertyService.getPropertyByPosition(5);
@@ -291,4 +291,81 @@ class PropertyServiceTest {
         assertTrue(result instanceof HouseableProperty, "Should return first found property (HouseableProperty)");
         assertEquals(5, result.getPosition(), "Should return property at correct position");
     }
+
+    @Test
+    void getPropertyById_FindsEveryPropertyType() {
+        assertTrue(propertyService.getPropertyById(1) instanceof HouseableProperty);
+        assertTrue(propertyService.getPropertyById(101) instanceof TrainStation);
+        assertTrue(propertyService.getPropertyById(202) instanceof Utility);
+        assertNull(propertyService.getPropertyById(-1));
+        assertNull(propertyService.getPropertyById(100));
+        assertNull(propertyService.getPropertyById(10_000));
+    }
+
+    @Test
+    void getPropertyByPosition_CoversWholeBoard() {
+        int found = 0;
+        for (int position = 0; position < 40; position++) {
+            BaseProperty property = propertyService.getPropertyByPosition(position);
+            if (property != null) {
+                assertEquals(position, property.getPosition());
+                found++;
+            }
+        }
+        assertEquals(28, found, "All streets, stations and utilities should be on the board");
+        assertNull(propertyService.getPropertyByPosition(-1));
+    }
+
+    @Test
+    void propertyLists_AreUnmodifiable() {
+        BaseProperty station = propertyService.getPropertyByPosition(5);
+
+        assertThrows(UnsupportedOperationException.class, () -> propertyService.getTrainStations().remove(station));
+        assertThrows(UnsupportedOperationException.class, () -> propertyService.getHouseableProperties().clear());
+        assertThrows(UnsupportedOperationException.class, () -> propertyService.getUtilities().add(new Utility()));
+        assertSame(station, propertyService.getPropertyByPosition(5));
+    }
+
+    @Test
+    void reset_RestoresBoardStateWithoutNewProperties() {
+        BaseProperty street = propertyService.getPropertyById(1);
+        HouseableProperty houseable = propertyService.getHouseablePropertyById(1);
+        street.setOwnerId("player1");
+        street.setMortgaged(true);
+        houseable.setHouses(3);
+
+        propertyService.reset();
+
+        assertSame(street, propertyService.getPropertyById(1));
+        assertNull(street.getOwnerId());
+        assertFalse(street.isMortgaged());
+        assertEquals(0, houseable.getHouses());
+        assertEquals(0, propertyService.getOwnershipIndex().getLiquidationValue("player1"));
+    }
+
+    @Test
+    void reset_KeepsBoardBuiltFromTemplate() {
+        TrainStation trainStation = new TrainStation(1, null, "Test Station", 200, 25, 50, 100, 200,
+                100, false, "test_image", 15);
+        propertyService.init(new BoardTemplate(List.of(), List.of(trainStation), List.of()));
+        propertyService.getPropertyByPosition(15).setOwnerId("player1");
+
+        propertyService.reset();
+
+        assertNull(propertyService.getPropertyByPosition(15).getOwnerId());
+        assertNull(propertyService.getPropertyByPosition(5));
+        assertEquals(1, propertyService.getTrainStations().size());
+    }
+
+    @Test
+    void boards_ShareTemplateButNotState() {
+        PropertyService other = new PropertyService();
+        other.init();
+
+        propertyService.getPropertyById(1).setOwnerId("player1");
+
+        assertSame(PropertyService.standardBoard(), PropertyService.standardBoard());
+        assertNull(other.getPropertyById(1).getOwnerId());
+        assertEquals(propertyService.getPropertyById(1).getName(), other.getPropertyById(1).getName());
+    }
 }
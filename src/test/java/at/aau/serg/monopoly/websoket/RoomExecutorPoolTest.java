@@ -0,0 +1,67 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomExecutorPoolTest {
+
+    private final RoomExecutorPool pool = new RoomExecutorPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testDefaultSizeUsesAvailableProcessors() {
+        RoomExecutorPool defaultPool = new RoomExecutorPool(0);
+        assertEquals(Runtime.getRuntime().availableProcessors(), defaultPool.getSize());
+        defaultPool.shutdown();
+    }
+
+    @Test
+    void testEventsOfOneRoomRunInOrderOnOneThread() throws Exception {
+        RoomExecutorPool.RoomMailbox mailbox = pool.mailboxFor("room-a");
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            mailbox.post(() -> {
+                order.add(value);
+                threads.add(Thread.currentThread().getName());
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, order.get(i));
+        }
+        assertEquals(1, threads.size());
+    }
+
+    @Test
+    void testFailingEventDoesNotStopMailbox() throws Exception {
+        RoomExecutorPool.RoomMailbox mailbox = pool.mailboxFor("room-b");
+        CountDownLatch done = new CountDownLatch(1);
+
+        mailbox.post(() -> {
+            throw new IllegalStateException("boom");
+        });
+        mailbox.post(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,121 @@
+package at.aau.serg.monopoly.websoket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomRoutingWebSocketHandlerTest {
+
+    private RoomExecutorPool executorPool;
+    private GameRoomRegistry registry;
+    private RoomRoutingWebSocketHandler router;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<GameWebSocketHandler> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenAnswer(invocation -> new GameWebSocketHandler());
+        // One stripe, so all rooms share a thread and flush() sees every queued event
+        executorPool = new RoomExecutorPool(1);
+        registry = new GameRoomRegistry(provider, executorPool);
+        OutboundSessionFactory factory = mock(OutboundSessionFactory.class);
+        when(factory.wrap(any())).thenAnswer(invocation -> new BufferedOutboundSession(
+                invocation.getArgument(0), 16, 5000, OverflowPolicy.DROP, Runnable::run));
+        router = new RoomRoutingWebSocketHandler(registry, factory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorPool.shutdown();
+    }
+
+    @Test
+    void testInitMovesSessionThatHasNotJoinedYet() throws Exception {
+        WebSocketSession session = session("s1");
+        router.afterConnectionEstablished(session);
+
+        router.handleMessage(session, init("alice", "room-b"));
+        flush();
+
+        GameRoom room = registry.roomOf("s1");
+        assertEquals("room-b", room.getId());
+        assertTrue(room.getHandler().hasPlayer(session));
+        assertNull(registry.getRoom(GameRoomRegistry.DEFAULT_ROOM_ID));
+    }
+
+    @Test
+    void testInitDoesNotMoveSessionThatAlreadyJoined() throws Exception {
+        WebSocketSession session = session("s1");
+        router.afterConnectionEstablished(session);
+
+        // Both INITs are queued before the first one is handled
+        router.handleMessage(session, init("alice", null));
+        router.handleMessage(session, init("alice", "room-b"));
+        flush();
+
+        GameRoom room = registry.roomOf("s1");
+        assertEquals(GameRoomRegistry.DEFAULT_ROOM_ID, room.getId());
+        assertTrue(room.getHandler().hasPlayer(session));
+        assertNull(registry.getRoom("room-b"));
+    }
+
+    @Test
+    void testMessagesQueuedBeforeTheMoveFollowTheSession() throws Exception {
+        WebSocketSession session = session("s1");
+        router.afterConnectionEstablished(session);
+
+        router.handleMessage(session, init("alice", "room-b"));
+        router.handleMessage(session, init("alice", "room-b"));
+        flush();
+
+        GameRoom room = registry.roomOf("s1");
+        assertEquals("room-b", room.getId());
+        assertEquals(1, room.getConnectedSessions());
+        assertEquals(1, room.getHandler().engine().getGame().getPlayers().size());
+    }
+
+    @Test
+    void testCborInitMovesSession() throws Exception {
+        WebSocketSession session = session("s1");
+        router.afterConnectionEstablished(session);
+
+        byte[] cbor = MessageCodec.shared().toCbor(init("alice", "room-b").getPayload());
+        router.handleMessage(session, new BinaryMessage(cbor));
+        flush();
+
+        GameRoom room = registry.roomOf("s1");
+        assertEquals("room-b", room.getId());
+        assertTrue(room.getHandler().hasPlayer(session));
+    }
+
+    private void flush() throws InterruptedException {
+        // Events may post follow-up events to another room, so drain twice
+        for (int i = 0; i < 2; i++) {
+            CountDownLatch done = new CountDownLatch(1);
+            executorPool.mailboxFor("any").post(done::countDown);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static TextMessage init(String userId, String roomId) {
+        String room = roomId != null ? ",\"roomId\":\"" + roomId + "\"" : "";
+        return new TextMessage("{\"type\":\"INIT\",\"userId\":\"" + userId + "\",\"name\":\"" + userId + "\"" + room + "}");
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,181 @@
+package model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.properties.BoardState;
+import model.properties.BoardTemplate;
+import model.properties.HouseableProperty;
+import model.properties.TrainStation;
+import model.properties.Utility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardStateTest {
+    private BoardTemplate template;
+    private BoardTemplate.Board board;
+
+    @BeforeEach
+    void setUp() {
+        List<HouseableProperty> streets = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            streets.add(new HouseableProperty(i, null, "Street " + i, 100, 10, 50, 150, 450, 625, 750,
+                    50, 50, 50, false, "img", i % 40));
+        }
+        TrainStation station = new TrainStation(100, "bank", "Station", 200, 25, 50, 100, 200, 100, true, "img", 5);
+        Utility utility = new Utility(200, null, "Utility", 150, 4, 10, 75, false, "img", 12);
+        template = new BoardTemplate(streets, List.of(station), List.of(utility));
+        board = template.newBoard();
+    }
+
+    @Test
+    void testTemplateValuesAreInitialState() {
+        TrainStation station = board.trainStations().get(0);
+
+        assertEquals(72, board.state().size());
+        assertEquals("bank", station.getOwnerId());
+        assertTrue(station.isMortgaged());
+        assertNull(board.houseableProperties().get(0).getOwnerId());
+    }
+
+    @Test
+    void testOwnersAreInternedPerBoard() {
+        HouseableProperty first = board.houseableProperties().get(0);
+        HouseableProperty last = board.houseableProperties().get(69);
+
+        first.setOwnerId("p1");
+        last.setOwnerId("p2");
+        last.setOwnerId("p1");
+
+        assertEquals("p1", first.getOwnerId());
+        assertEquals("p1", last.getOwnerId());
+        assertSame(first.getOwnerId(), last.getOwnerId());
+    }
+
+    @Test
+    void testMortgageBitsAcrossWords() {
+        HouseableProperty low = board.houseableProperties().get(1);
+        HouseableProperty high = board.houseableProperties().get(65);
+
+        high.setMortgaged(true);
+
+        assertTrue(high.isMortgaged());
+        assertFalse(low.isMortgaged());
+
+        high.setMortgaged(false);
+        assertFalse(high.isMortgaged());
+    }
+
+    @Test
+    void testSnapshotAndRestore() {
+        HouseableProperty street = board.houseableProperties().get(3);
+        street.setOwnerId("p1");
+        street.setHouses(2);
+        BoardState.Snapshot snapshot = board.state().snapshot();
+
+        street.setOwnerId("p2");
+        street.setHouses(4);
+        street.setMortgaged(true);
+        board.state().restore(snapshot);
+
+        assertEquals("p1", street.getOwnerId());
+        assertEquals(2, street.getHouses());
+        assertFalse(street.isMortgaged());
+    }
+
+    @Test
+    void testResetForgetsOwners() {
+        HouseableProperty street = board.houseableProperties().get(3);
+        street.setOwnerId("p1");
+        street.setHouses(1);
+
+        board.state().reset();
+
+        assertNull(street.getOwnerId());
+        assertEquals(0, street.getHouses());
+        assertEquals("bank", board.trainStations().get(0).getOwnerId());
+    }
+
+    @Test
+    void testBoardsShareStaticDataButNotState() {
+        BoardTemplate.Board other = template.newBoard();
+        HouseableProperty street = board.houseableProperties().get(3);
+        HouseableProperty sameStreet = other.houseableProperties().get(3);
+
+        street.setOwnerId("p1");
+        street.setHouses(3);
+
+        assertNotSame(street, sameStreet);
+        assertSame(street.getName(), sameStreet.getName());
+        assertEquals(street.getRentHotel(), sameStreet.getRentHotel());
+        assertNull(sameStreet.getOwnerId());
+        assertEquals(0, sameStreet.getHouses());
+    }
+
+    @Test
+    void testChangesToOneBoardDoNotReachTheTemplate() {
+        HouseableProperty street = board.houseableProperties().get(3);
+        Utility utility = board.utilities().get(0);
+
+        street.setBaseRent(1);
+        utility.setRentOneUtilityMultiplier(1);
+
+        BoardTemplate.Board other = template.newBoard();
+        assertEquals(1, street.getBaseRent());
+        assertEquals(10, other.houseableProperties().get(3).getBaseRent());
+        assertEquals(4, other.utilities().get(0).getRentOneUtilityMultiplier());
+    }
+
+    @Test
+    void testStandalonePropertyKeepsItsOwnState() {
+        HouseableProperty street = new HouseableProperty();
+
+        street.setOwnerId("p1");
+        street.setMortgaged(true);
+        street.setHouses(2);
+
+        assertEquals("p1", street.getOwnerId());
+        assertTrue(street.isMortgaged());
+        assertEquals(2, street.getHouses());
+    }
+
+    @Test
+    void testOwnerSlotsAreReleased() {
+        HouseableProperty street = board.houseableProperties().get(3);
+        HouseableProperty other = board.houseableProperties().get(4);
+        other.setOwnerId("keeper");
+
+        // far more owners over time than a byte can address, only two at a time
+        for (int i = 0; i < 1000; i++) {
+            street.setOwnerId("p" + i);
+        }
+        BoardState.Snapshot snapshot = board.state().snapshot();
+        street.setOwnerId("later");
+        board.state().restore(snapshot);
+        street.setOwnerId("p1000");
+
+        assertEquals("p1000", street.getOwnerId());
+        assertEquals("keeper", other.getOwnerId());
+    }
+
+    @Test
+    void testHousesAreNotPartOfThePropertyJson() throws Exception {
+        HouseableProperty street = board.houseableProperties().get(3);
+        street.setHouses(2);
+
+        String json = new ObjectMapper().writeValueAsString(street);
+
+        assertFalse(json.contains("\"houses\""));
+        assertTrue(json.contains("\"isMortgaged\""));
+    }
+
+    @Test
+    void testInvalidHouseCount() {
+        HouseableProperty street = board.houseableProperties().get(3);
+
+        assertThrows(IllegalArgumentException.class, () -> street.setHouses(-1));
+    }
+}
@@ -76,6 +76,63 @@ class DiceTest {
         assertTrue(fixedManager.isPasch());
     }
 
+    @Test
+    void testHistoryKeepsOnlyLastRolls() {
+        DiceManager smallHistory = new DiceManager(RandomSource.seeded(1), 3);
+        smallHistory.addDicesToGame(List.of(new Dice(1)));
+        for (int i = 0; i < 10; i++) {
+            smallHistory.rollDices();
+        }
+        assertEquals(3, smallHistory.getRollHistory().size());
+        assertEquals(List.of(1, 1, 1), smallHistory.getRollHistory());
+    }
+
+    @Test
+    void testHistoryIsOldestFirst() {
+        DiceManager smallHistory = new DiceManager(RandomSource.seeded(5), 2);
+        smallHistory.initializeStandardDices();
+        smallHistory.rollDices();
+        int second = smallHistory.rollDices();
+        int third = smallHistory.rollDices();
+        assertEquals(List.of(second, third), smallHistory.getRollHistory());
+    }
+
+    @Test
+    void testManagersDoNotShareDiceOrHistory() {
+        DiceManager other = new DiceManager();
+        other.addDicesToGame(List.of(new Dice(1)));
+        other.rollDices();
+
+        diceManager.rollDices();
+        assertEquals(1, other.getRollHistory().size());
+        assertEquals(1, other.getRollHistory().get(0));
+        assertEquals(1, diceManager.getRollHistory().size());
+        assertEquals(2, ((DiceManager) diceManager).getLastRollValues().size());
+    }
+
+    @Test
+    void testInvalidHistoryCapacity() {
+        RandomSource random = RandomSource.create();
+        assertThrows(IllegalArgumentException.class, () -> new DiceManager(random, 0));
+    }
+
+    @Test
+    void testLastRollValues() {
+        DiceManager fixedManager = new DiceManager();
+        fixedManager.addDicesToGame(List.of(new Dice(1), new Dice(1), new Dice(1)));
+        assertNull(fixedManager.getLastRollValues());
+        assertEquals(0, fixedManager.getLastRollCount());
+
+        fixedManager.rollDices();
+
+        assertEquals(List.of(1, 1, 1), fixedManager.getLastRollValues());
+        assertEquals(3, fixedManager.getLastRollCount());
+        assertEquals(1, fixedManager.getLastRollValue(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> fixedManager.getLastRollValue(3));
+        // Pasch only exists with two dice
+        assertFalse(fixedManager.isPasch());
+    }
+
     @AfterEach
     void tearDown() {
         firstDice = null;
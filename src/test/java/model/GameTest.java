@@ -167,6 +167,23 @@ class GameTest {
         assertThat(playerInfo.get(1).getMoney()).isEqualTo(1500);
     }
 
+    @Test
+    void testMatchesPlayerInfo() {
+        game.addPlayer("1", "Player 1");
+        game.addPlayer("2", "Player 2");
+        var playerInfo = game.getPlayerInfo();
+
+        assertThat(game.matchesPlayerInfo(playerInfo)).isTrue();
+        assertThat(game.matchesPlayerInfo(null)).isFalse();
+
+        game.getPlayer("2").setPosition(7);
+        assertThat(game.matchesPlayerInfo(playerInfo)).isFalse();
+
+        game.getPlayer("2").setPosition(0);
+        game.addPlayer("3", "Player 3");
+        assertThat(game.matchesPlayerInfo(playerInfo)).isFalse();
+    }
+
     @Test
     void testUpdatePlayerMoney() {
         game.addPlayer("1", "Player 1");
@@ -484,4 +501,52 @@ class GameTest {
                 .containsExactly("B");
         assertThat(game.getCurrentPlayer().getId()).isEqualTo("B");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPlayerIndexFollowsRemovals() {
+        game.addPlayer("A", "Alice");
+        game.addPlayer("B", "Bob");
+        game.addPlayer("C", "Carol");
+
+        game.removePlayer("A");
+        game.giveUp("C");
+
+        assertNull(game.getPlayer("A"));
+        assertNull(game.getPlayer("C"));
+        assertEquals("Bob", game.getPlayer("B").getName());
+        assertEquals(0, game.indexOf("B"));
+        assertEquals(-1, game.indexOf("A"));
+        assertEquals(-1, game.indexOf(null));
+        assertTrue(game.getPlayerById(null).isEmpty());
+    }
+
+    @Test
+    void testDuplicateAddKeepsFirstPlayer() {
+        game.addPlayer("A", "Alice");
+        game.addPlayer("A", "Other");
+
+        assertThat(game.getPlayers()).hasSize(1);
+        assertEquals("Alice", game.getPlayer("A").getName());
+    }
+
+    @Test
+    void testClearPlayersResetsIndexAndTurn() {
+        game.addPlayer("A", "Alice");
+        game.addPlayer("B", "Bob");
+        game.setCurrentPlayerIndex(1);
+
+        game.clearPlayers();
+        game.addPlayer("C", "Carol");
+
+        assertNull(game.getPlayer("A"));
+        assertEquals(0, game.indexOf("C"));
+        assertEquals("C", game.getCurrentPlayer().getId());
+    }
+
+    @Test
+    void testPlayersListIsReadOnly() {
+        game.addPlayer("A", "Alice");
+
+        assertThrows(UnsupportedOperationException.class, () -> game.getPlayers().clear());
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+import at.aau.serg.monopoly.websoket.PropertyService;
+import model.properties.BaseProperty;
+import model.properties.BoardTemplate;
+import model.properties.OwnershipIndex;
+import model.properties.TrainStation;
+import model.properties.Utility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnershipIndexTest {
+    private PropertyService propertyService;
+    private OwnershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        propertyService = new PropertyService();
+        propertyService.init();
+        index = propertyService.getOwnershipIndex();
+    }
+
+    @Test
+    void testOwnerChangesUpdateIndex() {
+        BaseProperty street = propertyService.getPropertyById(1);
+        BaseProperty station = propertyService.getPropertyById(101);
+
+        street.setOwnerId("p1");
+        station.setOwnerId("p1");
+
+        assertEquals(2, index.getProperties("p1").size());
+        assertEquals(street.getPurchasePrice() / 2 + station.getPurchasePrice() / 2, index.getLiquidationValue("p1"));
+        assertEquals(1, index.countTrainStations("p1"));
+
+        // Trade to p2, then p2 sells the station
+        station.setOwnerId("p2");
+        station.setOwnerId(null);
+
+        assertEquals(street.getPurchasePrice() / 2, index.getLiquidationValue("p1"));
+        assertEquals(0, index.countTrainStations("p1"));
+        assertEquals(0, index.getLiquidationValue("p2"));
+        assertTrue(index.getProperties("p2").isEmpty());
+    }
+
+    @Test
+    void testResetStartsWithEmptyIndex() {
+        BaseProperty street = propertyService.getPropertyById(1);
+        street.setOwnerId("p1");
+
+        propertyService.init();
+        street.setOwnerId("p2"); // old board object, no longer tracked
+
+        assertEquals(0, propertyService.getOwnershipIndex().getLiquidationValue("p1"));
+        assertEquals(0, propertyService.getOwnershipIndex().getLiquidationValue("p2"));
+    }
+
+    @Test
+    void testUtilityRentUsesIndex() {
+        Utility first = (Utility) propertyService.getPropertyById(201);
+        Utility second = (Utility) propertyService.getPropertyById(202);
+        Player owner = new Player("owner", "Owner");
+        Player renter = new Player("renter", "Renter");
+        first.setPropertyService(propertyService);
+
+        first.setOwnerId("owner");
+        assertEquals(first.getRentOneUtilityMultiplier(), first.calculateRent(owner, renter));
+
+        second.setOwnerId("owner");
+        assertEquals(first.getRentTwoUtilitiesMultiplier(), first.calculateRent(owner, renter));
+        assertEquals(2, index.countUtilities("owner"));
+    }
+
+    @Test
+    void testBoardUtilitiesChargeSingleRent() {
+        Utility first = (Utility) propertyService.getPropertyById(201);
+        Utility second = (Utility) propertyService.getPropertyById(202);
+        Player owner = new Player("owner", "Owner");
+        Player renter = new Player("renter", "Renter");
+
+        first.setOwnerId("owner");
+        second.setOwnerId("owner");
+
+        assertNull(first.getPropertyService());
+        assertEquals(first.getRentOneUtilityMultiplier(), first.calculateRent(owner, renter));
+    }
+
+    @Test
+    void testOwnersFromTheTemplateAreIndexed() {
+        TrainStation extra = new TrainStation();
+        extra.setId(150);
+        extra.setOwnerId("p3");
+        extra.setPurchasePrice(200);
+        propertyService.init(new BoardTemplate(List.of(), List.of(extra), List.of()));
+
+        OwnershipIndex rebuilt = propertyService.getOwnershipIndex();
+        assertEquals(1, rebuilt.countTrainStations("p3"));
+        assertEquals(100, rebuilt.getLiquidationValue("p3"));
+    }
+}
@@ -0,0 +1,60 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomSourceTest {
+
+    @Test
+    void testSameSeedGivesSameRolls() {
+        DiceManager first = new DiceManager(RandomSource.seeded(42));
+        DiceManager second = new DiceManager(RandomSource.seeded(42));
+        first.initializeStandardDices();
+        second.initializeStandardDices();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.rollDices(), second.rollDices());
+        }
+    }
+
+    @Test
+    void testSeedIsKept() {
+        assertEquals(7L, RandomSource.seeded(7).seed());
+    }
+
+    @Test
+    void testSplitIsDeterministic() {
+        RandomSource first = RandomSource.seeded(1).split();
+        RandomSource second = RandomSource.seeded(1).split();
+
+        assertEquals(first.seed(), second.seed());
+        assertEquals(first.nextInt(1000), second.nextInt(1000));
+    }
+
+    @Test
+    void testShuffleKeepsElements() {
+        List<Integer> values = new ArrayList<>(IntStream.range(0, 50).boxed().toList());
+        List<Integer> shuffled = new ArrayList<>(values);
+
+        RandomSource.seeded(3).shuffle(shuffled);
+
+        assertNotEquals(values, shuffled);
+        assertEquals(values, shuffled.stream().sorted().toList());
+    }
+
+    @Test
+    void testDiceRollWithSourceStaysInRange() {
+        Dice dice = new Dice(6);
+        RandomSource random = RandomSource.create();
+
+        for (int i = 0; i < 200; i++) {
+            int value = dice.roll(random);
+            assertTrue(value >= 1 && value <= 6);
+        }
+    }
+}